@@ -1,5 +1,5 @@
 /**
- * Copyright 2021 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.Account;
@@ -49,9 +51,13 @@ public class AccountClient extends ApiClient<Account, Account, Account> {
   // The standard show() interface is a little non-sensical because there's only one account, but we'll leave it live anyway in case the user just
   // wants to call it with null
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Account> show(Integer id) throws Exception {
-    return (Show<Account>) toShow(doShowRequest(null));
+    return fetchShow(null);
+  }
+
+  @Override
+  public CompletableFuture<Show<Account>> showAsync(Integer id) {
+    return fetchShowAsync(null);
   }
 
 }
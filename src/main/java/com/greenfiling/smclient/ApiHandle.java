@@ -1,5 +1,5 @@
 /**
- * Copyright 2021-2024 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,27 @@
 
 package com.greenfiling.smclient;
 
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -32,22 +49,42 @@ import com.greenfiling.smclient.Exceptions.InvalidCredentialsException;
 import com.greenfiling.smclient.Exceptions.InvalidEndpointException;
 import com.greenfiling.smclient.Exceptions.InvalidRequestException;
 import com.greenfiling.smclient.Exceptions.RecordNotFoundException;
+import com.greenfiling.smclient.Exceptions.UnexpectedResponseException;
+import com.greenfiling.smclient.internal.AdaptiveLimiter;
 import com.greenfiling.smclient.internal.ApiClient;
+import com.greenfiling.smclient.internal.CapturingReader;
+import com.greenfiling.smclient.internal.ClientMetrics;
 import com.greenfiling.smclient.internal.DnsSelector;
 import com.greenfiling.smclient.internal.DnsSelector.IpMode;
+import com.greenfiling.smclient.internal.EntityCache;
+import com.greenfiling.smclient.internal.ExecutorFactory;
+import com.greenfiling.smclient.internal.ExecutorFactory.ExecutionMode;
+import com.greenfiling.smclient.internal.GzipRequestInterceptor;
 import com.greenfiling.smclient.internal.JsonHandle;
+import com.greenfiling.smclient.internal.RateLimiter;
 import com.greenfiling.smclient.internal.RequestEnclosure;
+import com.greenfiling.smclient.internal.ResumableDownload;
+import com.greenfiling.smclient.internal.RetryPolicy;
+import com.greenfiling.smclient.internal.RingBuffer;
 import com.greenfiling.smclient.internal.Transaction;
+import com.greenfiling.smclient.internal.Transaction.CaptureMode;
+import com.greenfiling.smclient.internal.TransactionEventListener;
 import com.greenfiling.smclient.internal.UserAgentHandle;
 import com.greenfiling.smclient.internal.UserAgentInterceptor;
 import com.greenfiling.smclient.model.Upload;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.Okio;
 
 /**
  * The API handle needed by all client interfaces
@@ -90,7 +127,54 @@ public class ApiHandle {
     private okhttp3.OkHttpClient client;
     private String basicAuth;
     private IpMode ipMode;
+    private Long dnsCacheTtl;
+    private Long entityCacheBytes;
+    private Integer entityCacheTtl;
     private okhttp3.OkHttpClient.Builder builder;
+    private Boolean coalesceReads;
+    private ExecutionMode executionMode;
+    private Integer maxRequests;
+    private ExecutorService executor;
+    private CaptureMode captureMode;
+    private Double rateLimit;
+    private Integer rateLimitBurst;
+    private Double readRateLimit;
+    private Integer readRateLimitBurst;
+    private Double writeRateLimit;
+    private Integer writeRateLimitBurst;
+    private Integer adaptiveInitialLimit;
+    private Integer adaptiveMaxLimit;
+    private RetryPolicy retryPolicy;
+    private Integer requestCompressionThreshold;
+    private Integer transactionBodyLimit;
+    private Boolean transactionCaptureOnError;
+    private Integer transactionSampling;
+    private Boolean transactionTimings;
+    private ClientMetrics metrics;
+
+    /**
+     * Adapt the number of concurrent API requests to the latency ServeManager is showing
+     * <P>
+     * Each API request must hold one of a limited number of slots while it is in flight. The number of slots starts at initialLimit and is adjusted
+     * as responses arrive: raised slowly while response times stay near the fastest seen, and cut back quickly when they rise or requests fail with
+     * network errors or throttling responses. This keeps throughput near the most the server can handle without queueing, whatever its load. Requests
+     * beyond the limit wait for a slot rather than failing. See {@link AdaptiveLimiter} for details, and {@link ApiHandle#getConcurrencyLimit()} for
+     * the current limit.
+     * <P>
+     * Unless {@link #maxRequests(int)} is also set, okhttp's dispatcher limits are raised to maxLimit so they don't cap the adaptive limit.
+     *
+     * @param initialLimit
+     *          the number of concurrent requests allowed at first, must be at least 1
+     * @param maxLimit
+     *          the most concurrent requests that will ever be allowed, must be at least initialLimit
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder adaptiveConcurrency(int initialLimit, int maxLimit) {
+      this.adaptiveInitialLimit = initialLimit;
+      this.adaptiveMaxLimit = maxLimit;
+      return this;
+    }
 
     /**
      * Set the API endpoint base
@@ -143,13 +227,25 @@ public class ApiHandle {
         builder = new OkHttpClient.Builder();
       }
 
-      if (ipMode != null) {
-        builder.dns(new DnsSelector(ipMode));
+      if (ipMode != null || dnsCacheTtl != null) {
+        if (dnsCacheTtl == null) {
+          // racing costs a round of probe connections, so only do it once per cache period rather than on every lookup
+          dnsCacheTtl = ipMode == IpMode.HAPPY_EYEBALLS ? DEFAULT_DNS_CACHE_TTL : 0;
+        }
+        HttpUrl endpointUrl = HttpUrl.parse(apiEndpointBase);
+        int probePort = endpointUrl == null ? DnsSelector.DEFAULT_PROBE_PORT : endpointUrl.port();
+        builder.dns(new DnsSelector(ipMode == null ? IpMode.SYSTEM : ipMode, TimeUnit.SECONDS.toMillis(dnsCacheTtl), probePort));
       }
 
       if (keepTransactions == null) {
         keepTransactions = DEFAULT_KEEP_TRANSACTIONS;
       }
+      if (captureMode == null) {
+        captureMode = CaptureMode.FULL;
+      }
+      if (transactionBodyLimit == null) {
+        transactionBodyLimit = DEFAULT_TRANSACTION_BODY_LIMIT;
+      }
 
       // Only set the defaults if we're not using an external builder object
       if (!externalBuilder) {
@@ -175,15 +271,64 @@ public class ApiHandle {
       }
 
       builder.addInterceptor(new UserAgentInterceptor(UserAgentHandle.get().getUserAgent()));
+      if (requestCompressionThreshold != null) {
+        builder.addInterceptor(new GzipRequestInterceptor(requestCompressionThreshold));
+      }
+
+      // an external builder may have an event listener of its own, so only replace it if asked to
+      if (transactionTimings == null ? !externalBuilder : transactionTimings) {
+        builder.eventListenerFactory(TransactionEventListener.FACTORY);
+      }
+
+      if (adaptiveMaxLimit != null && maxRequests == null && adaptiveMaxLimit > 0) {
+        maxRequests = adaptiveMaxLimit;
+      }
+
+      // Only replace the dispatcher if asked to, so that a dispatcher configured on an external builder survives
+      if (executionMode != null || maxRequests != null) {
+        if (executionMode == null) {
+          executionMode = ExecutionMode.PLATFORM_THREADS;
+        }
+        if (executionMode != ExecutionMode.VIRTUAL_THREADS || ExecutorFactory.isVirtualThreadSupported()) {
+          executor = ExecutorFactory.newExecutor(executionMode, "smclient");
+          Dispatcher dispatcher = new Dispatcher(executor);
+          if (maxRequests != null) {
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequests);
+          }
+          builder.dispatcher(dispatcher);
+        }
+      }
 
       logger.trace(
-          "build - building and returning client, endpoint = {}, writeTimeout = {}, readTimeout = {}, connectTimeout = {}, keepTransactions = {}, ipMode = {}, auth = {}",
-          apiEndpointBase, writeTimeout, readTimeout, connectTimeout, keepTransactions, ipMode, basicAuth);
+          "build - building and returning client, endpoint = {}, writeTimeout = {}, readTimeout = {}, connectTimeout = {}, keepTransactions = {}, ipMode = {}, executionMode = {}, maxRequests = {}, auth = {}",
+          apiEndpointBase, writeTimeout, readTimeout, connectTimeout, keepTransactions, ipMode, executionMode, maxRequests, basicAuth);
       this.client = builder.build();
 
       ApiHandle client = new ApiHandle(this);
       validate(client);
       client.keepTransactions = keepTransactions;
+      client.transactions = new RingBuffer<Transaction>(keepTransactions);
+      client.captureMode = captureMode;
+      client.transactionBodyLimit = transactionBodyLimit;
+      client.transactionCaptureOnError = transactionCaptureOnError == null ? true : transactionCaptureOnError;
+      client.transactionSampling = transactionSampling == null ? 1 : transactionSampling;
+
+      // reads and writes share one bucket unless they were given their own
+      RateLimiter sharedRateLimiter = rateLimit == null ? null : new RateLimiter(rateLimit, rateLimitBurst);
+      client.readRateLimiter = readRateLimit == null ? sharedRateLimiter : new RateLimiter(readRateLimit, readRateLimitBurst);
+      client.writeRateLimiter = writeRateLimit == null ? sharedRateLimiter : new RateLimiter(writeRateLimit, writeRateLimitBurst);
+      if (adaptiveMaxLimit != null) {
+        client.concurrencyLimiter = new AdaptiveLimiter(adaptiveInitialLimit, 1, adaptiveMaxLimit);
+      }
+      client.retryPolicy = retryPolicy;
+      client.metrics = metrics;
+      if (Boolean.TRUE.equals(coalesceReads)) {
+        client.inFlightReads = new ConcurrentHashMap<String, SharedRead>();
+      }
+      if (entityCacheBytes != null) {
+        client.entityCache = new EntityCache(entityCacheBytes, TimeUnit.SECONDS.toMillis(entityCacheTtl));
+      }
       return client;
     }
 
@@ -204,6 +349,29 @@ public class ApiHandle {
       return this;
     }
 
+    /**
+     * Shares one request between concurrent identical reads
+     * <P>
+     * When enabled, a GET for a URL which is already being fetched by another thread doesn't send a request of its own. It waits for the one in
+     * flight and returns the same result, or throws the same exception. This covers show(), index() and getNext(), synchronous and asynchronous,
+     * and cuts the load of bursts such as several workers reacting to webhooks for the same job at once. A read which starts after the shared
+     * request has finished sends a new request, so no result is ever older than the read that asked for it.
+     * <P>
+     * Callers sharing a request get the same decoded object, so results must be treated as read-only. A shared request counts the callers waiting on
+     * it. Cancelling the future of a shared asynchronous read only ends that caller's wait while others are still waiting, but once every caller's
+     * future has been cancelled the HTTP call is aborted, and a later identical read sends a new request. By default every read sends its own
+     * request.
+     *
+     * @param coalesceReads
+     *          true to share requests between concurrent identical reads
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder coalesceReads(boolean coalesceReads) {
+      this.coalesceReads = coalesceReads;
+      return this;
+    }
+
     /**
      * Sets the connection timeout for this handle
      * <P>
@@ -221,6 +389,80 @@ public class ApiHandle {
       return this;
     }
 
+    /**
+     * Caches DNS lookups for this handle
+     * <P>
+     * A cached lookup is refreshed in the background before it expires, so requests to a host in regular use never wait on the resolver. If this is
+     * not set, lookups are not cached unless {@link IpMode#HAPPY_EYEBALLS} is in use, in which case the default is
+     * {@link ApiHandle#DEFAULT_DNS_CACHE_TTL}.
+     *
+     * @param dnsCacheTtl
+     *          The time, in seconds, to cache each lookup for, or 0 to not cache them
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder dnsCacheTtl(int dnsCacheTtl) {
+      if (dnsCacheTtl >= 0) {
+        this.dnsCacheTtl = Long.valueOf(dnsCacheTtl);
+      }
+      return this;
+    }
+
+    /**
+     * Caches records fetched by show() and revalidates them with conditional requests
+     * <P>
+     * Each record is kept with the ETag and Last-Modified headers it was served with. The next show() of the same record sends them back as
+     * If-None-Match and If-Modified-Since, and if the server answers 304 Not Modified the record decoded last time is returned without reading or
+     * parsing a body. The request is still made, so a changed record is never missed. Records served without either header aren't cached.
+     * <P>
+     * The cache is bounded by the total size of the response bodies the records were decoded from, evicting the least recently used records first,
+     * and a record which hasn't been revalidated for ttlSeconds is fetched in full. See {@link ApiHandle#getEntityCache()} for hit counts. By default
+     * nothing is cached.
+     * <P>
+     * <B>NOTE:</B> a cached record is the same object every time it is returned, to every caller, so it must be treated as read-only. Copy it before
+     * modifying it, eg to submit an update.
+     *
+     * @param maxBytes
+     *          the total response body size of the records kept, must be at least 1
+     * @param ttlSeconds
+     *          how long a record is kept after it was last fetched or revalidated, must be at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder entityCache(long maxBytes, int ttlSeconds) {
+      this.entityCacheBytes = maxBytes;
+      this.entityCacheTtl = ttlSeconds;
+      return this;
+    }
+
+    /**
+     * Sets the {@link ExecutionMode} used for asynchronous and bulk work
+     * <P>
+     * When set, okhttp's dispatcher (which runs every asynchronous call) and the executor returned by {@link ApiHandle#getExecutor()} (which runs the
+     * library's bulk operations) both use threads of the requested kind. {@link ExecutionMode#VIRTUAL_THREADS} requires Java 21 or later, and
+     * {@link #build()} will fail if it is requested on an older JVM.
+     * <P>
+     * EXAMPLE: run all asynchronous calls on virtual threads
+     * <P>
+     *
+     * <code>
+     * ApiHandle apiHandle = new ApiHandle.Builder()<br>
+     *                           .apiKey(VALID_API_KEY)<br>
+     *                           .executionMode(ExecutionMode.VIRTUAL_THREADS)<br>
+     *                           .maxRequests(500)<br>
+     *                           .build();<br>
+     * </code>
+     *
+     * @param executionMode
+     *          an {@link ExecutionMode} value
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder executionMode(ExecutionMode executionMode) {
+      this.executionMode = executionMode;
+      return this;
+    }
+
     /**
      * Sets the {@link IpMode} for the http connection
      * <P>
@@ -261,6 +503,90 @@ public class ApiHandle {
       return this;
     }
 
+    /**
+     * Sets the maximum number of asynchronous requests that may be in flight at once
+     * <P>
+     * okhttp's dispatcher defaults to 64 concurrent requests, and only 5 to any one host. Because this library only talks to a single host, both
+     * limits are set to this value. Calls made beyond the limit are queued by the dispatcher, not rejected.
+     *
+     * @param maxRequests
+     *          maximum number of concurrent asynchronous requests
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder maxRequests(int maxRequests) {
+      if (maxRequests > 0) {
+        this.maxRequests = maxRequests;
+      }
+      return this;
+    }
+
+    /**
+     * Reports every request made through this handle to a {@link ClientMetrics} implementation
+     * <P>
+     * By default no metrics are kept. {@link com.greenfiling.smclient.internal.InMemoryClientMetrics InMemoryClientMetrics} keeps per-endpoint latency
+     * histograms, response code and exception counters, byte counts and in-flight gauges, or implement {@link ClientMetrics} to feed another metrics
+     * system.
+     *
+     * @param metrics
+     *          the {@link ClientMetrics} to report to, or null for none
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder metrics(ClientMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Limits the rate at which requests are sent to the API
+     * <P>
+     * Requests beyond the limit wait for their turn rather than failing: synchronous calls block, and asynchronous calls are dispatched later without
+     * holding a thread. The limit is a token bucket, so after a quiet period up to burst requests go out at once, after which they are paced at
+     * requestsPerSecond. This limit is shared by reads and writes unless {@link #readRateLimit(double, int)} or {@link #writeRateLimit(double, int)}
+     * give them a budget of their own. File downloads and uploads to storage links are not limited.
+     * <P>
+     * EXAMPLE: stay under 10 requests per second, allowing bursts of 20
+     * <P>
+     *
+     * <code>
+     * ApiHandle apiHandle = new ApiHandle.Builder()<br>
+     *                           .apiKey(VALID_API_KEY)<br>
+     *                           .rateLimit(10, 20)<br>
+     *                           .build();<br>
+     * </code>
+     *
+     * @param requestsPerSecond
+     *          sustained number of requests per second, must be greater than 0
+     * @param burst
+     *          number of requests which may be sent at once, must be at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder rateLimit(double requestsPerSecond, int burst) {
+      this.rateLimit = requestsPerSecond;
+      this.rateLimitBurst = burst;
+      return this;
+    }
+
+    /**
+     * Limits the rate at which read (GET) requests are sent to the API, separately from writes
+     * <P>
+     * See {@link #rateLimit(double, int)}.
+     *
+     * @param requestsPerSecond
+     *          sustained number of requests per second, must be greater than 0
+     * @param burst
+     *          number of requests which may be sent at once, must be at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder readRateLimit(double requestsPerSecond, int burst) {
+      this.readRateLimit = requestsPerSecond;
+      this.readRateLimitBurst = burst;
+      return this;
+    }
+
     /**
      * Sets the read timeout for this handle
      * <P>
@@ -278,6 +604,157 @@ public class ApiHandle {
       return this;
     }
 
+    /**
+     * Gzips request bodies of at least the given size
+     * <P>
+     * Large creates and updates (eg a job with many addresses, recipients and instructions) shrink considerably when compressed. Only JSON bodies
+     * are compressed, never file uploads. If the server rejects a compressed request with a 415 response it is resent uncompressed, and the handle
+     * stops compressing. By default request bodies are not compressed.
+     *
+     * @param thresholdBytes
+     *          bodies of at least this many bytes are compressed, must be at least 0
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder requestCompression(int thresholdBytes) {
+      this.requestCompressionThreshold = thresholdBytes;
+      return this;
+    }
+
+    /**
+     * Retries API requests which fail for reasons that are likely to be temporary
+     * <P>
+     * By default nothing is retried. With a {@link RetryPolicy}, reads which fail with a network error or a 429, 502, 503 or 504 response are retried
+     * after a delay, and writes are too if the policy allows it. Each retry is a new request as far as {@link #rateLimit(double, int)} and
+     * {@link #adaptiveConcurrency(int, int)} are concerned, and is recorded as its own {@link Transaction}. Synchronous calls sleep between attempts;
+     * asynchronous calls are rescheduled without holding a thread. File downloads and uploads to storage links are not retried.
+     * <P>
+     * EXAMPLE: retry reads up to 5 times in total
+     * <P>
+     *
+     * <code>
+     * ApiHandle apiHandle = new ApiHandle.Builder()<br>
+     *                           .apiKey(VALID_API_KEY)<br>
+     *                           .retryPolicy(new RetryPolicy.Builder().maxAttempts(5).build())<br>
+     *                           .build();<br>
+     * </code>
+     *
+     * @param retryPolicy
+     *          the {@link RetryPolicy} to use, or null to not retry
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder retryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    /**
+     * Caps the length of request and response bodies recorded in the {@link Transaction} history
+     * <P>
+     * If this is not set, the builder will default to {@link ApiHandle#DEFAULT_TRANSACTION_BODY_LIMIT}. Only the first maxLength characters of
+     * each body are kept, followed by {@link Transaction#TRUNCATED_MARKER} if anything was cut. Successful responses are decoded directly from the
+     * network stream and the prefix is copied off as they are read, so the limit also bounds how much of a large response is held in memory. To
+     * record bodies in full, pass {@link Integer#MAX_VALUE}. Only matters with {@link CaptureMode#FULL}, or for error responses.
+     *
+     * @param maxLength
+     *          the most characters of each body to record, must be at least 0
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder transactionBodyLimit(int maxLength) {
+      this.transactionBodyLimit = maxLength;
+      return this;
+    }
+
+    /**
+     * Sets how much of each request/response pair is recorded in the {@link Transaction} history
+     * <P>
+     * If this is not set, the builder will default to {@link CaptureMode#FULL}, which records bodies up to {@link #transactionBodyLimit(int)}.
+     * Successful responses are always decoded directly from the network stream, which avoids holding several copies of large index pages in memory.
+     * {@link CaptureMode#METADATA} or {@link CaptureMode#NONE} (or {@link #keepTransactions(int)} set to zero) also skip copying off the recorded
+     * prefix.
+     *
+     * @param captureMode
+     *          the {@link CaptureMode} to use
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder transactionCapture(CaptureMode captureMode) {
+      this.captureMode = captureMode;
+      return this;
+    }
+
+    /**
+     * Sets whether failed requests are always recorded in the {@link Transaction} history
+     * <P>
+     * Defaults to true, meaning a request which gets an error response or fails with a network error is recorded, with its error response body, even
+     * if {@link CaptureMode#NONE} or {@link #transactionSampling(int)} would otherwise have left it out.
+     *
+     * @param captureOnError
+     *          false to apply the capture mode and sampling to failed requests too
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder transactionCaptureOnError(boolean captureOnError) {
+      this.transactionCaptureOnError = captureOnError;
+      return this;
+    }
+
+    /**
+     * Records only one in every oneInN requests in the {@link Transaction} history
+     * <P>
+     * Defaults to 1, recording every request. Requests which are not sampled cost nothing to record, and their successful responses are decoded
+     * directly from the network stream. Failed requests are recorded regardless, see {@link #transactionCaptureOnError(boolean)}.
+     *
+     * @param oneInN
+     *          how many requests there are for each one recorded, must be at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder transactionSampling(int oneInN) {
+      this.transactionSampling = oneInN;
+      return this;
+    }
+
+    /**
+     * Sets whether each {@link Transaction} records a timing breakdown of its request
+     * <P>
+     * When enabled, an okhttp {@link okhttp3.EventListener} fills in how long each request spent on DNS, connecting, the TLS handshake, waiting for
+     * the first byte of the response, receiving the body and decoding the JSON, along with the body sizes and whether a pooled connection was reused.
+     * This is the information needed to tune timeouts and connection pool sizes. The cost is a few calls to {@link System#nanoTime()} per request.
+     * <P>
+     * Defaults to true, unless an external builder was passed to {@link #builder(okhttp3.OkHttpClient.Builder)}. Enabling it on an external builder
+     * replaces any event listener factory set on that builder.
+     *
+     * @param transactionTimings
+     *          true to record timings
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder transactionTimings(boolean transactionTimings) {
+      this.transactionTimings = transactionTimings;
+      return this;
+    }
+
+    /**
+     * Limits the rate at which write (POST and PUT) requests are sent to the API, separately from reads
+     * <P>
+     * See {@link #rateLimit(double, int)}.
+     *
+     * @param requestsPerSecond
+     *          sustained number of requests per second, must be greater than 0
+     * @param burst
+     *          number of requests which may be sent at once, must be at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     * @since 1.0.15
+     */
+    public Builder writeRateLimit(double requestsPerSecond, int burst) {
+      this.writeRateLimit = requestsPerSecond;
+      this.writeRateLimitBurst = burst;
+      return this;
+    }
+
     /**
      * Sets the write timeout for this handle
      * <P>
@@ -313,15 +790,95 @@ public class ApiHandle {
       if (basicAuth == null || "".equals(basicAuth)) {
         errors.add("Authentication string not built properly");
       }
+      if (executionMode == ExecutionMode.VIRTUAL_THREADS && !ExecutorFactory.isVirtualThreadSupported()) {
+        errors.add("ExecutionMode VIRTUAL_THREADS requires Java 21 or later");
+      }
+      if (adaptiveMaxLimit != null && (adaptiveInitialLimit < 1 || adaptiveMaxLimit < adaptiveInitialLimit)) {
+        errors.add("adaptiveConcurrency requires initialLimit of at least 1 and maxLimit of at least initialLimit");
+      }
+      if (entityCacheBytes != null && (entityCacheBytes < 1 || entityCacheTtl < 1)) {
+        errors.add("entityCache requires maxBytes of at least 1 and ttlSeconds of at least 1");
+      }
+      if (requestCompressionThreshold != null && requestCompressionThreshold < 0) {
+        errors.add("requestCompression threshold must be at least 0");
+      }
+      if (transactionBodyLimit != null && transactionBodyLimit < 0) {
+        errors.add("transactionBodyLimit must be at least 0");
+      }
+      if (transactionSampling != null && transactionSampling < 1) {
+        errors.add("transactionSampling must be at least 1");
+      }
+      validateRateLimit(errors, "rateLimit", rateLimit, rateLimitBurst);
+      validateRateLimit(errors, "readRateLimit", readRateLimit, readRateLimitBurst);
+      validateRateLimit(errors, "writeRateLimit", writeRateLimit, writeRateLimitBurst);
 
       if (errors.size() > 0) {
         logger.error("validate - failed validation.  Errors: {}", errors.toString());
         throw new IllegalStateException(errors.toString());
       }
     }
+
+    private void validateRateLimit(ArrayList<String> errors, String name, Double requestsPerSecond, Integer burst) {
+      if (requestsPerSecond != null && !(requestsPerSecond > 0 && burst >= 1)) {
+        errors.add(name + " requires requestsPerSecond greater than 0 and burst of at least 1");
+      }
+    }
+  }
+
+  /**
+   * Signals that an attempt failed and should be retried after a delay. Never escapes ApiHandle
+   */
+  private static class RetryLaterException extends Exception {
+    private static final long serialVersionUID = 1L;
+    private final long delayMillis;
+
+    private RetryLaterException(long delayMillis, Throwable cause) {
+      super("retry in " + delayMillis + "ms", cause);
+      this.delayMillis = delayMillis;
+    }
+  }
+
+  /**
+   * A read in flight which identical reads share, see {@link Builder#coalesceReads(boolean)}
+   * <P>
+   * Counts the callers waiting for it, so its call is only cancelled once every one of them has cancelled.
+   */
+  private static class SharedRead {
+    private final CompletableFuture<Object> result = new CompletableFuture<Object>();
+    private CompletableFuture<?> call;
+    private int waiters = 1;
+
+    private synchronized void cancel() {
+      if (call != null) {
+        call.cancel(true);
+      }
+    }
+
+    private synchronized boolean join() {
+      // once every caller has left, the read is being cancelled and can't be joined
+      if (waiters == 0) {
+        return false;
+      }
+      waiters++;
+      return true;
+    }
+
+    /**
+     * @return true if this was the last caller waiting and the read hasn't finished, so its call should be cancelled
+     */
+    private synchronized boolean leave() {
+      waiters--;
+      return waiters == 0 && !result.isDone();
+    }
+
+    private synchronized void setCall(CompletableFuture<?> call) {
+      this.call = call;
+    }
   }
 
   private static final Logger logger = LoggerFactory.getLogger(ApiHandle.class);
+  private static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+  private static final long DOWNLOAD_CHUNK_SIZE = 1024 * 1024;
 
   /**
    * The default endpoint base URL for the Serve Manager API
@@ -339,17 +896,43 @@ public class ApiHandle {
    * The default connect timeout, in seconds, when communicating with the Serve Manager API
    */
   public static final long DEFAULT_CONNECT_TIMEOUT = 180;
+  /**
+   * The default time, in seconds, DNS lookups are cached for when {@link IpMode#HAPPY_EYEBALLS} is in use
+   *
+   * @since 1.0.15
+   */
+  public static final long DEFAULT_DNS_CACHE_TTL = 60;
   /**
    * How many transactions are saved in the transaction history
    */
   public static final Integer DEFAULT_KEEP_TRANSACTIONS = 3;
+  /**
+   * How many characters of each request and response body are saved in the transaction history
+   *
+   * @since 1.0.15
+   */
+  public static final Integer DEFAULT_TRANSACTION_BODY_LIMIT = 4096;
 
   private String apiEndpointBase;
   private String basicAuth;
   private okhttp3.OkHttpClient client;
   private MediaType jsonMediaType;
   private Integer keepTransactions;
-  private ArrayList<Transaction> transactions = new ArrayList<Transaction>();
+  private CaptureMode captureMode;
+  private Integer transactionBodyLimit;
+  private boolean transactionCaptureOnError;
+  private int transactionSampling;
+  private final AtomicLong transactionCount = new AtomicLong();
+  private RingBuffer<Transaction> transactions;
+  private volatile ExecutorService executor;
+  private volatile ScheduledExecutorService scheduler;
+  private RateLimiter readRateLimiter;
+  private RateLimiter writeRateLimiter;
+  private AdaptiveLimiter concurrencyLimiter;
+  private RetryPolicy retryPolicy;
+  private ClientMetrics metrics;
+  private EntityCache entityCache;
+  private ConcurrentHashMap<String, SharedRead> inFlightReads;
 
   /**
    * Instantiates an ApiHandler object based off a Builder object.
@@ -360,6 +943,7 @@ public class ApiHandle {
     this.apiEndpointBase = builder.apiEndpointBase;
     this.client = builder.client;
     this.basicAuth = builder.basicAuth;
+    this.executor = builder.executor;
     this.jsonMediaType = MediaType.parse("application/json; charset=utf-8");
   }
 
@@ -376,69 +960,249 @@ public class ApiHandle {
    * @since 1.0.0
    */
   public String doGet(String url) throws Exception {
-    logger.trace("doGet - url = {}", url);
-    Request.Builder builder = new Request.Builder().url(url);
-    return doApiRequest(new RequestEnclosure(builder, null));
-
+    return doGet(url, null);
   }
 
   /**
-   * Download any arbitrary file and save to disk.
+   * Perform a GET request against the API and decode the response.
    * <P>
-   * Does not use API authentication, useful for grabbing short term, non-api-protected files from {@link Upload} objects.
+   * Should not be called directly
    *
+   * @param <T>
+   *          the type the response is decoded to
    * @param url
-   *          URL to download file from
-   * @param filePath
-   *          File on disk to save contents of download to
+   *          the URL to GET
+   * @param type
+   *          the type to decode the response JSON to, or null to return the raw response as a String
+   * @return The decoded response from the request
    * @throws Exception
-   *           thrown if file cannot be downloaded for any reason
+   *           see {@link ApiClient#show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
    */
-  public void doGetFile(String url, String filePath) throws Exception {
-    Request request = new Request.Builder().url(url).build();
-    try (Response response = client.newCall(request).execute()) {
-
-      if (!response.isSuccessful()) {
-        throw new IOException("Couldn't download file: " + response);
-      }
-
-      try (FileOutputStream stream = new FileOutputStream(filePath)) {
-        stream.write(response.body().bytes());
-      }
-    }
+  public <T> T doGet(String url, Type type) throws Exception {
+    logger.trace("doGet - url = {}", url);
+    return coalesce(url, type, () -> doApiRequest(new RequestEnclosure(new Request.Builder().url(url), null), type));
   }
 
   /**
-   * Download any arbitrary file that requires API authentication and save to disk.
+   * Perform a GET request against the API without blocking the calling thread.
    * <P>
-   * Uses API authentication, useful for grabbing short term, api-protected files, e.g. from {@link com.greenfiling.smclient.model.Document Document}
-   * objects.
-   * 
+   * Should not be called directly. The request is dispatched via okhttp's asynchronous call interface, and the returned future is completed on one
+   * of okhttp's dispatcher threads.
+   *
    * @param url
-   *          URL to download file from (assumed to be protected by ServeManager API authentication)
-   * @param filePath
-   *          File on disk to save contents of download to
-   * @throws Exception
-   *           thrown if file cannot be downloaded for any reason
+   *          the URL to GET
+   * @return A future which completes with the response from the request, or exceptionally with any exception {@link #doGet(String)} would throw
+   * @since 1.0.15
    */
-  public void doGetFileApi(String url, String filePath) throws Exception {
-    Request.Builder builder = new Request.Builder().url(url);
-    addApiHeaderAuthorization(builder);
-    Request request = builder.build();
-    try (Response response = client.newCall(request).execute()) {
-
-      if (!response.isSuccessful()) {
-        throw new IOException("Couldn't download file: " + response);
-      }
-
-      try (FileOutputStream stream = new FileOutputStream(filePath)) {
-        stream.write(response.body().bytes());
-      }
-    }
+  public CompletableFuture<String> doGetAsync(String url) {
+    return doGetAsync(url, null);
   }
 
   /**
-   * Perform a POST request against the API.
+   * Perform a GET request against the API without blocking the calling thread, and decode the response.
+   * <P>
+   * Should not be called directly
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL to GET
+   * @param type
+   *          the type to decode the response JSON to, or null to return the raw response as a String
+   * @return A future which completes with the decoded response from the request
+   * @since 1.0.15
+   */
+  public <T> CompletableFuture<T> doGetAsync(String url, Type type) {
+    logger.trace("doGetAsync - url = {}", url);
+    return coalesceAsync(url, type, () -> doApiRequestAsync(new RequestEnclosure(new Request.Builder().url(url), null), type));
+  }
+
+  /**
+   * Perform a GET request for a single record and decode the response, using the entity cache if it is enabled.
+   * <P>
+   * Should not be called directly. See {@link Builder#entityCache(long, int)}.
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL of the record
+   * @param type
+   *          the type to decode the response JSON to
+   * @return The decoded record, which is shared with other callers if it came from the cache
+   * @throws Exception
+   *           see {@link ApiClient#show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  public <T> T doGetEntity(String url, Type type) throws Exception {
+    logger.trace("doGetEntity - url = {}", url);
+    return coalesce(url, type, () -> doApiRequest(newEntityRequest(url), type));
+  }
+
+  /**
+   * Perform a GET request for a single record without blocking the calling thread, using the entity cache if it is enabled.
+   * <P>
+   * Should not be called directly. See {@link Builder#entityCache(long, int)}.
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL of the record
+   * @param type
+   *          the type to decode the response JSON to
+   * @return A future which completes with the decoded record
+   * @since 1.0.15
+   */
+  public <T> CompletableFuture<T> doGetEntityAsync(String url, Type type) {
+    logger.trace("doGetEntityAsync - url = {}", url);
+    return coalesceAsync(url, type, () -> doApiRequestAsync(newEntityRequest(url), type));
+  }
+
+  /**
+   * Download any arbitrary file and write it to an OutputStream.
+   * <P>
+   * Does not use API authentication. The download is streamed, so memory use does not depend on the size of the file. The stream is flushed but not
+   * closed.
+   *
+   * @param url
+   *          URL to download file from
+   * @param target
+   *          stream to write the contents of the download to
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void doGetFile(String url, OutputStream target) throws Exception {
+    downloadFile(new Request.Builder().url(url).build(), target);
+  }
+
+  /**
+   * Download any arbitrary file and save to disk.
+   * <P>
+   * Does not use API authentication, useful for grabbing short term, non-api-protected files from {@link Upload} objects. The download is streamed to
+   * disk, so memory use does not depend on the size of the file.
+   *
+   * @param url
+   *          URL to download file from
+   * @param filePath
+   *          File on disk to save contents of download to
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   */
+  public void doGetFile(String url, String filePath) throws Exception {
+    downloadFile(new Request.Builder().url(url).build(), filePath);
+  }
+
+  /**
+   * Download any arbitrary file and write it to a WritableByteChannel.
+   * <P>
+   * Does not use API authentication. The download is streamed, so memory use does not depend on the size of the file. The channel is not closed.
+   *
+   * @param url
+   *          URL to download file from
+   * @param target
+   *          channel to write the contents of the download to
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void doGetFile(String url, WritableByteChannel target) throws Exception {
+    downloadFile(new Request.Builder().url(url).build(), target);
+  }
+
+  /**
+   * Download any arbitrary file that requires API authentication and write it to an OutputStream.
+   * <P>
+   * Behaves like {@link #doGetFile(String, OutputStream)}, but uses API authentication.
+   *
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param target
+   *          stream to write the contents of the download to
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void doGetFileApi(String url, OutputStream target) throws Exception {
+    downloadFile(newApiFileRequest(url), target);
+  }
+
+  /**
+   * Download any arbitrary file that requires API authentication and save to disk.
+   * <P>
+   * Uses API authentication, useful for grabbing short term, api-protected files, e.g. from {@link com.greenfiling.smclient.model.Document Document}
+   * objects. The download is streamed to disk, so memory use does not depend on the size of the file.
+   * 
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param filePath
+   *          File on disk to save contents of download to
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   */
+  public void doGetFileApi(String url, String filePath) throws Exception {
+    downloadFile(newApiFileRequest(url), filePath);
+  }
+
+  /**
+   * Download any arbitrary file that requires API authentication and write it to a WritableByteChannel.
+   * <P>
+   * Behaves like {@link #doGetFile(String, WritableByteChannel)}, but uses API authentication.
+   *
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param target
+   *          channel to write the contents of the download to
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void doGetFileApi(String url, WritableByteChannel target) throws Exception {
+    downloadFile(newApiFileRequest(url), target);
+  }
+
+  /**
+   * Download any arbitrary file that requires API authentication and save to disk, resuming an earlier interrupted download of the same file if
+   * possible.
+   * <P>
+   * Behaves like {@link #doGetFileResumable(String, String)}, but uses API authentication. Useful for large
+   * {@link com.greenfiling.smclient.model.Document Document} and {@link com.greenfiling.smclient.model.Invoice Invoice} PDFs.
+   *
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param filePath
+   *          File on disk to save contents of download to
+   * @return the number of bytes that were reused from an earlier partial download
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public long doGetFileApiResumable(String url, String filePath) throws Exception {
+    return new ResumableDownload(client, newApiFileRequest(url), filePath).run();
+  }
+
+  /**
+   * Download any arbitrary file and save to disk, resuming an earlier interrupted download of the same file if possible.
+   * <P>
+   * Does not use API authentication, see {@link #doGetFile(String, String)}. If the download fails part way, the bytes received so far are kept next
+   * to filePath and the next call for the same filePath requests only the remainder, provided the server supports ranges and the file has not changed.
+   * See {@link ResumableDownload} for details.
+   *
+   * @param url
+   *          URL to download file from
+   * @param filePath
+   *          File on disk to save contents of download to
+   * @return the number of bytes that were reused from an earlier partial download
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public long doGetFileResumable(String url, String filePath) throws Exception {
+    return new ResumableDownload(client, new Request.Builder().url(url).build(), filePath).run();
+  }
+
+  /**
+   * Perform a POST request against the API.
    * <P>
    * Should not be called directly
    *
@@ -452,12 +1216,76 @@ public class ApiHandle {
    * @since 1.0.0
    */
   public String doPost(String url, Object request) throws Exception {
+    return doPost(url, request, null);
+  }
+
+  /**
+   * Perform a POST request against the API and decode the response.
+   * <P>
+   * Should not be called directly
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL to POST
+   * @param request
+   *          the object to serialize as JSON and send to the API
+   * @param type
+   *          the type to decode the response JSON to, or null to return the raw response as a String
+   * @return The decoded response from the request
+   * @throws Exception
+   *           see {@link ApiClient#show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  public <T> T doPost(String url, Object request, Type type) throws Exception {
     String jsonString = JsonHandle.get().toJson(request);
     logger.trace("doPost - url = {}, request = {}", url, jsonString);
 
     RequestBody requestBody = RequestBody.create(jsonString, this.jsonMediaType);
     Request.Builder builder = new Request.Builder().url(url).post(requestBody);
-    return doApiRequest(new RequestEnclosure(builder, jsonString));
+    return doApiRequest(new RequestEnclosure(builder, jsonString), type);
+  }
+
+  /**
+   * Perform a POST request against the API without blocking the calling thread.
+   * <P>
+   * Should not be called directly
+   *
+   * @param url
+   *          the URL to POST
+   * @param request
+   *          the object to serialize as JSON and send to the API
+   * @return A future which completes with the response from the request, or exceptionally with any exception {@link #doPost(String, Object)}
+   *         would throw
+   * @since 1.0.15
+   */
+  public CompletableFuture<String> doPostAsync(String url, Object request) {
+    return doPostAsync(url, request, null);
+  }
+
+  /**
+   * Perform a POST request against the API without blocking the calling thread, and decode the response.
+   * <P>
+   * Should not be called directly
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL to POST
+   * @param request
+   *          the object to serialize as JSON and send to the API
+   * @param type
+   *          the type to decode the response JSON to, or null to return the raw response as a String
+   * @return A future which completes with the decoded response from the request
+   * @since 1.0.15
+   */
+  public <T> CompletableFuture<T> doPostAsync(String url, Object request, Type type) {
+    String jsonString = JsonHandle.get().toJson(request);
+    logger.trace("doPostAsync - url = {}, request = {}", url, jsonString);
+
+    RequestBody requestBody = RequestBody.create(jsonString, this.jsonMediaType);
+    Request.Builder builder = new Request.Builder().url(url).post(requestBody);
+    return doApiRequestAsync(new RequestEnclosure(builder, jsonString), type);
   }
 
   /**
@@ -475,12 +1303,76 @@ public class ApiHandle {
    * @since 1.0.0
    */
   public String doPut(String url, Object request) throws Exception {
+    return doPut(url, request, null);
+  }
+
+  /**
+   * Perform a PUT request against the API and decode the response.
+   * <P>
+   * Should not be called directly
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL to PUT
+   * @param request
+   *          the object to serialize as JSON and send to the API
+   * @param type
+   *          the type to decode the response JSON to, or null to return the raw response as a String
+   * @return The decoded response from the request
+   * @throws Exception
+   *           see {@link ApiClient#show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  public <T> T doPut(String url, Object request, Type type) throws Exception {
     String jsonString = JsonHandle.get().toJson(request);
     logger.trace("doPut - url = {}, request = {}", url, jsonString);
 
     RequestBody requestBody = RequestBody.create(jsonString, this.jsonMediaType);
     Request.Builder builder = new Request.Builder().url(url).put(requestBody);
-    return doApiRequest(new RequestEnclosure(builder, jsonString));
+    return doApiRequest(new RequestEnclosure(builder, jsonString), type);
+  }
+
+  /**
+   * Perform a PUT request against the API without blocking the calling thread.
+   * <P>
+   * Should not be called directly
+   *
+   * @param url
+   *          the URL to PUT
+   * @param request
+   *          the object to serialize as JSON and send to the API
+   * @return A future which completes with the response from the request, or exceptionally with any exception {@link #doPut(String, Object)}
+   *         would throw
+   * @since 1.0.15
+   */
+  public CompletableFuture<String> doPutAsync(String url, Object request) {
+    return doPutAsync(url, request, null);
+  }
+
+  /**
+   * Perform a PUT request against the API without blocking the calling thread, and decode the response.
+   * <P>
+   * Should not be called directly
+   *
+   * @param <T>
+   *          the type the response is decoded to
+   * @param url
+   *          the URL to PUT
+   * @param request
+   *          the object to serialize as JSON and send to the API
+   * @param type
+   *          the type to decode the response JSON to, or null to return the raw response as a String
+   * @return A future which completes with the decoded response from the request
+   * @since 1.0.15
+   */
+  public <T> CompletableFuture<T> doPutAsync(String url, Object request, Type type) {
+    String jsonString = JsonHandle.get().toJson(request);
+    logger.trace("doPutAsync - url = {}, request = {}", url, jsonString);
+
+    RequestBody requestBody = RequestBody.create(jsonString, this.jsonMediaType);
+    Request.Builder builder = new Request.Builder().url(url).put(requestBody);
+    return doApiRequestAsync(new RequestEnclosure(builder, jsonString), type);
   }
 
   /**
@@ -501,7 +1393,7 @@ public class ApiHandle {
     String dataString = "<" + requestBody.contentLength() + " bytes of file data>";
     logger.trace("doPutFile - url = {}, request = {}", url, dataString);
 
-    return doRequest(new RequestEnclosure(new Request.Builder().url(url).put(requestBody), dataString));
+    return doRequest(new RequestEnclosure(new Request.Builder().url(url).put(requestBody), dataString), null, null, null);
   }
 
   /**
@@ -514,14 +1406,85 @@ public class ApiHandle {
     return apiEndpointBase;
   }
 
+  /**
+   * Get the current adaptive concurrency limit
+   * <P>
+   * Useful as a metric of how much concurrency ServeManager is currently able to absorb. See {@link Builder#adaptiveConcurrency(int, int)}.
+   *
+   * @return the number of API requests currently allowed in flight at once, or null if adaptive concurrency is not enabled
+   * @since 1.0.15
+   */
+  public Integer getConcurrencyLimit() {
+    return concurrencyLimiter == null ? null : concurrencyLimiter.getLimit();
+  }
+
+  /**
+   * Get the cache of records fetched by show()
+   * <P>
+   * See {@link Builder#entityCache(long, int)}.
+   *
+   * @return the cache, or null if it is not enabled
+   * @since 1.0.15
+   */
+  public EntityCache getEntityCache() {
+    return entityCache;
+  }
+
+  /**
+   * Get the executor used for the library's bulk operations
+   * <P>
+   * Should not be called directly. If {@link Builder#executionMode(ExecutionMode)} was set this is the same executor okhttp's dispatcher uses,
+   * otherwise a cached pool of daemon threads is created on first use. Callers are responsible for bounding how much work they submit.
+   *
+   * @return the handle's executor
+   * @since 1.0.15
+   */
+  public ExecutorService getExecutor() {
+    if (executor == null) {
+      synchronized (this) {
+        if (executor == null) {
+          executor = ExecutorFactory.newPlatformThreadExecutor("smclient");
+        }
+      }
+    }
+    return executor;
+  }
+
+  /**
+   * Get the rate limiter applied to reads (GET and HEAD requests)
+   * <P>
+   * See {@link Builder#rateLimit(double, int)} and {@link Builder#readRateLimit(double, int)}. Reserving from it counts against the handle's limit.
+   *
+   * @return the rate limiter, or null if reads are not limited
+   * @since 1.0.15
+   */
+  public RateLimiter getReadRateLimiter() {
+    return readRateLimiter;
+  }
+
   /**
    * Returns a list of saved {@link Transaction} objects.
+   * <P>
+   * The list is a snapshot of the history at the time of the call, so it is safe to use while other threads are making requests with this handle, but
+   * it does not change as further requests are made. Call this again to see newer transactions.
    * 
    * @return list of {@link Transaction} objects. Newest transaction is always index 0
    * @since 1.0.4
    */
   public ArrayList<Transaction> getTransactions() {
-    return transactions;
+    return transactions.snapshot();
+  }
+
+  /**
+   * Get the rate limiter applied to writes (every method but GET and HEAD)
+   * <P>
+   * See {@link Builder#rateLimit(double, int)} and {@link Builder#writeRateLimit(double, int)}. Reserving from it counts against the handle's limit.
+   *
+   * @return the rate limiter, or null if writes are not limited
+   * @since 1.0.15
+   */
+  public RateLimiter getWriteRateLimiter() {
+    return writeRateLimiter;
   }
 
   private void addApiHeaderAccept(Request.Builder builder) {
@@ -541,45 +1504,525 @@ public class ApiHandle {
     return enclosure;
   }
 
+  /**
+   * If the attempt failed with an exception which the retry policy says to retry, record that in the transaction and throw
+   * {@link RetryLaterException}
+   */
+  private void checkRetry(Transaction txn, IOException e, RetryPolicy.Retry retry) throws RetryLaterException {
+    long delayMillis = retry == null ? -1 : retry.nextDelayMillis(e);
+    if (delayMillis < 0) {
+      return;
+    }
+    logger.info("checkRetry - request failed, retrying in {}ms, url = {}, next attempt = {}, error = {}", delayMillis, txn.getRequestUrl(),
+        retry.getAttempts(), e.toString());
+    throw new RetryLaterException(delayMillis, e);
+  }
+
+  /**
+   * If the response is one which the retry policy says to retry, record it in the transaction and throw {@link RetryLaterException}
+   */
+  private void checkRetry(Transaction txn, RequestEnclosure enclosure, Response response, RetryPolicy.Retry retry) throws RetryLaterException {
+    if (retry == null || response.isSuccessful()) {
+      return;
+    }
+    long delayMillis = retry.nextDelayMillis(response.code(), response.header("Retry-After"));
+    if (delayMillis < 0) {
+      return;
+    }
+    logger.info("checkRetry - server responded {}, retrying in {}ms, url = {}, next attempt = {}", response.code(), delayMillis, txn.getRequestUrl(),
+        retry.getAttempts());
+    txn.setResponseCode(response.code());
+    txn.setResponseLine(response.message());
+    recordFailure(txn, enclosure);
+    throw new RetryLaterException(delayMillis, null);
+  }
+
+  /**
+   * Make a read, or wait for an identical one already in flight if {@link Builder#coalesceReads(boolean)} is enabled
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T coalesce(String url, Type type, Callable<T> request) throws Exception {
+    if (inFlightReads == null) {
+      return request.call();
+    }
+
+    String key = readKey(url, type);
+    SharedRead shared = new SharedRead();
+    SharedRead existing = joinRead(key, shared);
+    if (existing != null) {
+      logger.debug("coalesce - sharing request in flight, url = {}", url);
+      try {
+        return (T) existing.result.get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      } catch (InterruptedException e) {
+        leaveRead(key, existing);
+        throw e;
+      }
+    }
+
+    T result = null;
+    Throwable failure = null;
+    try {
+      result = request.call();
+      return result;
+    } catch (Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      // even an Error has to clear the key, or every later read of the URL would wait for this one forever
+      finishRead(key, shared, result, failure);
+    }
+  }
+
+  /**
+   * Make an asynchronous read, or wait for an identical one already in flight if {@link Builder#coalesceReads(boolean)} is enabled
+   */
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> coalesceAsync(String url, Type type, Supplier<CompletableFuture<T>> request) {
+    if (inFlightReads == null) {
+      return request.get();
+    }
+
+    String key = readKey(url, type);
+    SharedRead shared = new SharedRead();
+    SharedRead existing = joinRead(key, shared);
+    if (existing != null) {
+      logger.debug("coalesceAsync - sharing request in flight, url = {}", url);
+      shared = existing;
+    } else {
+      SharedRead started = shared;
+      try {
+        CompletableFuture<T> call = request.get();
+        started.setCall(call);
+        call.whenComplete((result, e) -> finishRead(key, started, result, e));
+      } catch (Throwable e) {
+        finishRead(key, started, null, e);
+        throw e;
+      }
+    }
+
+    // each caller gets its own future, so one cancelling doesn't affect the others. The call itself is cancelled when the last of them cancels
+    SharedRead joined = shared;
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    joined.result.whenComplete((result, e) -> {
+      if (e != null) {
+        future.completeExceptionally(e);
+      } else {
+        future.complete((T) result);
+      }
+    });
+    future.whenComplete((result, e) -> {
+      if (future.isCancelled()) {
+        leaveRead(key, joined);
+      }
+    });
+    return future;
+  }
+
   /**
    * Perform a request against the API
    */
-  private String doApiRequest(RequestEnclosure enclosure) throws Exception {
-    return doRequest(addApiHeaders(enclosure));
+  private <T> T doApiRequest(RequestEnclosure enclosure, Type type) throws Exception {
+    addApiHeaders(enclosure);
+    RetryPolicy.Retry retry = startRetry(enclosure);
+    while (true) {
+      RateLimiter rateLimiter = getRateLimiter(enclosure);
+      if (rateLimiter != null) {
+        rateLimiter.acquire();
+      }
+      AdaptiveLimiter limiter = concurrencyLimiter;
+      if (limiter != null) {
+        limiter.acquire();
+      }
+      try {
+        return doRequest(enclosure, type, limiter, retry);
+      } catch (RetryLaterException e) {
+        TimeUnit.MILLISECONDS.sleep(e.delayMillis);
+      }
+    }
+  }
+
+  /**
+   * Perform a request against the API without blocking
+   */
+  private <T> CompletableFuture<T> doApiRequestAsync(RequestEnclosure enclosure, Type type) {
+    addApiHeaders(enclosure);
+    return doApiAttemptAsync(enclosure, type, startRetry(enclosure));
+  }
+
+  /**
+   * Make one attempt at an asynchronous API request, and schedule the next one if the attempt fails and can be retried
+   */
+  private <T> CompletableFuture<T> doApiAttemptAsync(RequestEnclosure enclosure, Type type, RetryPolicy.Retry retry) {
+    RateLimiter rateLimiter = getRateLimiter(enclosure);
+    long waitNanos = rateLimiter == null ? 0 : rateLimiter.reserve();
+    CompletableFuture<T> attempt;
+    if (waitNanos > 0) {
+      attempt = doLater(waitNanos, () -> doLimitedRequestAsync(enclosure, type, retry));
+    } else {
+      attempt = doLimitedRequestAsync(enclosure, type, retry);
+    }
+    if (retry == null) {
+      return attempt;
+    }
+
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    future.whenComplete((result, e) -> {
+      if (future.isCancelled()) {
+        attempt.cancel(true);
+      }
+    });
+    attempt.whenComplete((result, e) -> {
+      if (e instanceof RetryLaterException) {
+        relay(doLater(TimeUnit.MILLISECONDS.toNanos(((RetryLaterException) e).delayMillis), () -> doApiAttemptAsync(enclosure, type, retry)),
+            future);
+      } else if (e != null) {
+        future.completeExceptionally(e);
+      } else {
+        future.complete(result);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Start an asynchronous request after a delay, without holding a thread while waiting
+   * <P>
+   * Cancelling the returned future before the delay is up means the request is never sent.
+   */
+  private <T> CompletableFuture<T> doLater(long delayNanos, Supplier<CompletableFuture<T>> request) {
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    getScheduler().schedule(() -> {
+      if (future.isDone()) {
+        return;
+      }
+      relay(request.get(), future);
+    }, delayNanos, TimeUnit.NANOSECONDS);
+    return future;
+  }
+
+  /**
+   * Start an asynchronous request once the adaptive concurrency limiter, if any, has a free slot
+   */
+  private <T> CompletableFuture<T> doLimitedRequestAsync(RequestEnclosure enclosure, Type type, RetryPolicy.Retry retry) {
+    AdaptiveLimiter limiter = concurrencyLimiter;
+    if (limiter == null) {
+      return doRequestAsync(enclosure, type, null, retry);
+    }
+
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    limiter.acquireAsync(() -> {
+      if (future.isDone()) {
+        limiter.releaseUnused();
+        return;
+      }
+      relay(doRequestAsync(enclosure, type, limiter, retry), future);
+    });
+    return future;
   }
 
   /**
    * Perform the actual http request.
    * <P>
-   * This is a raw request (for S3, etc). If you need to communicate with the API use {@link #doApiRequest(okhttp3.Request.Builder)} instead
+   * This is a raw request (for S3, etc). If you need to communicate with the API use {@link #doApiRequest(RequestEnclosure, Type)} instead
    */
-  private String doRequest(RequestEnclosure enclosure) throws Exception {
-    okhttp3.Request.Builder builder = enclosure.getBuilder();
-    Transaction txn = getNewTransaction();
-    txn.setRequestUrl(builder.getUrl$okhttp().toString());
-    txn.setRequestBody(enclosure.getRequestBody());
-    txn.setRequestType(builder.getMethod$okhttp());
+  private <T> T doRequest(RequestEnclosure enclosure, Type type, AdaptiveLimiter limiter, RetryPolicy.Retry retry) throws Exception {
+    Transaction txn = startTransaction(enclosure);
+    String endpoint = startMetrics(txn);
+    long startNanos = System.nanoTime();
+    Response response;
+    try {
+      response = client.newCall(enclosure.getBuilder().build()).execute();
+    } catch (IOException e) {
+      releaseSlot(limiter, startNanos, true);
+      finishMetrics(endpoint, txn, null, e, startNanos);
+      recordFailure(txn, enclosure);
+      checkRetry(txn, e, retry);
+      throw e;
+    } catch (RuntimeException e) {
+      if (limiter != null) {
+        limiter.releaseUnused();
+      }
+      finishMetrics(endpoint, txn, null, e, startNanos);
+      throw e;
+    }
+    releaseSlot(limiter, startNanos, isOverloadResponse(response.code()));
+
+    Exception error = null;
+    try (Response r = response) {
+      checkRetry(txn, enclosure, r, retry);
+      return handleResponse(txn, enclosure, r, type);
+    } catch (Exception e) {
+      error = e;
+      throw e;
+    } finally {
+      // after the response is closed, so the body size is known
+      finishMetrics(endpoint, txn, response.code(), error, startNanos);
+    }
+  }
 
-    String responseBody;
-    int responseCode;
-    try (Response response = client.newCall(builder.build()).execute()) {
+  /**
+   * Perform the actual http request via okhttp's asynchronous interface.
+   * <P>
+   * Cancelling the returned future cancels the underlying call.
+   */
+  private <T> CompletableFuture<T> doRequestAsync(RequestEnclosure enclosure, Type type, AdaptiveLimiter limiter, RetryPolicy.Retry retry) {
+    Transaction txn = startTransaction(enclosure);
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    Call call = client.newCall(enclosure.getBuilder().build());
+    String endpoint = startMetrics(txn);
+    long startNanos = System.nanoTime();
+
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        logger.info("doRequestAsync - request failed, url = {}, error = {}", txn.getRequestUrl(), e.toString());
+        finishMetrics(endpoint, txn, null, e, startNanos);
+        if (call.isCanceled()) {
+          if (limiter != null) {
+            limiter.releaseUnused();
+          }
+          future.completeExceptionally(e);
+          return;
+        }
+
+        releaseSlot(limiter, startNanos, true);
+        recordFailure(txn, enclosure);
+        try {
+          checkRetry(txn, e, retry);
+          future.completeExceptionally(e);
+        } catch (RetryLaterException retryLater) {
+          future.completeExceptionally(retryLater);
+        }
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        releaseSlot(limiter, startNanos, isOverloadResponse(response.code()));
+        T result = null;
+        Exception error = null;
+        try (Response r = response) {
+          checkRetry(txn, enclosure, r, retry);
+          result = handleResponse(txn, enclosure, r, type);
+        } catch (Exception e) {
+          error = e;
+        }
+
+        // after the response is closed, so the body size is known
+        finishMetrics(endpoint, txn, response.code(), error, startNanos);
+        if (error != null) {
+          future.completeExceptionally(error);
+        } else {
+          future.complete(result);
+        }
+      }
+    });
+
+    future.whenComplete((result, e) -> {
+      if (future.isCancelled()) {
+        call.cancel();
+      }
+    });
+    return future;
+  }
+
+  private void downloadFile(Request request, OutputStream target) throws IOException {
+    try (Response response = executeDownload(request)) {
+      response.body().source().readAll(Okio.sink(target));
+      target.flush();
+    }
+  }
+
+  private void downloadFile(Request request, String filePath) throws IOException {
+    // only touch the file once the response is known to be good, so a failed download leaves it as it was
+    try (Response response = executeDownload(request); FileChannel channel = openForWrite(filePath)) {
+      writeBody(response, channel);
+    }
+  }
+
+  private void downloadFile(Request request, WritableByteChannel target) throws IOException {
+    try (Response response = executeDownload(request)) {
+      writeBody(response, target);
+    }
+  }
+
+  private Response executeDownload(Request request) throws IOException {
+    Response response = client.newCall(request).execute();
+    if (!response.isSuccessful()) {
+      response.close();
+      throw new IOException("Couldn't download file: " + response);
+    }
+    return response;
+  }
+
+  private void finishMetrics(String endpoint, Transaction txn, Integer responseCode, Exception error, long startNanos) {
+    ClientMetrics metrics = this.metrics;
+    if (metrics == null) {
+      return;
+    }
+    // a retried attempt is reported by its response code, or by the exception that caused it
+    Throwable reported = error instanceof RetryLaterException ? error.getCause() : error;
+    long bytesSent = txn.getRequestBodyBytes() == null ? 0 : txn.getRequestBodyBytes();
+    long bytesReceived = txn.getResponseBodyBytes() == null ? 0 : txn.getResponseBodyBytes();
+    try {
+      metrics.requestFinished(endpoint, txn.getRequestType(), responseCode, reported, System.nanoTime() - startNanos, bytesSent, bytesReceived);
+    } catch (RuntimeException e) {
+      logger.warn("finishMetrics - ClientMetrics implementation threw, error = {}", e.toString());
+    }
+  }
+
+  /**
+   * Answer everyone waiting for a shared read
+   */
+  private void finishRead(String key, SharedRead shared, Object result, Throwable e) {
+    // removed before completing, so a read which arrives after this one has its answer makes a new request
+    inFlightReads.remove(key, shared);
+    if (e != null) {
+      shared.result.completeExceptionally(e);
+    } else {
+      shared.result.complete(result);
+    }
+  }
+
+  /**
+   * The label a URL is reported under to {@link ClientMetrics}: the path relative to the endpoint base, without numeric ids
+   */
+  private String getEndpointLabel(String url) {
+    if (!url.startsWith(apiEndpointBase)) {
+      return ClientMetrics.EXTERNAL_ENDPOINT;
+    }
+    String path = url.substring(apiEndpointBase.length());
+    int query = path.indexOf('?');
+    if (query >= 0) {
+      path = path.substring(0, query);
+    }
+
+    StringBuilder label = new StringBuilder();
+    for (String segment : path.split("/")) {
+      if (segment.isEmpty() || segment.chars().allMatch(Character::isDigit)) {
+        continue;
+      }
+      if (label.length() > 0) {
+        label.append('/');
+      }
+      label.append(segment);
+    }
+    return label.toString();
+  }
+
+  private RateLimiter getRateLimiter(RequestEnclosure enclosure) {
+    String method = enclosure.getBuilder().getMethod$okhttp();
+    return "GET".equals(method) || "HEAD".equals(method) ? readRateLimiter : writeRateLimiter;
+  }
+
+  private ScheduledExecutorService getScheduler() {
+    if (scheduler == null) {
+      synchronized (this) {
+        if (scheduler == null) {
+          scheduler = ExecutorFactory.newScheduler("smclient-scheduler");
+        }
+      }
+    }
+    return scheduler;
+  }
+
+  /**
+   * Decode a record for the entity cache
+   * <P>
+   * The body is read in full first, since its size is what the cache is bounded by, and show() bodies are small.
+   */
+  private <T> T handleEntityResponse(Transaction txn, RequestEnclosure enclosure, Response response, Type type, boolean captureBody)
+      throws IOException {
+    byte[] bytes;
+    try (ResponseBody body = response.body()) {
+      bytes = body.bytes();
+    }
+    if (captureBody || logger.isTraceEnabled()) {
+      String responseBody = new String(bytes, StandardCharsets.UTF_8).trim();
+      if (captureBody) {
+        txn.setResponseBody(truncateBody(responseBody));
+      }
+      logger.trace("doRequest - response = {}", responseBody);
+    }
+
+    long decodeStart = System.nanoTime();
+    T result = JsonHandle.get().fromJson(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8), type);
+    txn.setDecodeNanos(System.nanoTime() - decodeStart);
+    entityCache.put(enclosure.getCacheKey(), result, response.header("ETag"), response.header("Last-Modified"), bytes.length);
+    return result;
+  }
+
+  /**
+   * Reads the response, records it in the transaction, and either returns the decoded response body or throws the appropriate exception
+   * <P>
+   * If type is null the raw body is returned as a String. Otherwise successful responses are decoded straight from the response stream, copying off
+   * the start of the body for the transaction history, unless trace logging needs the whole body as a String.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T handleResponse(Transaction txn, RequestEnclosure enclosure, Response response, Type type) throws Exception {
+    int responseCode = response.code();
+    txn.setResponseCode(responseCode);
+    txn.setResponseLine(response.message());
+
+    if (responseCode == 304 && enclosure.getCacheEntry() != null) {
+      // unchanged, so the record decoded last time is still good and there is no body to read
+      response.close();
+      entityCache.revalidated(enclosure.getCacheEntry());
+      return (T) enclosure.getCacheEntry().getValue();
+    }
+
+    boolean successful = responseCode == 200 || responseCode == 201;
+    boolean captureBody = captureMode == CaptureMode.FULL && Boolean.TRUE.equals(enclosure.getSampled());
+    if (responseCode == 200 && type != null && enclosure.getCacheKey() != null) {
+      return handleEntityResponse(txn, enclosure, response, type, captureBody);
+    }
+    if (successful && type != null && !isResponseBodyNeeded()) {
       try (ResponseBody body = response.body()) {
-        responseBody = body.string().trim();
+        if (!captureBody) {
+          long decodeStart = System.nanoTime();
+          T result = JsonHandle.get().fromJson(body.charStream(), type);
+          txn.setDecodeNanos(System.nanoTime() - decodeStart);
+          return result;
+        }
+        // only the start of the body is wanted, so copy that off as it is decoded
+        CapturingReader reader = new CapturingReader(body.charStream(), transactionBodyLimit);
+        long decodeStart = System.nanoTime();
+        T result = JsonHandle.get().fromJson(reader, type);
+        txn.setDecodeNanos(System.nanoTime() - decodeStart);
+        txn.setResponseBody(reader.getCaptured());
+        return result;
       }
-      responseCode = response.code();
-      txn.setResponseCode(responseCode);
-      txn.setResponseLine(response.message());
+    }
+
+    String responseBody;
+    try (ResponseBody body = response.body()) {
+      responseBody = body.string().trim();
     }
 
     if (responseBody == null) {
       responseBody = "";
     }
-    txn.setResponseBody(responseBody);
+    if (captureBody || !successful) {
+      txn.setResponseBody(truncateBody(responseBody));
+    }
+    if (!successful) {
+      recordFailure(txn, enclosure);
+    }
 
     logger.trace("doRequest - response = {}", responseBody);
 
-    if (responseCode == 200 || responseCode == 201) {
-      return responseBody;
+    if (successful) {
+      if (type == null) {
+        return (T) responseBody;
+      }
+      long decodeStart = System.nanoTime();
+      T result = JsonHandle.get().getGson().fromJson(responseBody, type);
+      txn.setDecodeNanos(System.nanoTime() - decodeStart);
+      return result;
     }
 
     ///////////////////////////////////////
@@ -624,19 +2067,209 @@ public class ApiHandle {
     }
 
     logger.info("doRequest - An unknown exception occurred. Server response code = {}, error = {}", responseCode, error);
-    throw new Exception("An unknown exception occurred. Server response code = " + responseCode + ", error = " + error);
+    throw new UnexpectedResponseException("An unknown exception occurred. Server response code = " + responseCode + ", error = " + error, responseCode);
   }
 
-  private Transaction getNewTransaction() {
-    Transaction txn = new Transaction();
-    getTransactions().add(0, txn);
+  // responses which mean the server is shedding load, as opposed to rejecting this particular request
+  private boolean isOverloadResponse(int code) {
+    return code == 429 || code == 502 || code == 503 || code == 504;
+  }
 
-    // Make sure we don't retain more than we're supposed to
-    while (getTransactions().size() > keepTransactions) {
-      getTransactions().remove(getTransactions().size() - 1);
+  /**
+   * Whether a successful response body has to be read into a String rather than decoded from the stream
+   */
+  private boolean isResponseBodyNeeded() {
+    // trace logging prints the whole body
+    return logger.isTraceEnabled();
+  }
+
+  /**
+   * Decide whether the next request is recorded in the transaction history
+   */
+  private boolean isSampled() {
+    if (captureMode == CaptureMode.NONE || keepTransactions == 0) {
+      return false;
     }
+    return transactionSampling <= 1 || transactionCount.getAndIncrement() % transactionSampling == 0;
+  }
 
+  /**
+   * Register shared as the read in flight for key, or join the one already there
+   *
+   * @return the read joined, or null if shared was registered and the caller should make the request
+   */
+  private SharedRead joinRead(String key, SharedRead shared) {
+    SharedRead existing;
+    while ((existing = inFlightReads.putIfAbsent(key, shared)) != null && !existing.join()) {
+      // every caller of that read has cancelled, so replace it
+      inFlightReads.remove(key, existing);
+    }
+    return existing;
+  }
+
+  /**
+   * A caller stops waiting for a shared read, cancelling its call if nobody else is waiting
+   */
+  private void leaveRead(String key, SharedRead shared) {
+    if (shared.leave()) {
+      inFlightReads.remove(key, shared);
+      shared.cancel();
+    }
+  }
+
+  private Request newApiFileRequest(String url) {
+    Request.Builder builder = new Request.Builder().url(url);
+    addApiHeaderAuthorization(builder);
+    return builder.build();
+  }
+
+  /**
+   * Build a GET for a single record, made conditional on the cached copy if there is one
+   */
+  private RequestEnclosure newEntityRequest(String url) {
+    Request.Builder builder = new Request.Builder().url(url);
+    RequestEnclosure enclosure = new RequestEnclosure(builder, null);
+    if (entityCache == null) {
+      return enclosure;
+    }
+
+    enclosure.setCacheKey(url);
+    EntityCache.Entry entry = entityCache.get(url);
+    if (entry != null) {
+      enclosure.setCacheEntry(entry);
+      if (entry.getEtag() != null) {
+        builder.header("If-None-Match", entry.getEtag());
+      }
+      if (entry.getLastModified() != null) {
+        builder.header("If-Modified-Since", entry.getLastModified());
+      }
+    }
+    return enclosure;
+  }
+
+  private FileChannel openForWrite(String filePath) throws IOException {
+    return FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+  }
+
+  // the key identical reads share in inFlightReads. The same URL read raw and decoded are different results
+  private String readKey(String url, Type type) {
+    return type == null ? url : url + " " + type.getTypeName();
+  }
+
+  /**
+   * Add a failed request's transaction to the history if it wasn't sampled but failures are always recorded
+   */
+  private void recordFailure(Transaction txn, RequestEnclosure enclosure) {
+    if (Boolean.TRUE.equals(enclosure.getSampled()) || !transactionCaptureOnError || keepTransactions == 0) {
+      return;
+    }
+    if (captureMode == CaptureMode.FULL) {
+      txn.setRequestBody(truncateBody(enclosure.getRequestBody()));
+    }
+    transactions.add(txn);
+  }
+
+  /**
+   * Complete future with the outcome of started, and cancel started if future is cancelled first
+   */
+  private <T> void relay(CompletableFuture<T> started, CompletableFuture<T> future) {
+    future.whenComplete((result, e) -> {
+      if (future.isCancelled()) {
+        started.cancel(true);
+      }
+    });
+    started.whenComplete((result, e) -> {
+      if (e != null) {
+        future.completeExceptionally(e);
+      } else {
+        future.complete(result);
+      }
+    });
+  }
+
+  private void releaseSlot(AdaptiveLimiter limiter, long startNanos, boolean dropped) {
+    if (limiter != null) {
+      limiter.release(System.nanoTime() - startNanos, dropped);
+    }
+  }
+
+  /**
+   * Report the start of a request to the metrics, if any
+   *
+   * @return the request's endpoint label, or null if there are no metrics
+   */
+  private String startMetrics(Transaction txn) {
+    ClientMetrics metrics = this.metrics;
+    if (metrics == null) {
+      return null;
+    }
+    String endpoint = getEndpointLabel(txn.getRequestUrl());
+    try {
+      metrics.requestStarted(endpoint, txn.getRequestType());
+    } catch (RuntimeException e) {
+      logger.warn("startMetrics - ClientMetrics implementation threw, error = {}", e.toString());
+    }
+    return endpoint;
+  }
+
+  private RetryPolicy.Retry startRetry(RequestEnclosure enclosure) {
+    RetryPolicy policy = retryPolicy;
+    return policy == null ? null : policy.start(enclosure.getBuilder().getMethod$okhttp());
+  }
+
+  /**
+   * Creates a new {@link Transaction} and populates it with the request side of the exchange
+   */
+  private Transaction startTransaction(RequestEnclosure enclosure) {
+    okhttp3.Request.Builder builder = enclosure.getBuilder();
+    Transaction txn = new Transaction();
+    txn.setRequestUrl(builder.getUrl$okhttp().toString());
+    txn.setRequestType(builder.getMethod$okhttp());
+    // lets TransactionEventListener find the transaction to record timings in
+    builder.tag(Transaction.class, txn);
+
+    // the sampling decision is made once per request, so retries of a sampled request are all recorded
+    if (enclosure.getSampled() == null) {
+      enclosure.setSampled(isSampled());
+    }
+    if (enclosure.getSampled()) {
+      if (captureMode == CaptureMode.FULL) {
+        txn.setRequestBody(truncateBody(enclosure.getRequestBody()));
+      }
+      // the ring buffer drops the oldest transaction once keepTransactions are held
+      transactions.add(txn);
+    }
     return txn;
   }
 
+  private String truncateBody(String body) {
+    if (body == null || body.length() <= transactionBodyLimit) {
+      return body;
+    }
+    return body.substring(0, transactionBodyLimit) + Transaction.TRUNCATED_MARKER;
+  }
+
+  private void writeBody(Response response, WritableByteChannel target) throws IOException {
+    BufferedSource source = response.body().source();
+    if (target instanceof FileChannel) {
+      // let the file channel pull directly from okio's buffer rather than copying through one of our own
+      FileChannel channel = (FileChannel) target;
+      long position = channel.position();
+      long count;
+      while ((count = channel.transferFrom(source, position, DOWNLOAD_CHUNK_SIZE)) > 0) {
+        position += count;
+      }
+      channel.position(position);
+    } else {
+      ByteBuffer buffer = ByteBuffer.allocate(DOWNLOAD_BUFFER_SIZE);
+      while (source.read(buffer) != -1) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          target.write(buffer);
+        }
+        buffer.clear();
+      }
+    }
+  }
+
 }
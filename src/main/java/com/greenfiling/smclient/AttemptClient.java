@@ -1,5 +1,5 @@
 /**
- * Copyright 2021 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.Attempt;
@@ -39,28 +41,45 @@ public class AttemptClient extends ApiClient<AttemptBase, Attempt, AttemptSubmit
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Attempt> create(AttemptBase record) throws Exception {
     AttemptSubmit submitRecord = (record instanceof AttemptSubmit) ? (AttemptSubmit) record : new AttemptSubmit((Attempt) record);
-    return (Show<Attempt>) toShow(doCreateRequest(submitRecord));
+    return submitCreate(submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<Attempt>> createAsync(AttemptBase record) {
+    AttemptSubmit submitRecord = (record instanceof AttemptSubmit) ? (AttemptSubmit) record : new AttemptSubmit((Attempt) record);
+    return submitCreateAsync(submitRecord);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Attempt> getNext(Index<Attempt> index) throws Exception {
-    return (Index<Attempt>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<Attempt>> getNextAsync(Index<Attempt> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Attempt> index(FilterBase filter) throws Exception {
-    return (Index<Attempt>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<Attempt>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Attempt> show(Integer id) throws Exception {
-    return (Show<Attempt>) toShow(doShowRequest(id));
+    return fetchShow(id);
+  }
+
+  @Override
+  public CompletableFuture<Show<Attempt>> showAsync(Integer id) {
+    return fetchShowAsync(id);
   }
 
 }
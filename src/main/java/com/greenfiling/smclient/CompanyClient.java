@@ -1,5 +1,5 @@
 /**
- * Copyright 2024 Green Filing, LLC
+ * Copyright 2024-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.Company;
@@ -39,35 +41,57 @@ public class CompanyClient extends ApiClient<CompanyBase, Company, CompanySubmit
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Company> create(CompanyBase record) throws Exception {
     CompanySubmit submitRecord = (record instanceof CompanySubmit) ? (CompanySubmit) record : new CompanySubmit((Company) record);
-    return (Show<Company>) toShow(doCreateRequest(submitRecord));
+    return submitCreate(submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<Company>> createAsync(CompanyBase record) {
+    CompanySubmit submitRecord = (record instanceof CompanySubmit) ? (CompanySubmit) record : new CompanySubmit((Company) record);
+    return submitCreateAsync(submitRecord);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Company> getNext(Index<Company> index) throws Exception {
-    return (Index<Company>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<Company>> getNextAsync(Index<Company> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Company> index(FilterBase filter) throws Exception {
-    return (Index<Company>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<Company>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Company> show(Integer id) throws Exception {
-    return (Show<Company>) toShow(doShowRequest(id));
+    return fetchShow(id);
+  }
+
+  @Override
+  public CompletableFuture<Show<Company>> showAsync(Integer id) {
+    return fetchShowAsync(id);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Company> update(Integer id, CompanyBase record) throws Exception {
     CompanySubmit submitRecord = (record instanceof CompanySubmit) ? (CompanySubmit) record : new CompanySubmit((Company) record);
-    return (Show<Company>) toShow(doUpdateRequest(id, submitRecord));
+    return submitUpdate(id, submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<Company>> updateAsync(Integer id, CompanyBase record) {
+    CompanySubmit submitRecord = (record instanceof CompanySubmit) ? (CompanySubmit) record : new CompanySubmit((Company) record);
+    return submitUpdateAsync(id, submitRecord);
   }
 
 }
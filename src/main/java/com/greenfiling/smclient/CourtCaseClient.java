@@ -1,5 +1,5 @@
 /**
- * Copyright 2021 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.CourtCase;
@@ -39,28 +41,45 @@ public class CourtCaseClient extends ApiClient<CourtCaseBase, CourtCase, CourtCa
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<CourtCase> create(CourtCaseBase record) throws Exception {
     CourtCaseSubmit submitRecord = (record instanceof CourtCaseSubmit) ? (CourtCaseSubmit) record : new CourtCaseSubmit((CourtCase) record);
-    return (Show<CourtCase>) toShow(doCreateRequest(submitRecord));
+    return submitCreate(submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<CourtCase>> createAsync(CourtCaseBase record) {
+    CourtCaseSubmit submitRecord = (record instanceof CourtCaseSubmit) ? (CourtCaseSubmit) record : new CourtCaseSubmit((CourtCase) record);
+    return submitCreateAsync(submitRecord);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<CourtCase> getNext(Index<CourtCase> index) throws Exception {
-    return (Index<CourtCase>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<CourtCase>> getNextAsync(Index<CourtCase> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<CourtCase> index(FilterBase filter) throws Exception {
-    return (Index<CourtCase>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<CourtCase>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<CourtCase> show(Integer id) throws Exception {
-    return (Show<CourtCase>) toShow(doShowRequest(id));
+    return fetchShow(id);
+  }
+
+  @Override
+  public CompletableFuture<Show<CourtCase>> showAsync(Integer id) {
+    return fetchShowAsync(id);
   }
 
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2021 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.Court;
@@ -39,28 +41,45 @@ public class CourtClient extends ApiClient<CourtBase, Court, CourtSubmit> {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Court> create(CourtBase record) throws Exception {
     CourtSubmit submitRecord = (record instanceof CourtSubmit) ? (CourtSubmit) record : new CourtSubmit((Court) record);
-    return (Show<Court>) toShow(doCreateRequest(submitRecord));
+    return submitCreate(submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<Court>> createAsync(CourtBase record) {
+    CourtSubmit submitRecord = (record instanceof CourtSubmit) ? (CourtSubmit) record : new CourtSubmit((Court) record);
+    return submitCreateAsync(submitRecord);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Court> getNext(Index<Court> index) throws Exception {
-    return (Index<Court>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<Court>> getNextAsync(Index<Court> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Court> index(FilterBase filter) throws Exception {
-    return (Index<Court>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<Court>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Court> show(Integer id) throws Exception {
-    return (Show<Court>) toShow(doShowRequest(id));
+    return fetchShow(id);
+  }
+
+  @Override
+  public CompletableFuture<Show<Court>> showAsync(Integer id) {
+    return fetchShowAsync(id);
   }
 
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2021 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.Employee;
@@ -37,15 +39,23 @@ public class EmployeeClient extends ApiClient<Employee, Employee, Employee> {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Employee> getNext(Index<Employee> index) throws Exception {
-    return (Index<Employee>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<Employee>> getNextAsync(Index<Employee> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Employee> index(FilterBase filter) throws Exception {
-    return (Index<Employee>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<Employee>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2021 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -110,6 +110,25 @@ public class Exceptions {
     }
   }
 
+  /**
+   * Indicates that a page of results could not be fetched while streaming an index
+   * <P>
+   * Streams can't throw checked exceptions, so the exception the request failed with (eg {@link InvalidCredentialsException} or an IOException) is
+   * wrapped in this one and available as its cause.
+   *
+   * @since 1.0.15
+   */
+  public static class PageFetchException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * {@inheritDoc}
+     */
+    public PageFetchException(Throwable cause) {
+      super(cause);
+    }
+  }
+
   /**
    * Indicates that the requested record does not exist
    * <P>
@@ -128,4 +147,32 @@ public class Exceptions {
     }
   }
 
+  /**
+   * Indicates a response code the client has no more specific exception for, eg a 500 or 503
+   * <P>
+   * The response from the server is included in the exception's message, and the code is available from {@link #getResponseCode()}
+   *
+   * @since 1.0.15
+   */
+  public static class UnexpectedResponseException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int responseCode;
+
+    /**
+     * {@inheritDoc}
+     */
+    public UnexpectedResponseException(String message, int responseCode) {
+      super(message);
+      this.responseCode = responseCode;
+    }
+
+    /**
+     * @return the response's status code
+     */
+    public int getResponseCode() {
+      return responseCode;
+    }
+  }
+
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2021-2023 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,37 @@
 package com.greenfiling.smclient;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.reflect.TypeToken;
+import com.greenfiling.smclient.Exceptions.UnexpectedResponseException;
 import com.greenfiling.smclient.internal.ApiClient;
-import com.greenfiling.smclient.internal.JsonHandle;
+import com.greenfiling.smclient.internal.BulkResult;
+import com.greenfiling.smclient.internal.BulkRunner;
+import com.greenfiling.smclient.internal.RetryPolicy;
+import com.greenfiling.smclient.model.Attachment;
+import com.greenfiling.smclient.model.Document;
+import com.greenfiling.smclient.model.Invoice;
 import com.greenfiling.smclient.model.Job;
 import com.greenfiling.smclient.model.JobSubmit;
 import com.greenfiling.smclient.model.Note;
+import com.greenfiling.smclient.model.ServiceDocument;
 import com.greenfiling.smclient.model.Upload;
 import com.greenfiling.smclient.model.exchange.Index;
 import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.model.internal.DocumentBase;
 import com.greenfiling.smclient.model.internal.FilterBase;
 import com.greenfiling.smclient.model.internal.JobBase;
 
@@ -34,7 +55,193 @@ import okhttp3.MediaType;
 import okhttp3.RequestBody;
 
 public class JobClient extends ApiClient<JobBase, Job, JobSubmit> {
+  /**
+   * A downloadable file attached to a {@link Job}, see {@link JobClient#getArtifacts(Job)}
+   *
+   * @since 1.0.15
+   */
+  public static class Artifact {
+    /**
+     * Which part of the Job an Artifact came from
+     */
+    public enum Kind {
+      DOCUMENT,
+      DOCUMENT_TO_BE_SERVED,
+      MISC_ATTACHMENT,
+      INVOICE,
+      PROCESS_SERVER_INVOICE
+    }
+
+    private Kind kind;
+    private Integer id;
+    private String fileName;
+    private String url;
+    private boolean apiAuthenticated;
+
+    public Artifact(Kind kind, Integer id, String fileName, String url, boolean apiAuthenticated) {
+      this.kind = kind;
+      this.id = id;
+      this.fileName = fileName;
+      this.url = url;
+      this.apiAuthenticated = apiAuthenticated;
+    }
+
+    // The name the artifact is saved as by downloadAll(), unique within a job
+    public String getFileName() {
+      return fileName;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    public Kind getKind() {
+      return kind;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    // true if the url needs ServeManager API authentication (pdfDownloadUrl), false for short term upload links
+    public boolean isApiAuthenticated() {
+      return apiAuthenticated;
+    }
+
+    @Override
+    public String toString() {
+      return "Artifact [kind=" + kind + ", id=" + id + ", fileName=" + fileName + "]";
+    }
+  }
+
+  /**
+   * The outcome of {@link JobClient#createWithUploads(JobSubmit, Map, int)}
+   *
+   * @since 1.0.15
+   */
+  public static class UploadReport {
+    private Show<Job> job;
+    private List<BulkResult<String, Upload>> results;
+
+    public UploadReport(Show<Job> job, List<BulkResult<String, Upload>> results) {
+      this.job = job;
+      this.results = results;
+    }
+
+    // Only the uploads which did not succeed, after retries
+    public List<BulkResult<String, Upload>> getFailures() {
+      List<BulkResult<String, Upload>> failures = new ArrayList<BulkResult<String, Upload>>();
+      for (BulkResult<String, Upload> result : results) {
+        if (!result.isSuccess()) {
+          failures.add(result);
+        }
+      }
+      return failures;
+    }
+
+    // The job as returned by create, before any of the uploads were made
+    public Show<Job> getJob() {
+      return job;
+    }
+
+    // One result per uploaded file, keyed by file name, in the order the documents appear in the JobSubmit
+    public List<BulkResult<String, Upload>> getResults() {
+      return results;
+    }
+
+    public boolean isSuccess() {
+      return getFailures().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+      return "UploadReport [job=" + (job == null || job.getData() == null ? null : job.getData().getId()) + ", results=" + results + "]";
+    }
+  }
+
+  private static class PendingUpload {
+    private String fileName;
+    private File file;
+    private int index;
+    private Upload upload;
+
+    private PendingUpload(String fileName, File file, int index) {
+      this.fileName = fileName;
+      this.file = file;
+      this.index = index;
+    }
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(JobClient.class);
+  private static final long UPLOAD_RETRY_DELAY_MILLIS = 1000;
+
   public static final String ENDPOINT = "jobs";
+  /**
+   * Default number of attempts made at each upload by {@link #createWithUploads(JobSubmit, Map, int)}
+   */
+  public static final int DEFAULT_UPLOAD_ATTEMPTS = 3;
+
+  /**
+   * List every file attached to a job which can currently be downloaded
+   * <P>
+   * Includes documents (as PDFs), documents to be served and misc attachments which have an upload, and the invoice and process server invoice.
+   *
+   * @param job
+   *          the job to list files for, as returned by {@link #show(Integer)}
+   * @return the downloadable files, in the order listed above
+   * @since 1.0.15
+   */
+  public static List<Artifact> getArtifacts(Job job) {
+    List<Artifact> artifacts = new ArrayList<Artifact>();
+    if (job.getDocuments() != null) {
+      for (Document doc : job.getDocuments()) {
+        if (doc.getPdfDownloadUrl() != null) {
+          artifacts.add(newArtifact(Artifact.Kind.DOCUMENT, doc.getId(), withPdfExtension(doc.getTitle()), doc.getPdfDownloadUrl(), true));
+        }
+      }
+    }
+    if (job.getDocumentsToBeServed() != null) {
+      for (ServiceDocument doc : job.getDocumentsToBeServed()) {
+        addUploadArtifact(artifacts, Artifact.Kind.DOCUMENT_TO_BE_SERVED, doc.getId(), doc.getTitle(), doc.getUpload());
+      }
+    }
+    if (job.getMiscAttachments() != null) {
+      for (Attachment attachment : job.getMiscAttachments()) {
+        addUploadArtifact(artifacts, Artifact.Kind.MISC_ATTACHMENT, attachment.getId(), attachment.getTitle(), attachment.getUpload());
+      }
+    }
+    addInvoiceArtifact(artifacts, Artifact.Kind.INVOICE, job.getInvoice());
+    addInvoiceArtifact(artifacts, Artifact.Kind.PROCESS_SERVER_INVOICE, job.getProcessServerInvoice());
+    return artifacts;
+  }
+
+  private static void addInvoiceArtifact(List<Artifact> artifacts, Artifact.Kind kind, Invoice invoice) {
+    if (invoice != null && invoice.getPdfDownloadUrl() != null) {
+      artifacts.add(newArtifact(kind, invoice.getId(), "invoice.pdf", invoice.getPdfDownloadUrl(), true));
+    }
+  }
+
+  private static void addUploadArtifact(List<Artifact> artifacts, Artifact.Kind kind, Integer id, String title, Upload upload) {
+    if (upload == null || upload.getLinks() == null || upload.getLinks().getDownloadUrl() == null) {
+      return;
+    }
+    String name = upload.getFileName() != null ? upload.getFileName() : title;
+    artifacts.add(newArtifact(kind, id, name, upload.getLinks().getDownloadUrl(), false));
+  }
+
+  private static Artifact newArtifact(Artifact.Kind kind, Integer id, String name, String url, boolean apiAuthenticated) {
+    // prefix with kind and id so two attachments with the same title don't overwrite each other
+    String safeName = (name == null || name.trim().isEmpty() ? "file" : name.trim()).replaceAll("[^A-Za-z0-9._-]+", "_");
+    String fileName = kind.name().toLowerCase().replace('_', '-') + "-" + id + "-" + safeName;
+    return new Artifact(kind, id, fileName, url, apiAuthenticated);
+  }
+
+  private static String withPdfExtension(String name) {
+    if (name == null) {
+      return "document.pdf";
+    }
+    return name.toLowerCase().endsWith(".pdf") ? name : name + ".pdf";
+  }
 
   public JobClient(ApiHandle handle) {
     super(handle);
@@ -63,10 +270,106 @@ public class JobClient extends ApiClient<JobBase, Job, JobSubmit> {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Job> create(JobBase record) throws Exception {
     JobSubmit submitRecord = (record instanceof JobSubmit) ? (JobSubmit) record : new JobSubmit((Job) record);
-    return (Show<Job>) toShow(doCreateRequest(submitRecord));
+    return submitCreate(submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<Job>> createAsync(JobBase record) {
+    JobSubmit submitRecord = (record instanceof JobSubmit) ? (JobSubmit) record : new JobSubmit((Job) record);
+    return submitCreateAsync(submitRecord);
+  }
+
+  /**
+   * Create a job and upload the files for its documents, several at a time
+   * <P>
+   * The API only provides an upload link for a document once the job has been created, so this creates the job and then uploads every file in files
+   * concurrently, with at most parallelism uploads running at once. files is keyed by the file name set on a document to be served or misc
+   * attachment with setFileName(). Every key must match such a document and every file must be readable, otherwise the job is not created.
+   *
+   * @param job
+   *          the job to create
+   * @param files
+   *          the file to upload for each document, keyed by the document's file name
+   * @param parallelism
+   *          the maximum number of files to upload at the same time
+   * @return a report holding the created job and the result of each upload
+   * @throws Exception
+   *           see {@link #create(JobBase)}. Upload failures are reported in the {@link UploadReport} instead
+   * @since 1.0.15
+   */
+  public UploadReport createWithUploads(JobSubmit job, Map<String, File> files, int parallelism) throws Exception {
+    return createWithUploads(job, files, parallelism, DEFAULT_UPLOAD_ATTEMPTS);
+  }
+
+  /**
+   * Create a job and upload the files for its documents, several at a time
+   * <P>
+   * As {@link #createWithUploads(JobSubmit, Map, int)}, but with control over retries. An upload which fails with a network error, or with a response
+   * meaning the server is temporarily unable to handle it (429, 502, 503 or 504, see {@link RetryPolicy#isRetryable(int)}), is retried with a growing
+   * delay, up to maxAttempts times in all. The uploads share one retry budget, see {@link RetryPolicy}. Other failures, including those the API reports
+   * explicitly (eg {@link Exceptions.AccessForbiddenException} for an expired upload link), are not retried.
+   *
+   * @param job
+   *          the job to create
+   * @param files
+   *          the file to upload for each document, keyed by the document's file name
+   * @param parallelism
+   *          the maximum number of files to upload at the same time
+   * @param maxAttempts
+   *          the maximum number of times to try each upload. Must be at least 1
+   * @return a report holding the created job and the result of each upload
+   * @throws Exception
+   *           see {@link #create(JobBase)}. Upload failures are reported in the {@link UploadReport} instead
+   * @since 1.0.15
+   */
+  public UploadReport createWithUploads(JobSubmit job, Map<String, File> files, int parallelism, int maxAttempts) throws Exception {
+    if (job == null) {
+      throw new IllegalStateException("job null");
+    }
+    if (files == null) {
+      throw new IllegalStateException("files null");
+    }
+    if (maxAttempts < 1) {
+      throw new IllegalStateException("maxAttempts must be at least 1");
+    }
+
+    List<PendingUpload> serviceUploads = findPendingUploads(job.getDocumentsToBeServedAttributes(), files);
+    List<PendingUpload> attachmentUploads = findPendingUploads(job.getMiscAttachmentsAttributes(), files);
+    Set<String> matched = new HashSet<String>();
+    for (PendingUpload pending : serviceUploads) {
+      matched.add(pending.fileName);
+    }
+    for (PendingUpload pending : attachmentUploads) {
+      matched.add(pending.fileName);
+    }
+    for (Map.Entry<String, File> entry : files.entrySet()) {
+      if (!matched.contains(entry.getKey())) {
+        throw new IllegalStateException("no document with file name " + entry.getKey());
+      }
+      if (entry.getValue() == null || !entry.getValue().canRead()) {
+        throw new IllegalStateException("file for " + entry.getKey() + " is not readable");
+      }
+    }
+
+    Show<Job> created = create(job);
+
+    // The created job lists its documents in the order they were submitted
+    List<PendingUpload> pendingUploads = new ArrayList<PendingUpload>();
+    assignUploads(serviceUploads, created.getData().getDocumentsToBeServed(), pendingUploads);
+    assignUploads(attachmentUploads, created.getData().getMiscAttachments(), pendingUploads);
+
+    RetryPolicy retryPolicy = new RetryPolicy.Builder().maxAttempts(maxAttempts).baseDelay(UPLOAD_RETRY_DELAY_MILLIS).retryWrites(true).build();
+    List<BulkResult<PendingUpload, Upload>> uploadResults = BulkRunner.run(getHandle().getExecutor(), pendingUploads, parallelism, false,
+        pending -> uploadWithRetries(pending, retryPolicy));
+
+    List<BulkResult<String, Upload>> results = new ArrayList<BulkResult<String, Upload>>();
+    for (BulkResult<PendingUpload, Upload> result : uploadResults) {
+      String fileName = result.getItem().fileName;
+      results.add(result.isSuccess() ? BulkResult.success(fileName, result.getResult()) : BulkResult.failure(fileName, result.getException()));
+    }
+    return new UploadReport(created, results);
   }
 
   // Create a note. Notes is confusing but ultimately I decided that it should go into the client class that is the api base URL.
@@ -83,10 +386,9 @@ public class JobClient extends ApiClient<JobBase, Job, JobSubmit> {
 
     Show<Note> showRecord = new Show<Note>(record);
     String url = makeShowBaseUrl(jobId) + "/notes";
-    String responseJson = getHandle().doPost(url, showRecord);
 
     // @formatter:off
-    return JsonHandle.get().getGson().fromJson(responseJson, new TypeToken<Show<Note>>() {}.getType());
+    return getHandle().doPost(url, showRecord, new TypeToken<Show<Note>>() {}.getType());
     // @formatter:on
   }
 
@@ -96,16 +398,62 @@ public class JobClient extends ApiClient<JobBase, Job, JobSubmit> {
     return createNote(jobId, record);
   }
 
+  /**
+   * Download every file attached to a job into a directory, several at a time
+   * <P>
+   * Each file from {@link #getArtifacts(Job)} is saved as dir/{@link Artifact#getFileName()}, using API authentication only for the files that need
+   * it. Downloads are streamed and run on {@link ApiHandle#getExecutor()}, with at most parallelism running at once. A failed download does not stop
+   * the others.
+   *
+   * @param job
+   *          the job to download files for, as returned by {@link #show(Integer)}
+   * @param dir
+   *          directory to save files to. It is created if it does not exist
+   * @param parallelism
+   *          the maximum number of files to download at the same time
+   * @return one result per file, holding the path it was saved to or the exception it failed with
+   * @throws Exception
+   *           thrown if dir cannot be created or the calling thread is interrupted. Download failures are reported in the results instead
+   * @since 1.0.15
+   */
+  public List<BulkResult<Artifact, Path>> downloadAll(Job job, Path dir, int parallelism) throws Exception {
+    if (job == null) {
+      throw new IllegalStateException("job null");
+    }
+    if (dir == null) {
+      throw new IllegalStateException("dir null");
+    }
+
+    Files.createDirectories(dir);
+    return BulkRunner.run(getHandle().getExecutor(), getArtifacts(job), parallelism, false, artifact -> {
+      Path path = dir.resolve(artifact.getFileName());
+      if (artifact.isApiAuthenticated()) {
+        getFileApi(artifact.getUrl(), path.toString());
+      } else {
+        getFile(artifact.getUrl(), path.toString());
+      }
+      return path;
+    });
+  }
+
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Job> getNext(Index<Job> index) throws Exception {
-    return (Index<Job>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<Job>> getNextAsync(Index<Job> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Job> index(FilterBase filter) throws Exception {
-    return (Index<Job>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<Job>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
   // This gets all Notes associated with the given JobId
@@ -117,26 +465,98 @@ public class JobClient extends ApiClient<JobBase, Job, JobSubmit> {
     }
 
     String url = makeShowBaseUrl(jobId) + "/notes";
-    String responseJson = getHandle().doGet(url);
 
     // @formatter:off
-    return JsonHandle.get().getGson().fromJson(responseJson, new TypeToken<Index<Note>>() {}.getType());
+    return getHandle().doGet(url, new TypeToken<Index<Note>>() {}.getType());
     // @formatter:on
   }
 
   // =================
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Job> show(Integer id) throws Exception {
-    return (Show<Job>) toShow(doShowRequest(id));
+    return fetchShow(id);
+  }
+
+  @Override
+  public CompletableFuture<Show<Job>> showAsync(Integer id) {
+    return fetchShowAsync(id);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<Job> update(Integer id, JobBase record) throws Exception {
     JobSubmit submitRecord = (record instanceof JobSubmit) ? (JobSubmit) record : new JobSubmit((Job) record);
-    return (Show<Job>) toShow(doUpdateRequest(id, submitRecord));
+    return submitUpdate(id, submitRecord);
+  }
+
+  @Override
+  public CompletableFuture<Show<Job>> updateAsync(Integer id, JobBase record) {
+    JobSubmit submitRecord = (record instanceof JobSubmit) ? (JobSubmit) record : new JobSubmit((Job) record);
+    return submitUpdateAsync(id, submitRecord);
   }
 
+  private void assignUploads(List<PendingUpload> pendingUploads, List<? extends DocumentBase> createdDocs, List<PendingUpload> assigned) {
+    for (PendingUpload pending : pendingUploads) {
+      Upload upload = null;
+      if (createdDocs != null && pending.index < createdDocs.size()) {
+        DocumentBase doc = createdDocs.get(pending.index);
+        upload = doc instanceof ServiceDocument ? ((ServiceDocument) doc).getUpload() : ((Attachment) doc).getUpload();
+      }
+      pending.upload = upload;
+      assigned.add(pending);
+    }
+  }
+
+  private List<PendingUpload> findPendingUploads(List<? extends DocumentBase> docs, Map<String, File> files) {
+    List<PendingUpload> pendingUploads = new ArrayList<PendingUpload>();
+    if (docs == null) {
+      return pendingUploads;
+    }
+    for (int i = 0; i < docs.size(); i++) {
+      String fileName = docs.get(i).getFileName();
+      if (fileName != null && files.containsKey(fileName)) {
+        pendingUploads.add(new PendingUpload(fileName, files.get(fileName), i));
+      }
+    }
+    return pendingUploads;
+  }
+
+  private long retryDelayMillis(RetryPolicy.Retry retry, Exception e) {
+    // network problems and unexpected response codes go to the policy, the other typed exceptions mean the server understood the request and said no,
+    // so trying again won't help
+    if (e instanceof IOException) {
+      return retry.nextDelayMillis((IOException) e);
+    }
+    if (e instanceof UnexpectedResponseException) {
+      return retry.nextDelayMillis(((UnexpectedResponseException) e).getResponseCode(), null);
+    }
+    return -1;
+  }
+
+  private Upload uploadWithRetries(PendingUpload pending, RetryPolicy retryPolicy) throws Exception {
+    if (pending.upload == null || pending.upload.getLinks() == null || pending.upload.getLinks().getPutUrl() == null) {
+      throw new IllegalStateException("no upload link returned for " + pending.fileName);
+    }
+
+    String contentType = URLConnection.guessContentTypeFromName(pending.file.getName());
+    if (contentType == null) {
+      contentType = "application/octet-stream";
+    }
+
+    RetryPolicy.Retry retry = retryPolicy.start("PUT");
+    while (true) {
+      try {
+        completeUpload(pending.upload, contentType, pending.file);
+        return pending.upload;
+      } catch (Exception e) {
+        int attempt = retry.getAttempts();
+        long delay = retryDelayMillis(retry, e);
+        if (delay < 0) {
+          throw e;
+        }
+        logger.debug("uploadWithRetries - attempt {} for {} failed ({}), retrying in {}ms", attempt, pending.fileName, e.toString(), delay);
+        Thread.sleep(delay);
+      }
+    }
+  }
 }
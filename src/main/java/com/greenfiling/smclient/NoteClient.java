@@ -1,5 +1,5 @@
 /**
- * Copyright 2021-2023 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.Note;
@@ -36,17 +38,25 @@ public class NoteClient extends ApiClient<Note, Note, Note> {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Note> getNext(Index<Note> index) throws Exception {
-    return (Index<Note>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<Note>> getNextAsync(Index<Note> index) {
+    return fetchNextAsync(index);
   }
 
   // Because notes.index doesn't support filtering, we'll override the version that doesn't use a filter. That will leave the version with a filter
   // throwing an unimplemented exception
   @Override
-  @SuppressWarnings("unchecked")
   public Index<Note> index() throws Exception {
-    return (Index<Note>) toIndex(doIndexRequest(null));
+    return fetchIndex(null);
+  }
+
+  @Override
+  public CompletableFuture<Index<Note>> indexAsync() {
+    return fetchIndexAsync(null);
   }
 
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2023 Green Filing, LLC
+ * Copyright 2023-2026 Green Filing, LLC
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package com.greenfiling.smclient;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.google.gson.reflect.TypeToken;
 import com.greenfiling.smclient.internal.ApiClient;
 import com.greenfiling.smclient.model.SupplierCost;
@@ -37,20 +39,32 @@ public class SupplierCostClient extends ApiClient<SupplierCost, SupplierCost, Su
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<SupplierCost> getNext(Index<SupplierCost> index) throws Exception {
-    return (Index<SupplierCost>) toIndex(doGetNext(index));
+    return fetchNext(index);
+  }
+
+  @Override
+  public CompletableFuture<Index<SupplierCost>> getNextAsync(Index<SupplierCost> index) {
+    return fetchNextAsync(index);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Index<SupplierCost> index(FilterBase filter) throws Exception {
-    return (Index<SupplierCost>) toIndex(doIndexRequest(filter));
+    return fetchIndex(filter);
+  }
+
+  @Override
+  public CompletableFuture<Index<SupplierCost>> indexAsync(FilterBase filter) {
+    return fetchIndexAsync(filter);
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Show<SupplierCost> show(Integer id) throws Exception {
-    return (Show<SupplierCost>) toShow(doShowRequest(id));
+    return fetchShow(id);
+  }
+
+  @Override
+  public CompletableFuture<Show<SupplierCost>> showAsync(Integer id) {
+    return fetchShowAsync(id);
   }
 }
@@ -0,0 +1,249 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * A concurrency limit which adapts to the latency the server is showing
+ * <P>
+ * The limit follows an AIMD (additive increase, multiplicative decrease) rule driven by round trip time. The lowest RTT seen is taken as the
+ * server's unloaded latency. While RTT stays within {@link #TOLERANCE} times that baseline and the limit is actually being used, the limit grows by
+ * about one per limit's worth of completed requests. When both the latest and the smoothed RTT rise past it, or a request is dropped (a network
+ * error or a throttling response), the limit is cut by {@link #BACKOFF_RATIO}, at most once per limit's worth of requests. The baseline is
+ * periodically reset to the current smoothed RTT so that a permanent change in the server's latency is eventually accepted rather than punished
+ * forever.
+ * <P>
+ * Requests acquire a slot before being sent and release it, with their RTT, when the response headers arrive. When all slots are taken, synchronous
+ * callers block and asynchronous requests are queued, both in arrival order.
+ * <P>
+ * Used by {@link ApiHandle} when configured with {@link ApiHandle.Builder#adaptiveConcurrency(int, int)}, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class AdaptiveLimiter {
+  private static final Logger logger = LoggerFactory.getLogger(AdaptiveLimiter.class);
+
+  /**
+   * How much slower than the baseline the smoothed RTT may get before the limit is reduced
+   */
+  public static final double TOLERANCE = 2.0;
+  /**
+   * Factor applied to the limit when latency rises or a request is dropped
+   */
+  public static final double BACKOFF_RATIO = 0.9;
+  /**
+   * Latency differences smaller than this are treated as noise, so very fast responses (eg on a LAN) don't make the limit twitchy
+   */
+  public static final long RTT_SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  /**
+   * How many samples are taken between resets of the RTT baseline
+   */
+  public static final int BASELINE_RESET_SAMPLES = 500;
+  private static final double SMOOTHING = 0.25;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final ArrayDeque<Runnable> waiting = new ArrayDeque<Runnable>();
+  private double limit;
+  private int inFlight;
+  private long baselineRttNanos = Long.MAX_VALUE;
+  private double smoothedRttNanos = -1;
+  private long samples;
+  private long nextDecreaseSample;
+
+  /**
+   * @param initialLimit
+   *          the limit to start at
+   * @param minLimit
+   *          the limit is never reduced below this, must be at least 1
+   * @param maxLimit
+   *          the limit is never raised above this
+   */
+  public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalStateException("limits must satisfy 1 <= minLimit <= maxLimit");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /**
+   * Take a slot, blocking until one is free
+   *
+   * @throws InterruptedException
+   *           if interrupted while waiting, in which case no slot is held
+   */
+  public void acquire() throws InterruptedException {
+    CountDownLatch granted = new CountDownLatch(1);
+    Runnable grant = granted::countDown;
+    synchronized (this) {
+      if (waiting.isEmpty() && inFlight < getLimit()) {
+        inFlight++;
+        return;
+      }
+      waiting.add(grant);
+    }
+
+    try {
+      granted.await();
+    } catch (InterruptedException e) {
+      synchronized (this) {
+        if (waiting.remove(grant)) {
+          throw e;
+        }
+      }
+      // the slot was handed over as we were interrupted, give it back
+      releaseUnused();
+      throw e;
+    }
+  }
+
+  /**
+   * Take a slot without blocking
+   * <P>
+   * onAcquired is run, holding the slot, as soon as one is free: immediately on the calling thread if possible, otherwise on the thread which frees
+   * one. It must not block and must eventually lead to {@link #release(long, boolean)} or {@link #releaseUnused()}.
+   *
+   * @param onAcquired
+   *          the work to start once a slot is held
+   */
+  public void acquireAsync(Runnable onAcquired) {
+    synchronized (this) {
+      if (!waiting.isEmpty() || inFlight >= getLimit()) {
+        waiting.add(onAcquired);
+        return;
+      }
+      inFlight++;
+    }
+    onAcquired.run();
+  }
+
+  /**
+   * @return the number of slots currently held
+   */
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * @return the current concurrency limit
+   */
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Give back a slot and record how the request went
+   *
+   * @param rttNanos
+   *          the time from sending the request to receiving the response headers
+   * @param dropped
+   *          true if the request failed in a way that suggests overload, eg a network error or a 429 or 503 response
+   */
+  public void release(long rttNanos, boolean dropped) {
+    List<Runnable> granted;
+    synchronized (this) {
+      inFlight--;
+      update(rttNanos, dropped);
+      granted = grantWaiting();
+    }
+    runAll(granted);
+  }
+
+  /**
+   * Give back a slot without recording a sample, eg when a request was cancelled before it was sent
+   */
+  public void releaseUnused() {
+    List<Runnable> granted;
+    synchronized (this) {
+      inFlight--;
+      granted = grantWaiting();
+    }
+    runAll(granted);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "AdaptiveLimiter [limit=" + getLimit() + ", inFlight=" + inFlight + ", baselineRttNanos=" + baselineRttNanos + ", smoothedRttNanos="
+        + (long) smoothedRttNanos + "]";
+  }
+
+  // must hold the lock
+  private List<Runnable> grantWaiting() {
+    List<Runnable> granted = new ArrayList<Runnable>();
+    while (!waiting.isEmpty() && inFlight < getLimit()) {
+      inFlight++;
+      granted.add(waiting.poll());
+    }
+    return granted;
+  }
+
+  private void runAll(List<Runnable> granted) {
+    for (Runnable runnable : granted) {
+      runnable.run();
+    }
+  }
+
+  // must hold the lock
+  private void update(long rttNanos, boolean dropped) {
+    double previous = limit;
+    samples++;
+
+    boolean slow = false;
+    if (!dropped) {
+      smoothedRttNanos = smoothedRttNanos < 0 ? rttNanos : smoothedRttNanos + SMOOTHING * (rttNanos - smoothedRttNanos);
+      if (rttNanos < baselineRttNanos) {
+        baselineRttNanos = rttNanos;
+      } else if (samples % BASELINE_RESET_SAMPLES == 0) {
+        baselineRttNanos = (long) smoothedRttNanos;
+      }
+
+      // requiring the sample as well as the average to be slow stops one slow outlier (eg connection setup) from dragging the limit down until the
+      // average decays
+      double threshold = Math.max(baselineRttNanos * TOLERANCE, baselineRttNanos + RTT_SLACK_NANOS);
+      slow = rttNanos > threshold && smoothedRttNanos > threshold;
+    }
+
+    if (dropped || slow) {
+      // like TCP, back off at most once per window of requests, since the rest of the window was sent before the last backoff took effect
+      if (samples >= nextDecreaseSample) {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        nextDecreaseSample = samples + (long) Math.ceil(limit);
+      }
+    } else if (inFlight + 1 >= limit / 2) {
+      // only grow when the limit is actually what's holding requests back
+      limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+
+    if ((int) previous != (int) limit) {
+      logger.debug("update - limit {} -> {}, rtt = {}us, smoothed = {}us, baseline = {}us, dropped = {}", (int) previous, (int) limit,
+          rttNanos / 1000, (long) smoothedRttNanos / 1000, baselineRttNanos / 1000, dropped);
+    }
+  }
+}
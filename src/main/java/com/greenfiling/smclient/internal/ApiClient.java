@@ -1,5 +1,5 @@
 /**
- * Copyright 2021-2023 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,16 @@
 
 package com.greenfiling.smclient.internal;
 
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +36,8 @@ import com.greenfiling.smclient.model.exchange.Index;
 import com.greenfiling.smclient.model.exchange.Show;
 import com.greenfiling.smclient.model.internal.FilterBase;
 
+import okhttp3.HttpUrl;
+
 /**
  * Base class for all Serve Manager API endpoints
  * 
@@ -44,6 +54,14 @@ import com.greenfiling.smclient.model.internal.FilterBase;
  */
 public abstract class ApiClient<BASE, READ, CREATE> {
   private static final Logger logger = LoggerFactory.getLogger(ApiClient.class);
+
+  /**
+   * The number of pages {@link #stream(FilterBase)} fetches ahead of the caller
+   *
+   * @since 1.0.15
+   */
+  public static final int DEFAULT_PREFETCH_PAGES = 2;
+
   private ApiHandle apiHandle = null;
   private String endpoint;
   private Type showType = null;
@@ -61,6 +79,77 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     throw new UnsupportedOperationException("The extending class did not implement the create method");
   }
 
+  /**
+   * Create many records, several at a time
+   * <P>
+   * Each record is created with {@link #create(Object)} on {@link ApiHandle#getExecutor()}, with at most parallelism requests running at once. A
+   * failed create does not stop the others. Combine with {@link ApiHandle.Builder#rateLimit(double, int)} and
+   * {@link ApiHandle.Builder#retryPolicy(RetryPolicy)} to stay within the server's limits.
+   *
+   * @param records
+   *          the records to create
+   * @param parallelism
+   *          the maximum number of records to create at the same time
+   * @return one result per record, in the order records iterates in, holding the created record or the exception it failed with
+   * @throws Exception
+   *           thrown if the calling thread is interrupted. Failed creates are reported in the results instead
+   * @since 1.0.15
+   */
+  public List<BulkResult<BASE, Show<READ>>> createAll(Collection<BASE> records, int parallelism) throws Exception {
+    return createAll(records, parallelism, false);
+  }
+
+  /**
+   * Create many records, several at a time, optionally stopping at the first failure
+   * <P>
+   * See {@link #createAll(Collection, int)}. If stopOnFailure is true no new creates are started once one has failed, and the records which were
+   * never attempted are reported as skipped. Creates already running when the failure happened still finish.
+   *
+   * @param records
+   *          the records to create
+   * @param parallelism
+   *          the maximum number of records to create at the same time
+   * @param stopOnFailure
+   *          true to stop starting new creates once one has failed
+   * @return one result per record, in the order records iterates in
+   * @throws Exception
+   *           thrown if the calling thread is interrupted. Failed creates are reported in the results instead
+   * @since 1.0.15
+   */
+  public List<BulkResult<BASE, Show<READ>>> createAll(Collection<BASE> records, int parallelism, boolean stopOnFailure) throws Exception {
+    if (records == null) {
+      throw new IllegalStateException("records null");
+    }
+    return BulkRunner.run(getHandle().getExecutor(), new ArrayList<BASE>(records), parallelism, stopOnFailure, this::create);
+  }
+
+  /**
+   * Asynchronous version of {@link #create(Object)}
+   * 
+   * @param record
+   *          the record to create
+   * @return a future which completes with the created record, or exceptionally with any exception {@link #create(Object)} would throw
+   * @since 1.0.15
+   */
+  public CompletableFuture<Show<READ>> createAsync(BASE record) {
+    throw new UnsupportedOperationException("The extending class did not implement the createAsync method");
+  }
+
+  /**
+   * Download an arbitrary URL and write it to an OutputStream, e.g. to proxy a document to another HTTP response
+   * 
+   * @param url
+   *          URL to download file from
+   * @param target
+   *          stream to write the contents of the download to. It is flushed but not closed
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void getFile(String url, OutputStream target) throws Exception {
+    getHandle().doGetFile(url, target);
+  }
+
   /**
    * Download an arbitrary URL as a file and save it to filePath
    * 
@@ -75,6 +164,36 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     getHandle().doGetFile(url, filePath);
   }
 
+  /**
+   * Download an arbitrary URL and write it to a WritableByteChannel
+   * 
+   * @param url
+   *          URL to download file from
+   * @param target
+   *          channel to write the contents of the download to. It is not closed
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void getFile(String url, WritableByteChannel target) throws Exception {
+    getHandle().doGetFile(url, target);
+  }
+
+  /**
+   * Download a URL with api authentication and write it to an OutputStream
+   * 
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param target
+   *          stream to write the contents of the download to. It is flushed but not closed
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void getFileApi(String url, OutputStream target) throws Exception {
+    getHandle().doGetFileApi(url, target);
+  }
+
   /**
    * Download a URL as a file with api authentication and save it to filePath
    * 
@@ -89,10 +208,70 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     getHandle().doGetFileApi(url, filePath);
   }
 
+  /**
+   * Download a URL with api authentication and write it to a WritableByteChannel
+   * 
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param target
+   *          channel to write the contents of the download to. It is not closed
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason
+   * @since 1.0.15
+   */
+  public void getFileApi(String url, WritableByteChannel target) throws Exception {
+    getHandle().doGetFileApi(url, target);
+  }
+
+  /**
+   * Download a URL as a file with api authentication and save it to filePath, continuing an earlier interrupted download of the same file where
+   * possible
+   * 
+   * @param url
+   *          URL to download file from (assumed to be protected by ServeManager API authentication)
+   * @param filePath
+   *          File on disk to save contents of download to
+   * @return the number of bytes that were reused from an earlier partial download
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason. The partial download is kept so a later call can resume it
+   * @since 1.0.15
+   */
+  public long getFileApiResumable(String url, String filePath) throws Exception {
+    return getHandle().doGetFileApiResumable(url, filePath);
+  }
+
+  /**
+   * Download an arbitrary URL as a file and save it to filePath, continuing an earlier interrupted download of the same file where possible
+   * 
+   * @param url
+   *          URL to download file from
+   * @param filePath
+   *          File on disk to save contents of download to
+   * @return the number of bytes that were reused from an earlier partial download
+   * @throws Exception
+   *           thrown if file cannot be downloaded for any reason. The partial download is kept so a later call can resume it
+   * @since 1.0.15
+   */
+  public long getFileResumable(String url, String filePath) throws Exception {
+    return getHandle().doGetFileResumable(url, filePath);
+  }
+
   public Index<READ> getNext(Index<READ> index) throws Exception {
     throw new UnsupportedOperationException("The extending class did not implement the getNext method");
   }
 
+  /**
+   * Asynchronous version of {@link #getNext(Index)}
+   * 
+   * @param index
+   *          the response to the initial {@link #indexAsync(FilterBase)} request or the last getNextAsync() call
+   * @return a future which completes with the next page of results, or with null if there are no more results
+   * @since 1.0.15
+   */
+  public CompletableFuture<Index<READ>> getNextAsync(Index<READ> index) {
+    throw new UnsupportedOperationException("The extending class did not implement the getNextAsync method");
+  }
+
   /**
    * Convenience method to get the {@link Transaction}s from the client's {@link ApiHandle}
    * 
@@ -111,6 +290,103 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     throw new UnsupportedOperationException("The extending class did not implement the index(filter) method");
   }
 
+  /**
+   * Read every page of an index, fetching several pages at a time
+   * <P>
+   * The first page is read with {@link #index(FilterBase)}, and the number of pages is taken from its {@link com.greenfiling.smclient.model.Links#getLast()
+   * last} link. The remaining pages are then requested directly by page number on {@link ApiHandle#getExecutor()}, with at most parallelism
+   * requests running at once, so a long scan is limited by bandwidth rather than by one round trip per page. If the server doesn't report a last
+   * page, the pages are followed one at a time with {@link #getNext(Index)} instead.
+   * <P>
+   * Records are returned in page order. Pages are read independently rather than by following next links, so records created, deleted or moved
+   * between pages while the scan runs may be missed or returned twice, just as they could be by a serial scan.
+   *
+   * @param filter
+   *          filter to apply to the request. Can be null. If it sets a page, the scan starts from that page
+   * @param parallelism
+   *          the maximum number of pages to fetch at the same time
+   * @return the records from every page
+   * @throws Exception
+   *           see {@link #show(Integer)} for explanation of possible exceptions. If any page fails, no more pages are started and the first failure is
+   *           thrown
+   * @since 1.0.15
+   */
+  public List<READ> indexAllParallel(FilterBase filter, int parallelism) throws Exception {
+    Index<READ> first = index(filter);
+    List<READ> records = new ArrayList<READ>();
+    if (first == null || first.getData() == null) {
+      return records;
+    }
+    records.addAll(first.getData());
+
+    HttpUrl lastUrl = first.getLinks() == null || first.getLinks().getLast() == null ? null : HttpUrl.parse(first.getLinks().getLast());
+    Integer lastPage = lastUrl == null ? null : parsePage(lastUrl.queryParameter("page"));
+    if (lastPage == null) {
+      logger.debug("indexAllParallel - no last page link, following next links");
+      for (Index<READ> page = getNext(first); page != null; page = getNext(page)) {
+        records.addAll(page.getData());
+      }
+      return records;
+    }
+
+    Integer firstPage = filter == null || filter.getPage() == null ? Integer.valueOf(1) : filter.getPage();
+    List<String> pageUrls = new ArrayList<String>();
+    for (int page = firstPage + 1; page <= lastPage; page++) {
+      // build on the server's own link so every other parameter is exactly as it paged the first request
+      pageUrls.add(lastUrl.newBuilder().setQueryParameter("page", Integer.toString(page)).build().toString());
+    }
+    logger.debug("indexAllParallel - fetching pages {} to {}", firstPage + 1, lastPage);
+
+    for (BulkResult<String, Index<READ>> result : BulkRunner.run(getHandle().getExecutor(), pageUrls, parallelism, true,
+        url -> getHandle().<Index<READ>> doGet(url, getIndexType()))) {
+      if (result.getException() != null) {
+        throw result.getException();
+      }
+      if (result.isSuccess() && result.getResult().getData() != null) {
+        records.addAll(result.getResult().getData());
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Asynchronous version of {@link #index()}
+   * 
+   * @return a future which completes with the first page of results
+   * @since 1.0.15
+   */
+  public CompletableFuture<Index<READ>> indexAsync() {
+    return indexAsync(null);
+  }
+
+  /**
+   * Asynchronous version of {@link #index(FilterBase)}
+   * 
+   * @param filter
+   *          filter to apply to the request. Can be null
+   * @return a future which completes with the first page of results
+   * @since 1.0.15
+   */
+  public CompletableFuture<Index<READ>> indexAsync(FilterBase filter) {
+    throw new UnsupportedOperationException("The extending class did not implement the indexAsync(filter) method");
+  }
+
+  /**
+   * Publish every record of an index to reactive subscribers, with backpressure
+   * <P>
+   * Pages are fetched with {@link #indexAsync(FilterBase)} and {@link #getNextAsync(Index)} only when the subscriber has asked for more records
+   * than have already been fetched, so a slow subscriber holds at most one page in memory, and cancelling stops further requests. See
+   * {@link IndexPublisher} for how to use it as a java.util.concurrent.Flow.Publisher.
+   *
+   * @param filter
+   *          filter to apply to the request. Can be null
+   * @return a publisher which reads the index again for each subscriber
+   * @since 1.0.15
+   */
+  public IndexPublisher<READ> publisher(FilterBase filter) {
+    return new IndexPublisher<READ>(() -> indexAsync(filter), this::getNextAsync, getHandle().getExecutor());
+  }
+
   public Show<READ> show(Integer id) throws Exception {
     throw new UnsupportedOperationException("The extending class did not implement the show method");
   }
@@ -119,10 +395,128 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     throw new UnsupportedOperationException("The extending class did not implement the show(filter) method");
   }
 
+  /**
+   * Asynchronous version of {@link #show(Integer)}
+   * 
+   * @param id
+   *          id of the record to show
+   * @return a future which completes with the requested record
+   * @since 1.0.15
+   */
+  public CompletableFuture<Show<READ>> showAsync(Integer id) {
+    throw new UnsupportedOperationException("The extending class did not implement the showAsync method");
+  }
+
+  /**
+   * Stream every record of an index, fetching pages in the background
+   * <P>
+   * Equivalent to {@link #stream(FilterBase, int)} with {@link #DEFAULT_PREFETCH_PAGES}.
+   *
+   * @param filter
+   *          filter to apply to the request. Can be null
+   * @return a sequential stream of the records on every page
+   * @since 1.0.15
+   */
+  public Stream<READ> stream(FilterBase filter) {
+    return stream(filter, DEFAULT_PREFETCH_PAGES);
+  }
+
+  /**
+   * Stream every record of an index, fetching pages in the background
+   * <P>
+   * This replaces the index()/getNext() loop. No request is made until the stream's first record is needed. After that, while the caller works
+   * through one page, up to prefetchPages following pages are requested with {@link #indexAsync(FilterBase)} and {@link #getNextAsync(Index)}, so
+   * network time overlaps with processing time. Closing the stream (eg with try-with-resources) stops further pages being requested, as does
+   * reaching the end.
+   * <P>
+   * <B>EXAMPLE:</B><BR>
+   * <code>
+   * try (Stream&lt;Job&gt; jobs = jobClient.stream(filter)) {<br>
+   * &nbsp;&nbsp;jobs.forEach(job -&gt; process(job));<br>
+   * }
+   * </code>
+   *
+   * @param filter
+   *          filter to apply to the request. Can be null
+   * @param prefetchPages
+   *          the maximum number of pages requested or buffered ahead of the page being consumed, at least 1
+   * @return a sequential stream of the records on every page. If a page can't be fetched, the stream throws a
+   *         {@link com.greenfiling.smclient.Exceptions.PageFetchException PageFetchException} wrapping the reason
+   * @since 1.0.15
+   */
+  public Stream<READ> stream(FilterBase filter, int prefetchPages) {
+    IndexSpliterator<READ> spliterator = new IndexSpliterator<READ>(() -> indexAsync(filter), this::getNextAsync, prefetchPages);
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
   public Show<READ> update(Integer id, BASE record) throws Exception {
     throw new UnsupportedOperationException("The extending class did not implement the update method");
   }
 
+  /**
+   * Update many records, several at a time
+   * <P>
+   * Each record is updated with {@link #update(Integer, Object)} on {@link ApiHandle#getExecutor()}, with at most parallelism requests running at
+   * once. A failed update does not stop the others.
+   *
+   * @param records
+   *          the fields to update, keyed by the id of the record to update. Use eg a LinkedHashMap to control the order of the results
+   * @param parallelism
+   *          the maximum number of records to update at the same time
+   * @return one result per entry, in the order records iterates in, holding the updated record or the exception it failed with
+   * @throws Exception
+   *           thrown if the calling thread is interrupted. Failed updates are reported in the results instead
+   * @since 1.0.15
+   */
+  public List<BulkResult<Map.Entry<Integer, BASE>, Show<READ>>> updateAll(Map<Integer, BASE> records, int parallelism) throws Exception {
+    return updateAll(records, parallelism, false);
+  }
+
+  /**
+   * Update many records, several at a time, optionally stopping at the first failure
+   * <P>
+   * See {@link #updateAll(Map, int)} and {@link #createAll(Collection, int, boolean)}.
+   *
+   * @param records
+   *          the fields to update, keyed by the id of the record to update
+   * @param parallelism
+   *          the maximum number of records to update at the same time
+   * @param stopOnFailure
+   *          true to stop starting new updates once one has failed
+   * @return one result per entry, in the order records iterates in
+   * @throws Exception
+   *           thrown if the calling thread is interrupted. Failed updates are reported in the results instead
+   * @since 1.0.15
+   */
+  public List<BulkResult<Map.Entry<Integer, BASE>, Show<READ>>> updateAll(Map<Integer, BASE> records, int parallelism, boolean stopOnFailure)
+      throws Exception {
+    if (records == null) {
+      throw new IllegalStateException("records null");
+    }
+    return BulkRunner.run(getHandle().getExecutor(), new ArrayList<Map.Entry<Integer, BASE>>(records.entrySet()), parallelism, stopOnFailure,
+        entry -> update(entry.getKey(), entry.getValue()));
+  }
+
+  /**
+   * Asynchronous version of {@link #update(Integer, Object)}
+   * 
+   * @param id
+   *          id of the record to update
+   * @param record
+   *          the fields to update
+   * @return a future which completes with the updated record
+   * @since 1.0.15
+   */
+  public CompletableFuture<Show<READ>> updateAsync(Integer id, BASE record) {
+    throw new UnsupportedOperationException("The extending class did not implement the updateAsync method");
+  }
+
+  private <T> CompletableFuture<T> failedFuture(Throwable e) {
+    CompletableFuture<T> future = new CompletableFuture<T>();
+    future.completeExceptionally(e);
+    return future;
+  }
+
   private String getEndpoint() {
     return this.endpoint;
   }
@@ -135,6 +529,10 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     return this.showType;
   }
 
+  private boolean hasNext(Index<READ> index) {
+    return !(index == null || index.getLinks() == null || index.getLinks().getNext() == null || index.getData() == null || index.getData().size() == 0);
+  }
+
   private String makeBaseUrl() {
     return apiHandle.getApiEndpointBase() + "/" + getEndpoint();
   }
@@ -147,6 +545,14 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     return baseUrl + "?" + filter;
   }
 
+  private Integer parsePage(String page) {
+    try {
+      return page == null ? null : Integer.valueOf(page);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
   private void setHandle(ApiHandle handle) {
     this.apiHandle = handle;
   }
@@ -159,7 +565,7 @@ public abstract class ApiClient<BASE, READ, CREATE> {
   }
 
   protected String doGetNext(Index<READ> index) throws Exception {
-    if (index == null || index.getLinks() == null || index.getLinks().getNext() == null || index.getData() == null || index.getData().size() == 0) {
+    if (!hasNext(index)) {
       return null;
     }
     String responseJson = getHandle().doGet(index.getLinks().getNext());
@@ -189,6 +595,66 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     return responseJson;
   }
 
+  /**
+   * Fetch the next page of an index, decoded directly from the response
+   * 
+   * @param index
+   *          the previous page
+   * @return the next page, or null if there are no more pages
+   * @throws Exception
+   *           see {@link #show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  protected Index<READ> fetchNext(Index<READ> index) throws Exception {
+    if (!hasNext(index)) {
+      return null;
+    }
+    return getHandle().doGet(index.getLinks().getNext(), getIndexType());
+  }
+
+  protected CompletableFuture<Index<READ>> fetchNextAsync(Index<READ> index) {
+    if (!hasNext(index)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return getHandle().doGetAsync(index.getLinks().getNext(), getIndexType());
+  }
+
+  /**
+   * Fetch the first page of an index, decoded directly from the response
+   * 
+   * @param filter
+   *          filter to apply to the request. Can be null
+   * @return the first page of results
+   * @throws Exception
+   *           see {@link #show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  protected Index<READ> fetchIndex(FilterBase filter) throws Exception {
+    return getHandle().doGet(makeIndexUrl(filter == null ? null : filter.getQueryString()), getIndexType());
+  }
+
+  protected CompletableFuture<Index<READ>> fetchIndexAsync(FilterBase filter) {
+    return getHandle().doGetAsync(makeIndexUrl(filter == null ? null : filter.getQueryString()), getIndexType());
+  }
+
+  /**
+   * Fetch a single record, decoded directly from the response
+   * 
+   * @param id
+   *          id of the record. Can be null for endpoints which only have one record
+   * @return the record
+   * @throws Exception
+   *           see {@link #show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  protected Show<READ> fetchShow(Integer id) throws Exception {
+    return getHandle().doGetEntity(makeShowUrl(id, null), getShowType());
+  }
+
+  protected CompletableFuture<Show<READ>> fetchShowAsync(Integer id) {
+    return getHandle().doGetEntityAsync(makeShowUrl(id, null), getShowType());
+  }
+
   protected ApiHandle getHandle() {
     return this.apiHandle;
   }
@@ -241,6 +707,50 @@ public abstract class ApiClient<BASE, READ, CREATE> {
     this.showType = showType;
   }
 
+  /**
+   * Create a record, decoding the response directly from the stream
+   * 
+   * @param record
+   *          the record to create
+   * @return the created record
+   * @throws Exception
+   *           see {@link #show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  protected Show<READ> submitCreate(CREATE record) throws Exception {
+    return getHandle().doPost(makeCreateUrl(), new Show<CREATE>(record), getShowType());
+  }
+
+  protected CompletableFuture<Show<READ>> submitCreateAsync(CREATE record) {
+    return getHandle().doPostAsync(makeCreateUrl(), new Show<CREATE>(record), getShowType());
+  }
+
+  /**
+   * Update a record, decoding the response directly from the stream
+   * 
+   * @param id
+   *          id of the record to update
+   * @param record
+   *          the fields to update
+   * @return the updated record
+   * @throws Exception
+   *           see {@link #show(Integer)} for explanation of possible exceptions
+   * @since 1.0.15
+   */
+  protected Show<READ> submitUpdate(Integer id, CREATE record) throws Exception {
+    return getHandle().doPut(makeUpdateUrl(id), new Show<CREATE>(record), getShowType());
+  }
+
+  protected CompletableFuture<Show<READ>> submitUpdateAsync(Integer id, CREATE record) {
+    String url;
+    try {
+      url = makeUpdateUrl(id);
+    } catch (Exception e) {
+      return failedFuture(e);
+    }
+    return getHandle().doPutAsync(url, new Show<CREATE>(record), getShowType());
+  }
+
   protected Index<?> toIndex(String json) {
     logger.trace("toIndex - type = {}, value = {}", getIndexType().toString(), json);
     Index<?> showPojo = JsonHandle.get().getGson().fromJson(json, getIndexType());
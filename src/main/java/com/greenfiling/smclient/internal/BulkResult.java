@@ -0,0 +1,91 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+/**
+ * The outcome of one item of a bulk operation
+ * <P>
+ * Bulk operations return one BulkResult per input item, in input order. Exactly one of these is true: {@link #isSuccess()}, in which case
+ * {@link #getResult()} holds the item's result; {@link #getException()} is not null, in which case the item failed; or {@link #isSkipped()}, in
+ * which case the item was never attempted because the operation was stopped early.
+ *
+ * @param <I>
+ *          The type of the input item
+ * @param <R>
+ *          The type of the item's result
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class BulkResult<I, R> {
+  public static <I, R> BulkResult<I, R> failure(I item, Exception exception) {
+    return new BulkResult<I, R>(item, null, exception, false);
+  }
+
+  public static <I, R> BulkResult<I, R> skipped(I item) {
+    return new BulkResult<I, R>(item, null, null, true);
+  }
+
+  public static <I, R> BulkResult<I, R> success(I item, R result) {
+    return new BulkResult<I, R>(item, result, null, false);
+  }
+
+  private I item;
+  private R result;
+  private Exception exception;
+  private boolean skipped;
+
+  private BulkResult(I item, R result, Exception exception, boolean skipped) {
+    this.item = item;
+    this.result = result;
+    this.exception = exception;
+    this.skipped = skipped;
+  }
+
+  /**
+   * @return the exception the item failed with, or null if it succeeded or was skipped
+   */
+  public Exception getException() {
+    return exception;
+  }
+
+  /**
+   * @return the input item this result is for
+   */
+  public I getItem() {
+    return item;
+  }
+
+  /**
+   * @return the item's result, or null if it failed or was skipped
+   */
+  public R getResult() {
+    return result;
+  }
+
+  public boolean isSkipped() {
+    return skipped;
+  }
+
+  public boolean isSuccess() {
+    return !skipped && exception == null;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkResult [item=" + item + ", result=" + result + ", exception=" + exception + ", skipped=" + skipped + "]";
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a task over a list of items with bounded parallelism
+ * <P>
+ * At most <code>parallelism</code> workers are started on the supplied executor, and each pulls the next unclaimed item until the list is exhausted.
+ * This keeps the number of concurrent requests bounded without needing a bounded executor, so it works the same on a shared platform thread pool or
+ * with virtual threads (see {@link ExecutorFactory}).
+ * <P>
+ * Should not be used directly, see eg {@link com.greenfiling.smclient.JobClient#downloadAll} or {@link ApiClient#createAll}
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class BulkRunner {
+  /**
+   * The work to perform for a single item
+   *
+   * @param <I>
+   *          The type of the input item
+   * @param <R>
+   *          The type of the item's result
+   */
+  public interface Task<I, R> {
+    R run(I item) throws Exception;
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkRunner.class);
+
+  /**
+   * Run task over every item and wait for all of them to finish
+   *
+   * @param <I>
+   *          The type of the input item
+   * @param <R>
+   *          The type of the item's result
+   * @param executor
+   *          the executor to run workers on
+   * @param items
+   *          the items to process
+   * @param parallelism
+   *          the maximum number of items processed at the same time. Must be at least 1
+   * @param stopOnFailure
+   *          if true, no new items are started once any item has failed. Items which were not started are reported as skipped
+   * @param task
+   *          the work to perform for each item
+   * @return one {@link BulkResult} per item, in the same order as items
+   * @throws InterruptedException
+   *           if the calling thread is interrupted while waiting. Workers stop picking up new items
+   */
+  public static <I, R> List<BulkResult<I, R>> run(ExecutorService executor, List<I> items, int parallelism, boolean stopOnFailure, Task<I, R> task)
+      throws InterruptedException {
+    if (parallelism < 1) {
+      throw new IllegalStateException("parallelism must be at least 1");
+    }
+
+    int size = items.size();
+    AtomicReferenceArray<BulkResult<I, R>> results = new AtomicReferenceArray<BulkResult<I, R>>(size);
+    AtomicInteger nextItem = new AtomicInteger();
+    AtomicBoolean stop = new AtomicBoolean(false);
+    int workers = Math.min(parallelism, size);
+    CountDownLatch done = new CountDownLatch(workers);
+
+    for (int w = 0; w < workers; w++) {
+      executor.execute(() -> {
+        try {
+          int i;
+          while (!stop.get() && (i = nextItem.getAndIncrement()) < size) {
+            I item = items.get(i);
+            try {
+              results.set(i, BulkResult.success(item, task.run(item)));
+            } catch (Exception e) {
+              logger.debug("run - item {} failed: {}", i, e.toString());
+              results.set(i, BulkResult.failure(item, e));
+              if (stopOnFailure) {
+                stop.set(true);
+              }
+            }
+          }
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      stop.set(true);
+      throw e;
+    }
+
+    List<BulkResult<I, R>> list = new ArrayList<BulkResult<I, R>>(size);
+    for (int i = 0; i < size; i++) {
+      BulkResult<I, R> result = results.get(i);
+      list.add(result != null ? result : BulkResult.skipped(items.get(i)));
+    }
+    return list;
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * A Reader which keeps a copy of the first characters read through it
+ * <P>
+ * Lets {@link ApiHandle} decode a response straight from the network stream while still recording the start of the body in the {@link Transaction},
+ * when {@link ApiHandle.Builder#transactionBodyLimit(int)} is set. Should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class CapturingReader extends FilterReader {
+  private final int limit;
+  private final StringBuilder captured = new StringBuilder();
+  private boolean truncated = false;
+
+  /**
+   * @param in
+   *          the reader to read from
+   * @param limit
+   *          the most characters to keep
+   */
+  public CapturingReader(Reader in, int limit) {
+    super(in);
+    this.limit = limit;
+  }
+
+  /**
+   * @return the characters read so far, up to the limit, followed by {@link Transaction#TRUNCATED_MARKER} if more than that was read
+   */
+  public String getCaptured() {
+    return truncated ? captured + Transaction.TRUNCATED_MARKER : captured.toString();
+  }
+
+  @Override
+  public int read() throws IOException {
+    int c = super.read();
+    if (c != -1) {
+      capture(new char[] { (char) c }, 0, 1);
+    }
+    return c;
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    int count = super.read(cbuf, off, len);
+    if (count > 0) {
+      capture(cbuf, off, count);
+    }
+    return count;
+  }
+
+  private void capture(char[] cbuf, int off, int count) {
+    int room = limit - captured.length();
+    if (count > room) {
+      truncated = true;
+    }
+    if (room > 0) {
+      captured.append(cbuf, off, Math.min(room, count));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * Receives a report of every request an {@link ApiHandle} makes
+ * <P>
+ * Implement this to feed the client's activity into a metrics system, and register it with {@link ApiHandle.Builder#metrics(ClientMetrics)}.
+ * {@link InMemoryClientMetrics} is a ready made implementation which keeps latency histograms and counters in memory.
+ * <P>
+ * Requests are labeled with an endpoint, which is the request path relative to the API endpoint base with numeric ids removed, for example
+ * <code>jobs</code> for both <code>/jobs</code> and <code>/jobs/123</code>, <code>jobs/attempts</code> for <code>/jobs/123/attempts</code>, and
+ * <code>itx/supplier_costs</code>. Requests to URLs outside the API (file uploads to storage links) are labeled {@link #EXTERNAL_ENDPOINT}.
+ * <P>
+ * Every call to {@link #requestStarted(String, String)} is followed by exactly one call to
+ * {@link #requestFinished(String, String, Integer, Throwable, long, long, long)}. Each retry of a request is reported as a request of its own. The
+ * methods are called on the threads making the requests, often many at once, so implementations must be thread safe and should return quickly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public interface ClientMetrics {
+  /**
+   * The endpoint label used for requests to URLs outside the API
+   */
+  public static final String EXTERNAL_ENDPOINT = "external";
+
+  /**
+   * Called just before a request is sent
+   *
+   * @param endpoint
+   *          the request's endpoint label
+   * @param method
+   *          the request's HTTP method
+   */
+  void requestStarted(String endpoint, String method);
+
+  /**
+   * Called when a request has finished, successfully or not
+   *
+   * @param endpoint
+   *          the request's endpoint label
+   * @param method
+   *          the request's HTTP method
+   * @param responseCode
+   *          the response's status code, or null if no response was received
+   * @param error
+   *          the exception the request failed with, for example one of the {@link com.greenfiling.smclient.Exceptions Exceptions} or an
+   *          IOException, or null if it succeeded
+   * @param latencyNanos
+   *          nanoseconds from sending the request until the response was decoded or the request failed
+   * @param bytesSent
+   *          the size of the request body, or 0 if unknown
+   * @param bytesReceived
+   *          the size of the response body, or 0 if unknown. Body sizes are only known when
+   *          {@link ApiHandle.Builder#transactionTimings(boolean)} is enabled
+   */
+  void requestFinished(String endpoint, String method, Integer responseCode, Throwable error, long latencyNanos, long bytesSent, long bytesReceived);
+}
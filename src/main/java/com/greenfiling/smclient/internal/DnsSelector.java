@@ -1,6 +1,6 @@
 /**
- * Copyright 2021-2023 Green Filing, LLC
- * 
+ * Copyright 2021-2026 Green Filing, LLC
+ *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
@@ -16,12 +16,23 @@
 
 package com.greenfiling.smclient.internal;
 
+import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,23 +41,31 @@ import com.greenfiling.smclient.ApiHandle;
 
 /**
  * Custom {@link okhttp3.Dns} for {@link ApiHandle}.
- * 
- * This class exists solely to allow users of servemanager-client to specify IP version preferences. See {@link ApiHandle.Builder#ipMode(IpMode)} and
+ *
+ * This class exists to allow users of servemanager-client to specify IP version preferences. See {@link ApiHandle.Builder#ipMode(IpMode)} and
  * {@link IpMode}.
- * 
+ * <P>
+ * Lookups can also be cached. A cached lookup is served from memory until it is {@link #REFRESH_FRACTION} of the way through its time to live, then
+ * it is still served from memory while it is re-resolved in the background, so a busy client never waits on the resolver once a host is known. Only
+ * a lookup which has outlived its time to live entirely (eg because the host wasn't used for a while, or a background refresh failed) is resolved
+ * again in the calling thread. The resolver doesn't report record TTLs, so every host is cached for the same configured time.
+ *
  * @author jetmore
  * @since 1.0.1
  */
 public class DnsSelector implements okhttp3.Dns {
   /**
    * The IpMode enum is used to specify IP version preferences when connecting to remote websites
-   * 
+   *
    * <UL>
    * <LI><B>SYSTEM</B> - the default order, defined by local system resolver</LI>
    * <LI><B>IPV4_ONLY</B> - only attempt connections to IPv4 addresses</LI>
    * <LI><B>IPV6_ONLY</B> - only attempt connections to IPv6 addresses</LI>
    * <LI><B>IPV4_FIRST</B> - attempt connections to both v4 and v6 addresses, but try IPv4 addresses first</LI>
    * <LI><B>IPV6_FIRST</B> - attempt connections to both v4 and v6 addresses, but try IPv6 addresses first</LI>
+   * <LI><B>HAPPY_EYEBALLS</B> - race connections to v4 and v6 addresses as described in RFC 8305, starting a new attempt every
+   * {@link DnsSelector#CONNECTION_ATTEMPT_DELAY_MILLIS} (or as soon as the previous one fails), and try the address which connected first. Since
+   * 1.0.15</LI>
    * </UL>
    */
   public enum IpMode {
@@ -54,23 +73,133 @@ public class DnsSelector implements okhttp3.Dns {
     IPV6_FIRST,
     IPV4_FIRST,
     IPV6_ONLY,
-    IPV4_ONLY
+    IPV4_ONLY,
+    HAPPY_EYEBALLS
+  }
+
+  private static class CacheEntry {
+    private final List<InetAddress> addresses;
+    private final long resolvedNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private CacheEntry(List<InetAddress> addresses, long resolvedNanos) {
+      this.addresses = addresses;
+      this.resolvedNanos = resolvedNanos;
+    }
   }
 
   private static final Logger logger = LoggerFactory.getLogger(DnsSelector.class);
+
+  /**
+   * The delay between starting connection attempts in {@link IpMode#HAPPY_EYEBALLS} mode, the value recommended by RFC 8305
+   *
+   * @since 1.0.15
+   */
+  public static final long CONNECTION_ATTEMPT_DELAY_MILLIS = 250;
+  /**
+   * How long {@link IpMode#HAPPY_EYEBALLS} waits for any address to connect before giving up and returning all of them, interleaved by family
+   *
+   * @since 1.0.15
+   */
+  public static final long RACE_TIMEOUT_MILLIS = 10000;
+  /**
+   * The port raced to in {@link IpMode#HAPPY_EYEBALLS} mode if none is given
+   *
+   * @since 1.0.15
+   */
+  public static final int DEFAULT_PROBE_PORT = 443;
+  /**
+   * How far through its time to live a cached lookup is refreshed in the background
+   *
+   * @since 1.0.15
+   */
+  public static final double REFRESH_FRACTION = 0.75;
+
+  private static final ExecutorService executor = ExecutorFactory.newPlatformThreadExecutor("smclient-dns");
+
+  /**
+   * Order the addresses so the families alternate, starting with the family of the first address, as RFC 8305 section 4 describes
+   */
+  private static List<InetAddress> interleave(List<InetAddress> addresses) {
+    List<InetAddress> first = new ArrayList<InetAddress>();
+    List<InetAddress> second = new ArrayList<InetAddress>();
+    for (InetAddress addr : addresses) {
+      if (addr.getClass() == addresses.get(0).getClass()) {
+        first.add(addr);
+      } else {
+        second.add(addr);
+      }
+    }
+
+    List<InetAddress> interleaved = new ArrayList<InetAddress>(addresses.size());
+    for (int i = 0; i < Math.max(first.size(), second.size()); i++) {
+      if (i < first.size()) {
+        interleaved.add(first.get(i));
+      }
+      if (i < second.size()) {
+        interleaved.add(second.get(i));
+      }
+    }
+    return interleaved;
+  }
+
   private IpMode ipMode;
+  private final long cacheTtlNanos;
+  private final int probePort;
+  private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<String, CacheEntry>();
 
   public DnsSelector() {
     this(IpMode.SYSTEM);
   }
 
   public DnsSelector(IpMode mode) {
+    this(mode, 0, DEFAULT_PROBE_PORT);
+  }
+
+  /**
+   * @param mode
+   *          the {@link IpMode} to apply to lookups
+   * @param cacheTtlMillis
+   *          how long lookups are cached for, or 0 to not cache them
+   * @param probePort
+   *          the port connected to when racing addresses in {@link IpMode#HAPPY_EYEBALLS} mode. The race only decides the order addresses are
+   *          tried in, so using the API's port for every host is harmless
+   * @since 1.0.15
+   */
+  public DnsSelector(IpMode mode, long cacheTtlMillis, int probePort) {
     ipMode = mode;
+    this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cacheTtlMillis));
+    this.probePort = probePort;
   }
 
   @Override
   public List<InetAddress> lookup(String arg0) throws UnknownHostException {
-    List<InetAddress> addresses = SYSTEM.lookup(arg0);
+    if (cacheTtlNanos == 0) {
+      return select(arg0);
+    }
+
+    CacheEntry entry = cache.get(arg0);
+    long now = System.nanoTime();
+    if (entry != null && now - entry.resolvedNanos < cacheTtlNanos) {
+      if (now - entry.resolvedNanos >= cacheTtlNanos * REFRESH_FRACTION && entry.refreshing.compareAndSet(false, true)) {
+        executor.execute(() -> refresh(arg0));
+      }
+      return entry.addresses;
+    }
+
+    List<InetAddress> addresses = select(arg0);
+    cache.put(arg0, new CacheEntry(addresses, System.nanoTime()));
+    return addresses;
+  }
+
+  /**
+   * Resolve a host name with the system resolver. Split out so tests can substitute their own addresses
+   */
+  protected List<InetAddress> resolve(String hostname) throws UnknownHostException {
+    return SYSTEM.lookup(hostname);
+  }
+
+  private List<InetAddress> applyIpMode(List<InetAddress> addresses) {
     List<InetAddress> ipv4Addresses = new ArrayList<InetAddress>();
     List<InetAddress> ipv6Addresses = new ArrayList<InetAddress>();
 
@@ -97,6 +226,8 @@ public class DnsSelector implements okhttp3.Dns {
       retAddresses.addAll(ipv6Addresses);
     } else if (ipMode == IpMode.IPV4_ONLY) {
       retAddresses.addAll(ipv4Addresses);
+    } else if (ipMode == IpMode.HAPPY_EYEBALLS) {
+      retAddresses = race(interleave(addresses));
     }
 
     for (InetAddress addr : retAddresses) {
@@ -106,4 +237,90 @@ public class DnsSelector implements okhttp3.Dns {
     return retAddresses;
   }
 
+  /**
+   * Connect to the addresses in order, starting a new attempt every {@link #CONNECTION_ATTEMPT_DELAY_MILLIS} or as soon as the last one failed, and
+   * move the first to connect to the front of the list
+   * <P>
+   * okhttp tries addresses one at a time, each with the full connect timeout, so an unreachable first address would otherwise stall every new
+   * connection. The probe connections are closed straight away, and with caching enabled the race is only run when a host is resolved.
+   */
+  private List<InetAddress> race(List<InetAddress> addresses) {
+    if (addresses.size() < 2) {
+      return addresses;
+    }
+
+    ExecutorCompletionService<InetAddress> attempts = new ExecutorCompletionService<InetAddress>(executor);
+    List<Future<InetAddress>> started = new ArrayList<Future<InetAddress>>();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RACE_TIMEOUT_MILLIS);
+    InetAddress winner = null;
+    int pending = 0;
+    try {
+      while (winner == null) {
+        if (started.size() < addresses.size()) {
+          InetAddress addr = addresses.get(started.size());
+          started.add(attempts.submit(() -> probe(addr, deadline)));
+          pending++;
+        }
+
+        long remaining = deadline - System.nanoTime();
+        if (pending == 0 || remaining <= 0) {
+          break;
+        }
+        long wait = started.size() < addresses.size() ? Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(CONNECTION_ATTEMPT_DELAY_MILLIS)) : remaining;
+        Future<InetAddress> done = attempts.poll(wait, TimeUnit.NANOSECONDS);
+        if (done == null) {
+          continue;
+        }
+        pending--;
+        try {
+          winner = done.get();
+        } catch (ExecutionException e) {
+          logger.debug("race - connection attempt failed, error = {}", e.getCause().toString());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      for (Future<InetAddress> attempt : started) {
+        attempt.cancel(true);
+      }
+    }
+
+    if (winner == null) {
+      logger.info("race - no address connected, trying them in order");
+      return addresses;
+    }
+    logger.debug("race - {} connected first", winner);
+    List<InetAddress> ordered = new ArrayList<InetAddress>(addresses.size());
+    ordered.add(winner);
+    for (InetAddress addr : addresses) {
+      if (addr != winner) {
+        ordered.add(addr);
+      }
+    }
+    return ordered;
+  }
+
+  private InetAddress probe(InetAddress addr, long deadline) throws IOException {
+    int timeout = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(addr, probePort), timeout);
+    }
+    return addr;
+  }
+
+  private void refresh(String hostname) {
+    try {
+      cache.put(hostname, new CacheEntry(select(hostname), System.nanoTime()));
+    } catch (UnknownHostException e) {
+      // leave the entry to expire, so the next lookup after that resolves it again and reports the error
+      logger.info("refresh - couldn't refresh {}, error = {}", hostname, e.toString());
+    }
+  }
+
+  private List<InetAddress> select(String hostname) throws UnknownHostException {
+    // the list may be cached and handed to many callers
+    return Collections.unmodifiableList(applyIpMode(resolve(hostname)));
+  }
+
 }
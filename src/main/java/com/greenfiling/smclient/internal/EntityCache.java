@@ -0,0 +1,192 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * A bounded cache of decoded records and the validators (ETag and Last-Modified) they were served with
+ * <P>
+ * Entries are keyed by URL, so by endpoint and id. Size is measured by the length of the response body each record was decoded from, and when the
+ * total passes the limit the least recently used entries are evicted. An entry which hasn't been stored or revalidated for longer than the TTL is
+ * dropped rather than revalidated.
+ * <P>
+ * Used by {@link ApiHandle} when configured with {@link ApiHandle.Builder#entityCache(long, int)}, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class EntityCache {
+  /**
+   * A cached record and its validators
+   */
+  public static class Entry {
+    private final Object value;
+    private final String etag;
+    private final String lastModified;
+    private final long sizeBytes;
+    private volatile long validatedNanos;
+
+    private Entry(Object value, String etag, String lastModified, long sizeBytes) {
+      this.value = value;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.sizeBytes = sizeBytes;
+      this.validatedNanos = System.nanoTime();
+    }
+
+    public String getEtag() {
+      return etag;
+    }
+
+    public String getLastModified() {
+      return lastModified;
+    }
+
+    public long getSizeBytes() {
+      return sizeBytes;
+    }
+
+    public Object getValue() {
+      return value;
+    }
+  }
+
+  private final long maxBytes;
+  private final long ttlNanos;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private long totalBytes;
+
+  /**
+   * @param maxBytes
+   *          the total response body size of the records kept
+   * @param ttlMillis
+   *          how long an entry is kept after it was last stored or revalidated
+   */
+  public EntityCache(long maxBytes, long ttlMillis) {
+    this.maxBytes = maxBytes;
+    this.ttlNanos = ttlMillis * 1_000_000L;
+  }
+
+  /**
+   * @param key
+   *          the URL
+   * @return the entry to revalidate, or null if there isn't a live one
+   */
+  public synchronized Entry get(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null && System.nanoTime() - entry.validatedNanos > ttlNanos) {
+      remove(key);
+      entry = null;
+    }
+    if (entry == null) {
+      misses.incrementAndGet();
+    }
+    return entry;
+  }
+
+  /**
+   * @return the total response body size of the records kept
+   */
+  public synchronized long getBytes() {
+    return totalBytes;
+  }
+
+  /**
+   * @return the number of requests answered from the cache because the server confirmed the record hadn't changed
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * @return the number of requests which had no live entry to revalidate
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Remove an entry
+   *
+   * @param key
+   *          the URL
+   */
+  public synchronized void invalidate(String key) {
+    remove(key);
+  }
+
+  /**
+   * Store a record, if the server gave a validator for it and it fits
+   *
+   * @param key
+   *          the URL
+   * @param value
+   *          the decoded record
+   * @param etag
+   *          the ETag header, can be null
+   * @param lastModified
+   *          the Last-Modified header, can be null
+   * @param sizeBytes
+   *          the size of the response body
+   */
+  public synchronized void put(String key, Object value, String etag, String lastModified, long sizeBytes) {
+    remove(key);
+    if ((etag == null && lastModified == null) || sizeBytes > maxBytes) {
+      return;
+    }
+    entries.put(key, new Entry(value, etag, lastModified, sizeBytes));
+    totalBytes += sizeBytes;
+
+    Iterator<Entry> eldest = entries.values().iterator();
+    while (totalBytes > maxBytes && eldest.hasNext()) {
+      totalBytes -= eldest.next().sizeBytes;
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Record that the server confirmed an entry is current
+   *
+   * @param entry
+   *          the entry revalidated
+   */
+  public void revalidated(Entry entry) {
+    entry.validatedNanos = System.nanoTime();
+    hits.incrementAndGet();
+  }
+
+  /**
+   * @return the number of records kept
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void remove(String key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      totalBytes -= removed.sizeBytes;
+    }
+  }
+}
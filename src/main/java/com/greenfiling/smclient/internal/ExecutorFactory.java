@@ -0,0 +1,163 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * Creates the executors used to run okhttp's dispatcher and the library's asynchronous and bulk operations
+ * <P>
+ * Virtual threads are reached through {@link VirtualThreads}, the only class with a Java 21 version in the multi-release jar. Code should use
+ * {@link #isVirtualThreadSupported()} rather than checking the java version itself.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class ExecutorFactory {
+  /**
+   * The ExecutionMode enum is used to specify what kind of threads an {@link ApiHandle} uses for asynchronous and bulk work
+   *
+   * <UL>
+   * <LI><B>PLATFORM_THREADS</B> - the default, a cached pool of ordinary daemon threads</LI>
+   * <LI><B>VIRTUAL_THREADS</B> - one virtual thread per task. Requires Java 21 or later</LI>
+   * </UL>
+   */
+  public enum ExecutionMode {
+    PLATFORM_THREADS,
+    VIRTUAL_THREADS
+  }
+
+  /**
+   * @return true if {@link ExecutionMode#VIRTUAL_THREADS} can be used in the running JVM
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VirtualThreads.isSupported();
+  }
+
+  /**
+   * Create a fixed pool of daemon platform threads with a bounded queue
+   * <P>
+   * Once every thread is busy and the queue is full, further tasks are rejected with a {@link java.util.concurrent.RejectedExecutionException}
+   * rather than queued without limit.
+   *
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @param threads
+   *          the number of threads
+   * @param queueSize
+   *          the number of tasks which can wait for a thread
+   * @return an instantiated executor
+   */
+  public static ExecutorService newBoundedExecutor(String namePrefix, int threads, int queueSize) {
+    return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueSize), newDaemonThreadFactory(namePrefix));
+  }
+
+  /**
+   * Create a cached pool of daemon platform threads which never grows past maxThreads
+   * <P>
+   * Idle threads are reused and expire like {@link #newPlatformThreadExecutor(String)}, but nothing is queued. A task submitted while all maxThreads
+   * are busy is passed to overflow instead.
+   *
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @param maxThreads
+   *          the most threads the pool will have
+   * @param overflow
+   *          what to do with tasks submitted while every thread is busy
+   * @return an instantiated executor
+   */
+  public static ExecutorService newCappedExecutor(String namePrefix, int maxThreads, RejectedExecutionHandler overflow) {
+    return new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), newDaemonThreadFactory(namePrefix), overflow);
+  }
+
+  /**
+   * Create an executor for the requested mode
+   *
+   * @param mode
+   *          the {@link ExecutionMode} to create an executor for
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @return an instantiated executor
+   * @throws UnsupportedOperationException
+   *           if the mode is not supported in the running JVM
+   */
+  public static ExecutorService newExecutor(ExecutionMode mode, String namePrefix) {
+    if (mode == ExecutionMode.VIRTUAL_THREADS) {
+      return newVirtualThreadExecutor(namePrefix);
+    }
+    return newPlatformThreadExecutor(namePrefix);
+  }
+
+  /**
+   * Create an unbounded, cached pool of daemon platform threads
+   *
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @return an instantiated executor
+   */
+  public static ExecutorService newPlatformThreadExecutor(String namePrefix) {
+    return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), newDaemonThreadFactory(namePrefix));
+  }
+
+  /**
+   * Create a single daemon thread scheduler, used to delay work (eg a rate limited request) without tying up a thread while waiting
+   * <P>
+   * Scheduled tasks should only hand work off to another executor, never do it themselves.
+   *
+   * @param namePrefix
+   *          prefix for the name of the scheduler's thread
+   * @return an instantiated scheduler
+   */
+  public static ScheduledExecutorService newScheduler(String namePrefix) {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, newDaemonThreadFactory(namePrefix));
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+
+  /**
+   * Create an executor which runs every task on a new virtual thread
+   *
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @return an instantiated executor
+   * @throws UnsupportedOperationException
+   *           if the running JVM doesn't support virtual threads, see {@link #isVirtualThreadSupported()}
+   */
+  public static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+    return VirtualThreads.newExecutor(namePrefix);
+  }
+
+  private static ThreadFactory newDaemonThreadFactory(String namePrefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
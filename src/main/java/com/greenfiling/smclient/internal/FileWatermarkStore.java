@@ -0,0 +1,97 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SyncEngine.WatermarkStore} which keeps every watermark in one properties file
+ * <P>
+ * The file is read on every load, so several engines (or processes) can share it as long as they don't sync the same key at the same time. Saves
+ * write a temporary file next to the real one and move it into place, so a crash part way through a save leaves the previous watermarks intact
+ * rather than a truncated file.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class FileWatermarkStore implements SyncEngine.WatermarkStore {
+  private static final Logger logger = LoggerFactory.getLogger(FileWatermarkStore.class);
+
+  private final Path file;
+
+  /**
+   * @param file
+   *          the properties file to keep watermarks in. It is created on the first save if it doesn't exist
+   */
+  public FileWatermarkStore(Path file) {
+    this.file = file;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  @Override
+  public synchronized OffsetDateTime load(String key) throws IOException {
+    String value = read().getProperty(key);
+    return value == null ? null : OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+  }
+
+  @Override
+  public synchronized void save(String key, OffsetDateTime watermark) throws IOException {
+    Properties watermarks = read();
+    watermarks.setProperty(key, watermark.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+
+    Path dir = file.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        watermarks.store(out, "smclient sync watermarks");
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        logger.debug("save - atomic move not supported, replacing {} non-atomically", file);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private Properties read() throws IOException {
+    Properties watermarks = new Properties();
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        watermarks.load(in);
+      }
+    }
+    return watermarks;
+  }
+}
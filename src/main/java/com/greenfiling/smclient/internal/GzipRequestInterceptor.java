@@ -0,0 +1,107 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.ApiHandle;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * An {@link okhttp3.Interceptor} which gzips large JSON request bodies
+ * <P>
+ * Only JSON bodies of a known length at or above the threshold are compressed, so file uploads (which are already compressed, or signed for their
+ * exact content) pass through untouched, and small bodies aren't made bigger by the gzip header. Compressed requests are sent with
+ * {@code Content-Encoding: gzip}.
+ * <P>
+ * If the server answers a compressed request with 415 Unsupported Media Type, the request is sent again uncompressed and compression is turned off
+ * for the rest of the interceptor's life, so a server which doesn't accept it costs one extra round trip rather than one per request.
+ * <P>
+ * Used by {@link ApiHandle} when configured with {@link ApiHandle.Builder#requestCompression(int)}, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class GzipRequestInterceptor implements Interceptor {
+  private static final Logger logger = LoggerFactory.getLogger(GzipRequestInterceptor.class);
+
+  private final int thresholdBytes;
+  private volatile boolean disabled;
+
+  /**
+   * @param thresholdBytes
+   *          bodies of at least this many bytes are compressed
+   */
+  public GzipRequestInterceptor(int thresholdBytes) {
+    this.thresholdBytes = thresholdBytes;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (!shouldCompress(request)) {
+      return chain.proceed(request);
+    }
+
+    Request compressed = request.newBuilder().header("Content-Encoding", "gzip").method(request.method(), gzip(request.body())).build();
+    Response response = chain.proceed(compressed);
+    if (response.code() != 415) {
+      return response;
+    }
+
+    logger.warn("intercept - server rejected a compressed request, sending uncompressed from now on, url = {}", request.url());
+    disabled = true;
+    response.close();
+    return chain.proceed(request);
+  }
+
+  public boolean isDisabled() {
+    return disabled;
+  }
+
+  private RequestBody gzip(RequestBody body) throws IOException {
+    // compress up front rather than while writing, so the length is known and the body can be replayed by retries
+    Buffer buffer = new Buffer();
+    try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+      body.writeTo(sink);
+    }
+    return RequestBody.create(buffer.readByteString(), body.contentType());
+  }
+
+  private boolean shouldCompress(Request request) throws IOException {
+    if (disabled || request.body() == null || request.header("Content-Encoding") != null) {
+      return false;
+    }
+    MediaType contentType = request.body().contentType();
+    if (contentType == null || !"json".equals(contentType.subtype())) {
+      return false;
+    }
+    return request.body().contentLength() >= thresholdBytes;
+  }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ClientMetrics} implementation which keeps its metrics in memory
+ * <P>
+ * Metrics are kept per endpoint and method, for example <code>GET jobs</code>, in an {@link EndpointMetrics} holding a {@link LatencyHistogram},
+ * response code and exception counters, byte counters and an in-flight gauge. Everything is updated with atomic operations and concurrent maps, so
+ * recording never takes a lock. Read the metrics with {@link #getEndpointMetrics()} or {@link #getEndpointMetrics(String, String)}, for example from
+ * a scheduled task which publishes them or checks the p99.
+ * <P>
+ * <B>Example:</B><BR>
+ * <code>
+ * InMemoryClientMetrics metrics = new InMemoryClientMetrics();<br>
+ * ApiHandle apiHandle = new ApiHandle.Builder().apiKey(VALID_API_KEY).metrics(metrics).build();<br>
+ * ...<br>
+ * long p99 = metrics.getEndpointMetrics("GET", "jobs").getLatency().getPercentileNanos(99);
+ * </code>
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class InMemoryClientMetrics implements ClientMetrics {
+  /**
+   * The metrics for one endpoint and method
+   *
+   * @author jetmore
+   * @since 1.0.15
+   */
+  public static class EndpointMetrics {
+    private static <K> Map<K, Long> snapshot(ConcurrentMap<K, LongAdder> counters) {
+      Map<K, Long> snapshot = new TreeMap<K, Long>();
+      for (Map.Entry<K, LongAdder> entry : counters.entrySet()) {
+        snapshot.put(entry.getKey(), entry.getValue().sum());
+      }
+      return snapshot;
+    }
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final ConcurrentMap<Integer, LongAdder> responseCodes = new ConcurrentHashMap<Integer, LongAdder>();
+    private final ConcurrentMap<String, LongAdder> exceptions = new ConcurrentHashMap<String, LongAdder>();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public long getBytesReceived() {
+      return bytesReceived.sum();
+    }
+
+    public long getBytesSent() {
+      return bytesSent.sum();
+    }
+
+    /**
+     * @return the number of requests which failed with each type of exception, keyed by the exception's simple class name (eg
+     *         <code>RecordNotFoundException</code> or <code>SocketTimeoutException</code>)
+     */
+    public Map<String, Long> getExceptions() {
+      return snapshot(exceptions);
+    }
+
+    /**
+     * @return the number of requests currently in flight
+     */
+    public int getInFlight() {
+      return inFlight.get();
+    }
+
+    /**
+     * @return the latencies of finished requests
+     */
+    public LatencyHistogram getLatency() {
+      return latency;
+    }
+
+    /**
+     * @return the number of responses with each status code
+     */
+    public Map<Integer, Long> getResponseCodes() {
+      return snapshot(responseCodes);
+    }
+
+    @Override
+    public String toString() {
+      return "EndpointMetrics [latency=" + latency + ", responseCodes=" + getResponseCodes() + ", exceptions=" + getExceptions() + ", bytesSent="
+          + getBytesSent() + ", bytesReceived=" + getBytesReceived() + ", inFlight=" + getInFlight() + "]";
+    }
+  }
+
+  private static String key(String method, String endpoint) {
+    return method + " " + endpoint;
+  }
+
+  private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<String, EndpointMetrics>();
+
+  /**
+   * @return the metrics for every endpoint and method seen so far, keyed by method and endpoint, eg <code>GET jobs</code>
+   */
+  public Map<String, EndpointMetrics> getEndpointMetrics() {
+    return new TreeMap<String, EndpointMetrics>(endpoints);
+  }
+
+  /**
+   * @param method
+   *          the HTTP method, eg GET
+   * @param endpoint
+   *          the endpoint label, see {@link ClientMetrics}
+   * @return the metrics for that endpoint and method, or null if there haven't been any requests to it
+   */
+  public EndpointMetrics getEndpointMetrics(String method, String endpoint) {
+    return endpoints.get(key(method, endpoint));
+  }
+
+  @Override
+  public void requestFinished(String endpoint, String method, Integer responseCode, Throwable error, long latencyNanos, long bytesSent,
+      long bytesReceived) {
+    EndpointMetrics metrics = getOrCreate(method, endpoint);
+    metrics.inFlight.decrementAndGet();
+    metrics.latency.record(latencyNanos);
+    if (responseCode != null) {
+      metrics.responseCodes.computeIfAbsent(responseCode, k -> new LongAdder()).increment();
+    }
+    if (error != null) {
+      metrics.exceptions.computeIfAbsent(error.getClass().getSimpleName(), k -> new LongAdder()).increment();
+    }
+    metrics.bytesSent.add(bytesSent);
+    metrics.bytesReceived.add(bytesReceived);
+  }
+
+  @Override
+  public void requestStarted(String endpoint, String method) {
+    getOrCreate(method, endpoint).inFlight.incrementAndGet();
+  }
+
+  @Override
+  public String toString() {
+    return "InMemoryClientMetrics " + getEndpointMetrics();
+  }
+
+  private EndpointMetrics getOrCreate(String method, String endpoint) {
+    String key = key(method, endpoint);
+    // get first, since computeIfAbsent can lock the bin even when the key is present
+    EndpointMetrics metrics = endpoints.get(key);
+    return metrics != null ? metrics : endpoints.computeIfAbsent(key, k -> new EndpointMetrics());
+  }
+}
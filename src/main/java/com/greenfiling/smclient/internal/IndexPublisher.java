@@ -0,0 +1,232 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.model.exchange.Index;
+
+/**
+ * Publishes the records on every page of an index to subscribers, fetching pages only as subscriber demand requires them
+ * <P>
+ * This follows the java.util.concurrent.Flow (Reactive Streams) contract. The library still supports Java 8, where Flow doesn't exist, so
+ * {@link Subscriber} and {@link Subscription} have the same methods as Flow.Subscriber and Flow.Subscription. On Java 9 and later it can be
+ * adapted to a Flow.Publisher by passing each call through, eg:
+ * <P>
+ * <code>
+ * Flow.Publisher&lt;Job&gt; flow = subscriber -&gt; publisher.subscribe(new IndexPublisher.Subscriber&lt;Job&gt;() {<br>
+ * &nbsp;&nbsp;public void onSubscribe(IndexPublisher.Subscription s) { subscriber.onSubscribe(new Flow.Subscription() { ... }); }<br>
+ * &nbsp;&nbsp;...<br>
+ * });
+ * </code>
+ * <P>
+ * Each subscription reads the index from its first page, independently of any other. A page is only requested once every record already fetched
+ * has been delivered and the subscriber has asked for more, so at most one page is held per subscription no matter how slow the subscriber is.
+ * Cancelling stops any further pages being requested. Records are delivered on the thread which called {@link Subscription#request(long)}, or on
+ * the handle's executor when they are waiting on a page, never concurrently.
+ * <P>
+ * Should not be used directly, see {@link ApiClient#publisher(com.greenfiling.smclient.model.internal.FilterBase)}
+ *
+ * @param <T>
+ *          the type of record on the pages
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class IndexPublisher<T> {
+  /**
+   * Receives records from an {@link IndexPublisher}, with the same contract as java.util.concurrent.Flow.Subscriber
+   *
+   * @param <T>
+   *          the type of record received
+   */
+  public interface Subscriber<T> {
+    void onComplete();
+
+    void onError(Throwable throwable);
+
+    void onNext(T item);
+
+    void onSubscribe(Subscription subscription);
+  }
+
+  /**
+   * Links a {@link Subscriber} to an {@link IndexPublisher}, with the same contract as java.util.concurrent.Flow.Subscription
+   */
+  public interface Subscription {
+    void cancel();
+
+    void request(long n);
+  }
+
+  private class PageSubscription implements Subscription {
+    private final Subscriber<? super T> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile boolean fetching;
+    private volatile boolean exhausted;
+    private volatile Index<T> fetched;
+    private volatile Throwable error;
+    // only touched while draining, which is never done by two threads at once
+    private boolean started;
+    private boolean done;
+    private Index<T> lastPage;
+    private Iterator<T> current;
+
+    private PageSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        error = new IllegalArgumentException("request must be for at least 1 item, was " + n);
+      } else {
+        demand.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+      }
+      drain();
+    }
+
+    /**
+     * Deliver whatever can be delivered, and request the next page if it is needed
+     * <P>
+     * Whichever thread gets here first does the work, and other threads just note that there is more to do, so the subscriber is never called
+     * concurrently and a request() made from inside onNext() doesn't recurse.
+     */
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        while (!done) {
+          if (cancelled) {
+            done = true;
+            current = null;
+          } else if (error != null) {
+            done = true;
+            subscriber.onError(error);
+          } else if (fetched != null) {
+            lastPage = fetched;
+            fetched = null;
+            current = lastPage.getData().iterator();
+          } else if (current != null && current.hasNext()) {
+            if (demand.get() == 0) {
+              break;
+            }
+            if (demand.get() != Long.MAX_VALUE) {
+              demand.decrementAndGet();
+            }
+            emit(current.next());
+          } else if (exhausted) {
+            done = true;
+            subscriber.onComplete();
+          } else if (!fetching && demand.get() > 0) {
+            fetchPage();
+          } else {
+            break;
+          }
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void emit(T item) {
+      try {
+        subscriber.onNext(item);
+      } catch (RuntimeException e) {
+        // a subscriber shouldn't throw, but if it does it can't be relied on to cancel, so stop for it
+        logger.warn("emit - subscriber threw, cancelling, error = {}", e.toString());
+        cancelled = true;
+      }
+    }
+
+    private void fetchPage() {
+      fetching = true;
+      CompletableFuture<Index<T>> page;
+      try {
+        page = started ? nextPage.apply(lastPage) : firstPage.get();
+      } catch (RuntimeException e) {
+        page = new CompletableFuture<Index<T>>();
+        page.completeExceptionally(e);
+      }
+      started = true;
+
+      page.whenCompleteAsync((result, e) -> {
+        if (e != null) {
+          error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        } else if (result == null || result.getData() == null || result.getData().isEmpty()) {
+          // an empty page ends the index, as it does for getNext()
+          exhausted = true;
+        } else {
+          fetched = result;
+        }
+        fetching = false;
+        drain();
+      }, executor);
+    }
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(IndexPublisher.class);
+
+  private final Supplier<CompletableFuture<Index<T>>> firstPage;
+  private final Function<Index<T>, CompletableFuture<Index<T>>> nextPage;
+  private final Executor executor;
+
+  /**
+   * @param firstPage
+   *          requests the first page
+   * @param nextPage
+   *          requests the page after the one given, completing with null if there isn't one
+   * @param executor
+   *          runs delivery once a page has arrived, so subscribers aren't run on okhttp's threads
+   */
+  public IndexPublisher(Supplier<CompletableFuture<Index<T>>> firstPage, Function<Index<T>, CompletableFuture<Index<T>>> nextPage,
+      Executor executor) {
+    this.firstPage = firstPage;
+    this.nextPage = nextPage;
+    this.executor = executor;
+  }
+
+  /**
+   * Start reading the index for a subscriber. Nothing is fetched until the subscriber requests records
+   *
+   * @param subscriber
+   *          the subscriber to deliver records to
+   */
+  public void subscribe(Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("subscriber null");
+    }
+    subscriber.onSubscribe(new PageSubscription(subscriber));
+  }
+}
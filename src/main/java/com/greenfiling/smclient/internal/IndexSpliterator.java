@@ -0,0 +1,161 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.greenfiling.smclient.Exceptions.PageFetchException;
+import com.greenfiling.smclient.model.exchange.Index;
+
+/**
+ * A {@link Spliterator} over the records on every page of an index, which fetches pages ahead of the consumer
+ * <P>
+ * Nothing is requested until the first record is asked for. From then on up to <code>prefetchPages</code> pages are kept requested or buffered
+ * ahead of the page being consumed. Pages have to be fetched in order, since each is found from the previous page's next link, so each prefetched
+ * page is requested asynchronously as soon as the one before it arrives, and the next one is only queued when the consumer moves on to a new page.
+ * No thread is ever blocked waiting to hand a page over, so a stream which is abandoned part way through ties up nothing but the pages already
+ * buffered.
+ * <P>
+ * Should not be used directly, see {@link ApiClient#stream(com.greenfiling.smclient.model.internal.FilterBase, int)}
+ *
+ * @param <T>
+ *          the type of record on the pages
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class IndexSpliterator<T> implements Spliterator<T> {
+  private final Supplier<CompletableFuture<Index<T>>> firstPage;
+  private final Function<Index<T>, CompletableFuture<Index<T>>> nextPage;
+  private final int prefetchPages;
+  private final ArrayDeque<CompletableFuture<Index<T>>> pages = new ArrayDeque<CompletableFuture<Index<T>>>();
+  private CompletableFuture<Index<T>> lastRequested;
+  private Iterator<T> current;
+  private boolean started;
+  private volatile boolean closed;
+
+  /**
+   * @param firstPage
+   *          requests the first page
+   * @param nextPage
+   *          requests the page after the one given, completing with null if there isn't one
+   * @param prefetchPages
+   *          the number of pages to keep requested or buffered ahead of the consumer, must be at least 1
+   */
+  public IndexSpliterator(Supplier<CompletableFuture<Index<T>>> firstPage, Function<Index<T>, CompletableFuture<Index<T>>> nextPage,
+      int prefetchPages) {
+    if (prefetchPages < 1) {
+      throw new IllegalStateException("prefetchPages must be at least 1");
+    }
+    this.firstPage = firstPage;
+    this.nextPage = nextPage;
+    this.prefetchPages = prefetchPages;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+  /**
+   * Stop fetching pages. Requests already sent are left to finish, but their pages are discarded and no more are requested
+   */
+  public void close() {
+    closed = true;
+    CompletableFuture<Index<T>> page;
+    while ((page = pages.poll()) != null) {
+      page.cancel(false);
+    }
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    while (current == null || !current.hasNext()) {
+      Index<T> page = takePage();
+      if (page == null) {
+        return false;
+      }
+      current = page.getData() == null ? null : page.getData().iterator();
+    }
+    action.accept(current.next());
+    return true;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    return null;
+  }
+
+  private void requestPage() {
+    if (lastRequested == null) {
+      lastRequested = firstPage.get();
+    } else {
+      // an empty page ends the index, as it does for getNext()
+      lastRequested = lastRequested.thenCompose(page -> page == null || closed ? CompletableFuture.<Index<T>> completedFuture(null) : nextPage.apply(page));
+    }
+    pages.add(lastRequested);
+  }
+
+  private Index<T> takePage() {
+    if (closed) {
+      return null;
+    }
+    if (!started) {
+      started = true;
+      for (int i = 0; i < prefetchPages; i++) {
+        requestPage();
+      }
+    }
+
+    CompletableFuture<Index<T>> future = pages.poll();
+    Index<T> page;
+    try {
+      page = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new PageFetchException(e);
+    } catch (CancellationException e) {
+      return null;
+    } catch (ExecutionException e) {
+      close();
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new PageFetchException(e.getCause());
+    }
+
+    if (page == null || page.getData() == null || page.getData().isEmpty()) {
+      close();
+      return null;
+    }
+    requestPage();
+    return page;
+  }
+}
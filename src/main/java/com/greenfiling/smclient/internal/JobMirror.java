@@ -0,0 +1,845 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.JobClient;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.model.internal.FilterBase;
+
+/**
+ * A persistent local copy of {@link Job} records, which answers reads by id or ServeManager job number without going to the API
+ * <P>
+ * Jobs are kept in an append-only log, split into segment files of a bounded size. Every put appends the job's JSON, and an id index and a job
+ * number index, both {@link MappedIndex memory-mapped} hash tables, point to the latest copy of each job. A read is one index lookup plus one
+ * positional read of the segment, so it takes microseconds rather than a round trip to the API.
+ * <P>
+ * A put leaves the job's previous copy in the log as garbage. {@link #compact()} writes the live copies to new segments and deletes the old ones.
+ * Puts never compact by themselves, since compaction holds the write lock while it rewrites the whole log, and every read and write waits for it.
+ * Instead {@link #isCompactionDue()} reports when garbage has passed the compaction ratio, so the owner can call {@link #compact()} from a
+ * maintenance thread at a quiet time, eg after a {@link SyncEngine} pass.
+ * <P>
+ * Records are checksummed. Each put syncs its records to the log before the indexes point at them, so the indexes never refer to a record which
+ * isn't on disk, and a batch given to {@link #putAll(Collection)} costs a single sync. The point the indexes are known to be complete up to is
+ * only moved forward after the indexes themselves are synced, by {@link #flush()}, {@link #close()} and {@link #compact()}. When the mirror is
+ * opened, everything in the log after that point is replayed into the indexes, and a record torn at the end of the log is truncated. So whether the
+ * process crashes or the machine loses power, the mirror only loses the puts which were in progress.
+ * <P>
+ * The mirror is filled by {@link #put(Job)}, {@link #loadIndex(JobClient, FilterBase)} and {@link #getOrShow(JobClient, Integer)}. It is also a
+ * {@link SyncEngine.Sink}, so a {@link SyncEngine} can keep it up to date incrementally. Readers run concurrently with each other, and wait for
+ * writers. Only one mirror may have a directory open at a time, whether in this process or another. Opening holds an exclusive lock on a lock file
+ * in the directory until {@link #close()}, and a second mirror opening the same directory fails.
+ * <P>
+ * The mirror needs POSIX file semantics. Compaction, and {@link MappedIndex} when it grows, atomically rename a new file over an index which is
+ * still memory-mapped, which Windows doesn't allow, so building a mirror on Windows fails.
+ * <P>
+ * <B>EXAMPLE:</B><BR>
+ * <code>
+ * try (JobMirror mirror = new JobMirror.Builder().directory(Paths.get("job-mirror")).build()) {<br>
+ * &nbsp;&nbsp;mirror.loadIndex(jobClient, null);<br>
+ * &nbsp;&nbsp;Job job = mirror.getByJobNumber("8675309");<br>
+ * }
+ * </code>
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class JobMirror implements SyncEngine.Sink<Job>, Closeable {
+  /**
+   * Builder class to create a {@link JobMirror}
+   * <P>
+   * directory is required.
+   */
+  public static class Builder {
+    private Path directory;
+    private long segmentBytes = DEFAULT_SEGMENT_BYTES;
+    private double compactionRatio = DEFAULT_COMPACTION_RATIO;
+
+    public Builder() {
+
+    }
+
+    /**
+     * Open the mirror, creating it if the directory is empty
+     *
+     * @return the open mirror
+     * @throws IllegalStateException
+     *           if the configuration is invalid, or on Windows
+     * @throws IOException
+     *           if the mirror can't be opened, including when another mirror has the directory open
+     */
+    public JobMirror build() throws IllegalStateException, IOException {
+      validate();
+      return new JobMirror(this);
+    }
+
+    /**
+     * Sets the fraction of the log which may be garbage before it is compacted
+     * <P>
+     * Defaults to {@link JobMirror#DEFAULT_COMPACTION_RATIO}. Compaction isn't due until the log is larger than one segment. See
+     * {@link JobMirror#isCompactionDue()}.
+     *
+     * @param compactionRatio
+     *          the ratio, greater than 0 and less than 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder compactionRatio(double compactionRatio) {
+      this.compactionRatio = compactionRatio;
+      return this;
+    }
+
+    /**
+     * Sets the directory the mirror is kept in. It is created if it doesn't exist
+     *
+     * @param directory
+     *          the directory
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder directory(Path directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * Sets the size at which a new log segment is started
+     * <P>
+     * Defaults to {@link JobMirror#DEFAULT_SEGMENT_BYTES}
+     *
+     * @param segmentBytes
+     *          the size in bytes, at least 4096
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder segmentBytes(long segmentBytes) {
+      this.segmentBytes = segmentBytes;
+      return this;
+    }
+
+    private void validate() throws IllegalStateException {
+      ArrayList<String> errors = new ArrayList<String>();
+      if (directory == null) {
+        errors.add("directory is required");
+      }
+      if (segmentBytes < 4096 || segmentBytes > MAX_OFFSET) {
+        errors.add("segmentBytes must be at least 4096 and at most " + MAX_OFFSET);
+      }
+      if (!(compactionRatio > 0 && compactionRatio < 1)) {
+        errors.add("compactionRatio must be between 0 and 1");
+      }
+      if (System.getProperty("os.name", "").startsWith("Windows")) {
+        errors.add("JobMirror needs POSIX file semantics and isn't supported on Windows");
+      }
+
+      if (errors.size() > 0) {
+        logger.error("validate - failed validation.  Errors: {}", errors.toString());
+        throw new IllegalStateException(errors.toString());
+      }
+    }
+  }
+
+  private static class Record {
+    private final int id;
+    private final String jobNumber;
+    private final byte[] payload;
+    private final int jsonOffset;
+
+    private Record(int id, String jobNumber, byte[] payload, int jsonOffset) {
+      this.id = id;
+      this.jobNumber = jobNumber;
+      this.payload = payload;
+      this.jsonOffset = jsonOffset;
+    }
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(JobMirror.class);
+
+  /**
+   * The default size at which a new log segment is started, 64MB
+   */
+  public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * The default fraction of the log which may be garbage before it is compacted
+   */
+  public static final double DEFAULT_COMPACTION_RATIO = 0.5;
+
+  // a record is its payload length and checksum, then the payload: id, job number length, job number, job JSON
+  private static final int RECORD_HEADER_BYTES = 8;
+  private static final int SEGMENT_SHIFT = 40;
+  private static final long MAX_OFFSET = (1L << SEGMENT_SHIFT) - 1;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String ID_INDEX = "ids.idx";
+  private static final String NUMBER_INDEX = "numbers.idx";
+  private static final String COMPACT_SUFFIX = ".compact";
+  private static final String LOCK_FILE = "mirror.lock";
+  // id index header values
+  private static final int HEADER_REPLAYED_SEGMENT = 0;
+  private static final int HEADER_REPLAYED_OFFSET = 1;
+  private static final int HEADER_LIVE_BYTES = 2;
+  // file locks are held per process, and closing any channel to the lock file can drop them, so mirrors in this JVM are tracked here instead
+  private static final Set<Path> openDirectories = ConcurrentHashMap.newKeySet();
+
+  private static Record decodeRecord(byte[] payload) {
+    ByteBuffer buffer = ByteBuffer.wrap(payload);
+    int id = buffer.getInt();
+    int numberLength = buffer.getShort() & 0xffff;
+    String jobNumber = numberLength == 0 ? null : new String(payload, 6, numberLength, StandardCharsets.UTF_8);
+    return new Record(id, jobNumber, payload, 6 + numberLength);
+  }
+
+  private static long location(int segment, long offset) {
+    return ((long) segment << SEGMENT_SHIFT) | offset;
+  }
+
+  private static int numberHash(String jobNumber) {
+    int hash = jobNumber.hashCode();
+    return hash == 0 ? 1 : hash;
+  }
+
+  private static long offsetOf(long location) {
+    return location & MAX_OFFSET;
+  }
+
+  private static int segmentOf(long location) {
+    return (int) (location >>> SEGMENT_SHIFT);
+  }
+
+  private final Path directory;
+  private final long segmentBytes;
+  private final double compactionRatio;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final TreeMap<Integer, FileChannel> segments = new TreeMap<Integer, FileChannel>();
+  private final Path lockedDirectory;
+  private final FileChannel lockChannel;
+  private MappedIndex ids;
+  private MappedIndex numbers;
+  private int activeSegment;
+  private long totalBytes;
+  private boolean closed;
+
+  private JobMirror(Builder builder) throws IOException {
+    this.directory = builder.directory;
+    this.segmentBytes = builder.segmentBytes;
+    this.compactionRatio = builder.compactionRatio;
+
+    Files.createDirectories(directory);
+    lockedDirectory = directory.toRealPath();
+    if (!openDirectories.add(lockedDirectory)) {
+      throw new IOException("mirror directory is already open: " + directory);
+    }
+    try {
+      lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    } catch (IOException | RuntimeException e) {
+      openDirectories.remove(lockedDirectory);
+      throw e;
+    }
+    try {
+      open();
+    } catch (IOException | RuntimeException e) {
+      for (FileChannel channel : segments.values()) {
+        channel.close();
+      }
+      if (ids != null) {
+        ids.close();
+      }
+      if (numbers != null) {
+        numbers.close();
+      }
+      // closing the channel releases the lock, if we got it
+      lockChannel.close();
+      openDirectories.remove(lockedDirectory);
+      throw e;
+    }
+    logger.debug("JobMirror - opened {}, jobs = {}, segments = {}, bytes = {}", directory, ids.size(), segments.size(), totalBytes);
+  }
+
+  /**
+   * Store a batch of jobs, as a {@link SyncEngine.Sink}
+   *
+   * @param batch
+   *          the jobs
+   * @throws IOException
+   *           if the jobs couldn't be written
+   */
+  @Override
+  public void accept(List<Job> batch) throws IOException {
+    putAll(batch);
+  }
+
+  /**
+   * Sync the mirror to disk and close it, releasing the directory for another mirror
+   *
+   * @throws IOException
+   *           if a file couldn't be closed
+   */
+  @Override
+  public void close() throws IOException {
+    lock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        checkpoint();
+        for (FileChannel channel : segments.values()) {
+          channel.close();
+        }
+        ids.close();
+        numbers.close();
+      } finally {
+        lockChannel.close();
+        openDirectories.remove(lockedDirectory);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Rewrite the live copy of every job into new segments, and delete the old ones
+   * <P>
+   * Holds the write lock throughout, so reads and writes wait until it finishes. The time taken grows with the number of live jobs.
+   *
+   * @throws IOException
+   *           if the log couldn't be rewritten. The mirror is left as it was
+   */
+  public void compact() throws IOException {
+    lock.writeLock().lock();
+    try {
+      checkOpen();
+      compactLocked();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Sync the indexes to disk, so that the next open has nothing to replay
+   * <P>
+   * The log itself is synced by every put.
+   *
+   * @throws IOException
+   *           if a file couldn't be synced
+   */
+  public void flush() throws IOException {
+    lock.writeLock().lock();
+    try {
+      checkOpen();
+      checkpoint();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @param id
+   *          the job's id
+   * @return the latest copy of the job, or null if it isn't in the mirror
+   * @throws IOException
+   *           if the log couldn't be read
+   */
+  public Job get(Integer id) throws IOException {
+    lock.readLock().lock();
+    try {
+      checkOpen();
+      long location = id == null || id == 0 ? MappedIndex.NO_VALUE : ids.get(id);
+      return location == MappedIndex.NO_VALUE ? null : toJob(readRecord(location));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param jobNumber
+   *          the ServeManager job number
+   * @return the latest copy of the job with that number, or null if it isn't in the mirror
+   * @throws IOException
+   *           if the log couldn't be read
+   */
+  public Job getByJobNumber(String jobNumber) throws IOException {
+    if (jobNumber == null || jobNumber.isEmpty()) {
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      checkOpen();
+      Record[] found = { null };
+      IOException[] failed = { null };
+      numbers.forEach(numberHash(jobNumber), id -> {
+        try {
+          // the hash may be shared, and a job's number may have changed since it was indexed, so check the record itself
+          long location = ids.get((int) id);
+          Record record = location == MappedIndex.NO_VALUE ? null : readRecord(location);
+          if (record != null && jobNumber.equals(record.jobNumber)) {
+            found[0] = record;
+            return false;
+          }
+          return true;
+        } catch (IOException e) {
+          failed[0] = e;
+          return false;
+        }
+      });
+      if (failed[0] != null) {
+        throw failed[0];
+      }
+      return found[0] == null ? null : toJob(found[0]);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Read a job from the mirror, fetching and storing it if it isn't there
+   *
+   * @param client
+   *          the client to fetch the job with
+   * @param id
+   *          the job's id
+   * @return the job
+   * @throws Exception
+   *           if the job isn't in the mirror and couldn't be fetched or stored
+   */
+  public Job getOrShow(JobClient client, Integer id) throws Exception {
+    Job job = get(id);
+    if (job == null) {
+      Show<Job> show = client.show(id);
+      job = show == null ? null : show.getData();
+      if (job != null) {
+        put(job);
+      }
+    }
+    return job;
+  }
+
+  /**
+   * @return true if the log is larger than one segment and the fraction of it which is garbage has passed the compaction ratio, so
+   *         {@link #compact()} should be called
+   */
+  public boolean isCompactionDue() {
+    lock.readLock().lock();
+    try {
+      return !closed && totalBytes > segmentBytes && totalBytes - ids.getHeader(HEADER_LIVE_BYTES) > totalBytes * compactionRatio;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Store every job of an index
+   *
+   * @param client
+   *          the client to read the index with
+   * @param filter
+   *          filter to apply to the index. Can be null
+   * @return the number of jobs stored
+   * @throws Exception
+   *           if a page couldn't be fetched or the jobs couldn't be stored. Jobs stored before the failure stay stored
+   */
+  public long loadIndex(JobClient client, FilterBase filter) throws Exception {
+    long stored = 0;
+    List<Job> batch = new ArrayList<Job>();
+    try (Stream<Job> jobs = client.stream(filter)) {
+      Iterator<Job> it = jobs.iterator();
+      while (it.hasNext()) {
+        batch.add(it.next());
+        if (batch.size() >= SyncEngine.DEFAULT_BATCH_SIZE) {
+          putAll(batch);
+          stored += batch.size();
+          batch.clear();
+        }
+      }
+    }
+    putAll(batch);
+    return stored + batch.size();
+  }
+
+  /**
+   * Store a job, replacing any copy already in the mirror
+   *
+   * @param job
+   *          the job, which must have an id
+   * @throws IOException
+   *           if the job couldn't be written
+   */
+  public void put(Job job) throws IOException {
+    putAll(Collections.singletonList(job));
+  }
+
+  /**
+   * Store several jobs, replacing any copies already in the mirror
+   *
+   * @param jobs
+   *          the jobs, which must all have ids
+   * @throws IOException
+   *           if the jobs couldn't be written. Jobs before the one which failed stay stored
+   */
+  public void putAll(Collection<? extends Job> jobs) throws IOException {
+    for (Job job : jobs) {
+      if (job.getId() == null || job.getId() == 0) {
+        throw new IllegalArgumentException("job has no id");
+      }
+    }
+    lock.writeLock().lock();
+    try {
+      checkOpen();
+      List<Record> records = new ArrayList<Record>();
+      List<Long> locations = new ArrayList<Long>();
+      try {
+        for (Job job : jobs) {
+          byte[] payload = encodeRecord(job);
+          locations.add(append(payload));
+          records.add(decodeRecord(payload));
+        }
+      } catch (IOException | RuntimeException e) {
+        try {
+          indexWritten(records, locations);
+        } catch (IOException suppressed) {
+          e.addSuppressed(suppressed);
+        }
+        throw e;
+      }
+      indexWritten(records, locations);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return the number of jobs in the mirror
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return ids.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Write a record to the end of the log, without syncing or indexing it
+   *
+   * @return the record's location
+   */
+  private long append(byte[] payload) throws IOException {
+    FileChannel channel = segments.get(activeSegment);
+    long offset = channel.size();
+    int length = RECORD_HEADER_BYTES + payload.length;
+    if (offset > 0 && offset + length > segmentBytes) {
+      // the segment is finished, and indexWritten() will only sync the new one
+      channel.force(false);
+      activeSegment++;
+      channel = openSegment(activeSegment);
+      segments.put(activeSegment, channel);
+      offset = 0;
+    }
+    writeRecord(channel, offset, payload);
+    totalBytes += length;
+    return location(activeSegment, offset);
+  }
+
+  private void checkOpen() throws IOException {
+    if (closed) {
+      throw new IOException("mirror is closed");
+    }
+  }
+
+  /**
+   * Sync the log and the indexes, then record that the indexes are complete up to the end of the log
+   * <P>
+   * The indexes are synced first, so that the replay point on disk never gets ahead of index entries which were lost.
+   */
+  private void checkpoint() throws IOException {
+    FileChannel channel = segments.get(activeSegment);
+    channel.force(false);
+    ids.force();
+    numbers.force();
+    ids.setHeader(HEADER_REPLAYED_SEGMENT, activeSegment);
+    ids.setHeader(HEADER_REPLAYED_OFFSET, channel.size());
+    ids.force();
+  }
+
+  private void compactLocked() throws IOException {
+    long before = totalBytes;
+    List<Integer> oldSegments = new ArrayList<Integer>(segments.keySet());
+    Path idsCompact = directory.resolve(ID_INDEX + COMPACT_SUFFIX);
+    Path numbersCompact = directory.resolve(NUMBER_INDEX + COMPACT_SUFFIX);
+    Files.deleteIfExists(idsCompact);
+    Files.deleteIfExists(numbersCompact);
+
+    TreeMap<Integer, FileChannel> written = new TreeMap<Integer, FileChannel>();
+    int[] segment = { activeSegment + 1 };
+    long[] offset = { 0 };
+    try (MappedIndex newIds = new MappedIndex(idsCompact); MappedIndex newNumbers = new MappedIndex(numbersCompact)) {
+      written.put(segment[0], openSegment(segment[0]));
+      ids.forEach((id, location) -> {
+        Record record = readRecord(location);
+        int length = RECORD_HEADER_BYTES + record.payload.length;
+        if (offset[0] > 0 && offset[0] + length > segmentBytes) {
+          segment[0]++;
+          written.put(segment[0], openSegment(segment[0]));
+          offset[0] = 0;
+        }
+        writeRecord(written.get(segment[0]), offset[0], record.payload);
+        index(newIds, newNumbers, record, location(segment[0], offset[0]));
+        offset[0] += length;
+      });
+      newIds.setHeader(HEADER_REPLAYED_SEGMENT, segment[0]);
+      newIds.setHeader(HEADER_REPLAYED_OFFSET, offset[0]);
+      for (FileChannel channel : written.values()) {
+        channel.force(false);
+      }
+    } catch (IOException | RuntimeException e) {
+      for (Integer number : written.keySet()) {
+        written.get(number).close();
+        Files.deleteIfExists(segmentPath(number));
+      }
+      Files.deleteIfExists(idsCompact);
+      Files.deleteIfExists(numbersCompact);
+      throw e;
+    }
+
+    // once the new id index is in place the old segments are unreferenced, and if we stop before deleting them the next compaction will
+    ids.close();
+    numbers.close();
+    Files.move(numbersCompact, directory.resolve(NUMBER_INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    Files.move(idsCompact, directory.resolve(ID_INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    ids = new MappedIndex(directory.resolve(ID_INDEX));
+    numbers = new MappedIndex(directory.resolve(NUMBER_INDEX));
+
+    for (Integer number : oldSegments) {
+      segments.remove(number).close();
+      Files.delete(segmentPath(number));
+    }
+    segments.putAll(written);
+    activeSegment = segment[0];
+    totalBytes = ids.getHeader(HEADER_LIVE_BYTES);
+    logger.debug("compact - compacted {}, bytes before = {}, bytes after = {}", directory, before, totalBytes);
+  }
+
+  private byte[] encodeRecord(Job job) {
+    byte[] json = JsonHandle.get().getGson().toJson(job).getBytes(StandardCharsets.UTF_8);
+    byte[] number = job.getServeManagerJobNumber() == null ? new byte[0] : job.getServeManagerJobNumber().getBytes(StandardCharsets.UTF_8);
+    if (number.length > 0xffff) {
+      throw new IllegalArgumentException("job number too long");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(6 + number.length + json.length);
+    buffer.putInt(job.getId()).putShort((short) number.length).put(number).put(json);
+    return buffer.array();
+  }
+
+  private void index(MappedIndex idIndex, MappedIndex numberIndex, Record record, long location) throws IOException {
+    long previous = idIndex.put(record.id, location);
+    if (previous == location) {
+      return;
+    }
+    long live = idIndex.getHeader(HEADER_LIVE_BYTES) + RECORD_HEADER_BYTES + record.payload.length;
+    if (previous != MappedIndex.NO_VALUE) {
+      live -= RECORD_HEADER_BYTES + readLength(previous);
+    }
+    idIndex.setHeader(HEADER_LIVE_BYTES, live);
+    if (record.jobNumber != null) {
+      numberIndex.add(numberHash(record.jobNumber), record.id);
+    }
+  }
+
+  /**
+   * Sync the records a put wrote to the log, then point the indexes at them
+   */
+  private void indexWritten(List<Record> records, List<Long> locations) throws IOException {
+    if (records.isEmpty()) {
+      return;
+    }
+    segments.get(activeSegment).force(false);
+    for (int i = 0; i < records.size(); i++) {
+      index(ids, numbers, records.get(i), locations.get(i));
+    }
+  }
+
+  /**
+   * Lock the directory, then open the log and indexes and bring the indexes up to date with the log
+   */
+  private void open() throws IOException {
+    FileLock directoryLock = lockChannel.tryLock();
+    if (directoryLock == null) {
+      throw new IOException("mirror directory is open in another process: " + directory);
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      Iterator<Path> it = files.iterator();
+      while (it.hasNext()) {
+        String name = it.next().getFileName().toString();
+        if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+          int segment = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+          segments.put(segment, openSegment(segment));
+        } else if (name.endsWith(COMPACT_SUFFIX)) {
+          // left by a compaction which didn't finish, the segments it replaced are all still here
+          Files.delete(directory.resolve(name));
+        }
+      }
+    }
+    for (FileChannel channel : segments.values()) {
+      totalBytes += channel.size();
+    }
+    if (segments.isEmpty()) {
+      segments.put(1, openSegment(1));
+    }
+    activeSegment = segments.lastKey();
+
+    ids = new MappedIndex(directory.resolve(ID_INDEX));
+    numbers = new MappedIndex(directory.resolve(NUMBER_INDEX));
+    replay();
+  }
+
+  private FileChannel openSegment(int segment) throws IOException {
+    return FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new IOException("unexpected end of segment");
+      }
+    }
+    buffer.flip();
+  }
+
+  private int readLength(long location) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(4);
+    readFully(segments.get(segmentOf(location)), header, offsetOf(location));
+    return header.getInt();
+  }
+
+  private Record readRecord(long location) throws IOException {
+    FileChannel channel = segments.get(segmentOf(location));
+    if (channel == null) {
+      throw new IOException("index refers to a missing segment: " + segmentOf(location));
+    }
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+    readFully(channel, header, offsetOf(location));
+    ByteBuffer payload = ByteBuffer.allocate(header.getInt());
+    readFully(channel, payload, offsetOf(location) + RECORD_HEADER_BYTES);
+    return decodeRecord(payload.array());
+  }
+
+  /**
+   * Index any records written after the index was last updated, truncating a torn record at the end of the log
+   */
+  private void replay() throws IOException {
+    int fromSegment = (int) ids.getHeader(HEADER_REPLAYED_SEGMENT);
+    long fromOffset = ids.getHeader(HEADER_REPLAYED_OFFSET);
+    if (!segments.containsKey(fromSegment)) {
+      fromSegment = segments.firstKey();
+      fromOffset = 0;
+    }
+
+    int replayed = 0;
+    for (Integer segment : segments.tailMap(fromSegment, true).keySet()) {
+      FileChannel channel = segments.get(segment);
+      long offset = segment == fromSegment ? fromOffset : 0;
+      long size = channel.size();
+      ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+      while (offset < size) {
+        header.clear();
+        Record record = null;
+        if (size - offset >= RECORD_HEADER_BYTES) {
+          readFully(channel, header, offset);
+          int length = header.getInt();
+          long checksum = header.getInt() & 0xffffffffL;
+          if (length >= 6 && length <= size - offset - RECORD_HEADER_BYTES) {
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, offset + RECORD_HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if (crc.getValue() == checksum) {
+              record = decodeRecord(payload.array());
+            }
+          }
+        }
+        if (record == null) {
+          if (segment != activeSegment) {
+            throw new IOException("corrupt record in segment " + segment + " at offset " + offset);
+          }
+          logger.warn("replay - truncating torn record at the end of segment {}, offset = {}, size = {}", segment, offset, size);
+          channel.truncate(offset);
+          totalBytes -= size - offset;
+          break;
+        }
+        index(ids, numbers, record, location(segment, offset));
+        offset += RECORD_HEADER_BYTES + record.payload.length;
+        replayed++;
+      }
+    }
+    checkpoint();
+    if (replayed > 0) {
+      logger.debug("replay - indexed {} records from the log", replayed);
+    }
+  }
+
+  private Path segmentPath(int segment) {
+    return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+  }
+
+  private Job toJob(Record record) {
+    String json = new String(record.payload, record.jsonOffset, record.payload.length - record.jsonOffset, StandardCharsets.UTF_8);
+    return JsonHandle.get().getGson().fromJson(json, Job.class);
+  }
+
+  private void writeRecord(FileChannel channel, long offset, byte[] payload) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+    buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+    buffer.flip();
+    long position = offset;
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2021-2024 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package com.greenfiling.smclient.internal;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.time.DateTimeException;
 import java.time.LocalDate;
@@ -32,6 +34,7 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.greenfiling.smclient.model.Data;
 import com.greenfiling.smclient.model.Job;
 import com.greenfiling.smclient.model.JobSubmit;
@@ -168,6 +171,28 @@ public class JsonHandle {
   private Gson gson = null;
   private Gson gsonWithNulls = null;
 
+  /**
+   * Deserialize JSON directly from a stream
+   * <P>
+   * Unlike {@link Gson#fromJson(String, Type)} this never holds the whole document in memory as a String, which matters for large index pages.
+   * The reader is not closed.
+   *
+   * @param <T>
+   *          the type to deserialize to
+   * @param reader
+   *          the stream to read JSON from
+   * @param type
+   *          the type to deserialize to
+   * @return the deserialized object, or null if the stream was empty
+   * @throws IOException
+   *           if the stream could not be read
+   * @since 1.0.15
+   */
+  public <T> T fromJson(Reader reader, Type type) throws IOException {
+    JsonReader jsonReader = new JsonReader(reader);
+    return getGson().fromJson(jsonReader, type);
+  }
+
   /**
    * @return the instantiated and configured Gson object
    */
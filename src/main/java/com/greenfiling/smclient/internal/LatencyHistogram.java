@@ -0,0 +1,147 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, with percentiles accurate to within about 12%
+ * <P>
+ * Latencies are recorded in microseconds into log-linear buckets: values below {@link #LINEAR_LIMIT} get a bucket each, and above that every power of
+ * two is split into {@link #SUB_BUCKETS} equal buckets. Recording is a couple of shifts and one atomic increment, so many threads can record at once
+ * without contention on a lock, and memory use is fixed no matter how many values are recorded. Percentiles are reported as the upper bound of the
+ * bucket they fall in.
+ * <P>
+ * Used by {@link InMemoryClientMetrics}.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class LatencyHistogram {
+  /**
+   * Values below this many microseconds are recorded exactly
+   */
+  public static final int LINEAR_LIMIT = 16;
+  /**
+   * Number of buckets each power of two above {@link #LINEAR_LIMIT} is split into
+   */
+  public static final int SUB_BUCKETS = 8;
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int LINEAR_BITS = 4;
+  // enough for values up to Long.MAX_VALUE microseconds
+  private static final int BUCKETS = LINEAR_LIMIT + (63 - LINEAR_BITS + 1) * SUB_BUCKETS;
+
+  private static int bucketFor(long micros) {
+    if (micros < LINEAR_LIMIT) {
+      return (int) Math.max(0, micros);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int sub = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+    return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + sub;
+  }
+
+  private static long upperBoundMicros(int bucket) {
+    if (bucket < LINEAR_LIMIT) {
+      return bucket;
+    }
+    int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+    int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return ((SUB_BUCKETS + sub) * width) + width - 1;
+  }
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumMicros = new LongAdder();
+  private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+  /**
+   * @return the number of values recorded
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return the largest value recorded, in nanoseconds (to microsecond precision)
+   */
+  public long getMaxNanos() {
+    return TimeUnit.MICROSECONDS.toNanos(maxMicros.get());
+  }
+
+  /**
+   * @return the mean of the values recorded, in nanoseconds (to microsecond precision), or 0 if none have been
+   */
+  public long getMeanNanos() {
+    long n = count.sum();
+    return n == 0 ? 0 : TimeUnit.MICROSECONDS.toNanos(sumMicros.sum() / n);
+  }
+
+  /**
+   * Get a percentile of the values recorded
+   * <P>
+   * Values recorded while this runs may or may not be included.
+   *
+   * @param percentile
+   *          the percentile to get, between 0 and 100, eg 99 for the p99
+   * @return the percentile in nanoseconds, or 0 if no values have been recorded
+   */
+  public long getPercentileNanos(double percentile) {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long target = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= target) {
+        return TimeUnit.MICROSECONDS.toNanos(Math.min(upperBoundMicros(i), maxMicros.get()));
+      }
+    }
+    return getMaxNanos();
+  }
+
+  /**
+   * Record a value
+   *
+   * @param nanos
+   *          the latency to record, in nanoseconds
+   */
+  public void record(long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+    buckets.incrementAndGet(bucketFor(micros));
+    count.increment();
+    sumMicros.add(micros);
+    maxMicros.accumulate(micros);
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram [count=" + getCount() + ", p50=" + getPercentileNanos(50) + ", p99=" + getPercentileNanos(99) + ", max=" + getMaxNanos()
+        + "]";
+  }
+}
@@ -0,0 +1,326 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongPredicate;
+
+/**
+ * A hash table from int keys to long values, kept in a memory-mapped file
+ * <P>
+ * The table uses open addressing with linear probing, in slots of 16 bytes after a 64 byte header. Lookups touch only the mapped pages, so once the
+ * pages are resident they cost no more than an in-memory map, and the table survives restarts without being rebuilt. When it becomes half full it is
+ * copied into a file twice the size, which is atomically renamed over the old one. That rename replaces a file which is still mapped, so this class
+ * needs POSIX file semantics and doesn't work on Windows.
+ * <P>
+ * Key 0 marks an empty slot and can't be stored. Entries can't be removed; tables are rebuilt from scratch instead. The header has
+ * {@link #HEADER_VALUES} spare longs for the owner's bookkeeping.
+ * <P>
+ * Not thread safe. Used by {@link JobMirror}, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class MappedIndex implements Closeable {
+  /**
+   * Visits every entry of a table
+   */
+  public interface EntryVisitor {
+    void visit(int key, long value) throws IOException;
+  }
+
+  /**
+   * Returned by {@link #get(int)} and {@link #put(int, long)} when the key isn't in the table
+   */
+  public static final long NO_VALUE = -1;
+
+  /**
+   * The number of longs in the header available through {@link #getHeader(int)} and {@link #setHeader(int, long)}
+   */
+  public static final int HEADER_VALUES = 6;
+
+  private static final int MAGIC = 0x534d4958;
+  private static final int HEADER_BYTES = 64;
+  private static final int SLOT_BYTES = 16;
+  private static final int MIN_CAPACITY = 1024;
+  private static final int MAX_CAPACITY = 1 << 26;
+
+  private static int slotFor(int key, int capacity) {
+    int h = key * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (capacity - 1);
+  }
+
+  private final Path file;
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int capacity;
+  private int size;
+
+  /**
+   * Open the table in a file, creating it if it doesn't exist
+   *
+   * @param file
+   *          the file
+   * @throws IOException
+   *           if the file can't be mapped or isn't a table
+   */
+  public MappedIndex(Path file) throws IOException {
+    this(file, MIN_CAPACITY);
+  }
+
+  private MappedIndex(Path file, int capacity) throws IOException {
+    this.file = file;
+    boolean exists = Files.exists(file) && Files.size(file) > 0;
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    if (exists) {
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      if (header.getInt(0) != MAGIC) {
+        channel.close();
+        throw new IOException("not an index file: " + file);
+      }
+      this.capacity = header.getInt(4);
+      map();
+      this.size = buffer.getInt(8);
+    } else {
+      this.capacity = capacity;
+      map();
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, capacity);
+      buffer.putInt(8, 0);
+    }
+  }
+
+  /**
+   * Add an entry, keeping any other values already stored for the key
+   * <P>
+   * For tables which map a hash to every record with that hash. Adding a pair which is already present does nothing.
+   *
+   * @param key
+   *          the key, not 0
+   * @param value
+   *          the value, not {@link #NO_VALUE}
+   * @throws IOException
+   *           if the table had to grow and couldn't
+   */
+  public void add(int key, long value) throws IOException {
+    checkKey(key);
+    int slot = slotFor(key, capacity);
+    while (true) {
+      int at = slotOffset(slot);
+      int slotKey = buffer.getInt(at);
+      if (slotKey == 0) {
+        insert(at, key, value);
+        return;
+      }
+      if (slotKey == key && buffer.getLong(at + 8) == value) {
+        return;
+      }
+      slot = (slot + 1) & (capacity - 1);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel.isOpen()) {
+      buffer.force();
+      channel.close();
+    }
+  }
+
+  /**
+   * Visit every entry in the table
+   *
+   * @param visitor
+   *          called with each key and value
+   * @throws IOException
+   *           if the visitor throws it
+   */
+  public void forEach(EntryVisitor visitor) throws IOException {
+    for (int slot = 0; slot < capacity; slot++) {
+      int at = slotOffset(slot);
+      int key = buffer.getInt(at);
+      if (key != 0) {
+        visitor.visit(key, buffer.getLong(at + 8));
+      }
+    }
+  }
+
+  /**
+   * Visit the values stored for a key, in the order they were added, until the visitor returns false
+   *
+   * @param key
+   *          the key
+   * @param visitor
+   *          called with each value, returns false to stop
+   */
+  public void forEach(int key, LongPredicate visitor) {
+    int slot = slotFor(key, capacity);
+    while (true) {
+      int at = slotOffset(slot);
+      int slotKey = buffer.getInt(at);
+      if (slotKey == 0) {
+        return;
+      }
+      if (slotKey == key && !visitor.test(buffer.getLong(at + 8))) {
+        return;
+      }
+      slot = (slot + 1) & (capacity - 1);
+    }
+  }
+
+  /**
+   * Write any changes through to the file
+   */
+  public void force() {
+    buffer.force();
+  }
+
+  /**
+   * @param key
+   *          the key
+   * @return the first value stored for the key, or {@link #NO_VALUE}
+   */
+  public long get(int key) {
+    long[] found = { NO_VALUE };
+    forEach(key, value -> {
+      found[0] = value;
+      return false;
+    });
+    return found[0];
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * @param index
+   *          which of the {@link #HEADER_VALUES} header values
+   * @return the value, 0 if it has never been set
+   */
+  public long getHeader(int index) {
+    return buffer.getLong(headerOffset(index));
+  }
+
+  /**
+   * Set the value for a key, replacing any value already stored
+   *
+   * @param key
+   *          the key, not 0
+   * @param value
+   *          the value, not {@link #NO_VALUE}
+   * @return the value replaced, or {@link #NO_VALUE}
+   * @throws IOException
+   *           if the table had to grow and couldn't
+   */
+  public long put(int key, long value) throws IOException {
+    checkKey(key);
+    int slot = slotFor(key, capacity);
+    while (true) {
+      int at = slotOffset(slot);
+      int slotKey = buffer.getInt(at);
+      if (slotKey == 0) {
+        insert(at, key, value);
+        return NO_VALUE;
+      }
+      if (slotKey == key) {
+        long previous = buffer.getLong(at + 8);
+        buffer.putLong(at + 8, value);
+        return previous;
+      }
+      slot = (slot + 1) & (capacity - 1);
+    }
+  }
+
+  /**
+   * @param index
+   *          which of the {@link #HEADER_VALUES} header values
+   * @param value
+   *          the value
+   */
+  public void setHeader(int index, long value) {
+    buffer.putLong(headerOffset(index), value);
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  private void checkKey(int key) {
+    if (key == 0) {
+      throw new IllegalArgumentException("key 0 can't be stored");
+    }
+  }
+
+  private void grow() throws IOException {
+    if (capacity >= MAX_CAPACITY) {
+      throw new IOException("index is full: " + file);
+    }
+    Path temp = file.resolveSibling(file.getFileName() + ".grow");
+    Files.deleteIfExists(temp);
+    try (MappedIndex bigger = new MappedIndex(temp, capacity * 2)) {
+      forEach((key, value) -> bigger.add(key, value));
+      for (int i = 0; i < HEADER_VALUES; i++) {
+        bigger.setHeader(i, getHeader(i));
+      }
+    }
+    close();
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    capacity = capacity * 2;
+    map();
+  }
+
+  private int headerOffset(int index) {
+    if (index < 0 || index >= HEADER_VALUES) {
+      throw new IndexOutOfBoundsException("header value " + index);
+    }
+    return 16 + index * 8;
+  }
+
+  private void insert(int at, int key, long value) throws IOException {
+    if (value == NO_VALUE) {
+      throw new IllegalArgumentException("NO_VALUE can't be stored");
+    }
+    buffer.putInt(at, key);
+    buffer.putLong(at + 8, value);
+    size++;
+    buffer.putInt(8, size);
+    if (size * 2 > capacity) {
+      grow();
+    }
+  }
+
+  private void map() throws IOException {
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * SLOT_BYTES);
+  }
+
+  private int slotOffset(int slot) {
+    return HEADER_BYTES + slot * SLOT_BYTES;
+  }
+}
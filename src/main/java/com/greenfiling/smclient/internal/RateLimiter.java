@@ -0,0 +1,104 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * A token bucket rate limiter
+ * <P>
+ * The bucket holds up to <code>burst</code> tokens and refills at <code>permitsPerSecond</code>. Each request takes one token. When the bucket is
+ * empty the request is not refused; instead it reserves the next token to be added and is told how long to wait for it. Reservations are handed out
+ * in call order, so waiting requests are released at an even pace rather than all at once.
+ * <P>
+ * Used by {@link ApiHandle} when configured with {@link ApiHandle.Builder#rateLimit(double, int)} and related methods, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class RateLimiter {
+  private final double permitsPerSecond;
+  private final int burst;
+  private final double nanosPerPermit;
+  private double tokens;
+  private long lastRefillNanos;
+
+  /**
+   * @param permitsPerSecond
+   *          the sustained rate, must be greater than 0
+   * @param burst
+   *          the number of requests which can be made at once after a quiet period, must be at least 1
+   */
+  public RateLimiter(double permitsPerSecond, int burst) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalStateException("permitsPerSecond must be greater than 0");
+    }
+    if (burst < 1) {
+      throw new IllegalStateException("burst must be at least 1");
+    }
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+    this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    this.tokens = burst;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /**
+   * Take a token, waiting until one is available
+   *
+   * @throws InterruptedException
+   *           if interrupted while waiting. The reserved token is not returned
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos = reserve();
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  public int getBurst() {
+    return burst;
+  }
+
+  public double getPermitsPerSecond() {
+    return permitsPerSecond;
+  }
+
+  /**
+   * Take a token without waiting for it
+   *
+   * @return the number of nanoseconds the caller must wait before using the token, 0 if it can be used immediately
+   */
+  public synchronized long reserve() {
+    long now = System.nanoTime();
+    tokens = Math.min(burst, tokens + (now - lastRefillNanos) / nanosPerPermit);
+    lastRefillNanos = now;
+
+    tokens -= 1;
+    if (tokens >= 0) {
+      return 0;
+    }
+    return (long) Math.ceil(-tokens * nanosPerPermit);
+  }
+
+  @Override
+  public String toString() {
+    return "RateLimiter [permitsPerSecond=" + permitsPerSecond + ", burst=" + burst + "]";
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2023 Green Filing, LLC
+ * Copyright 2023-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,9 @@ import okhttp3.Request.Builder;
 public class RequestEnclosure {
   private Builder builder;
   private String requestBody;
+  private Boolean sampled;
+  private String cacheKey;
+  private EntityCache.Entry cacheEntry;
 
   public RequestEnclosure(Builder builder, String requestBody) {
     this.builder = builder;
@@ -41,7 +44,43 @@ public class RequestEnclosure {
     return builder;
   }
 
+  /**
+   * @return the cached entry this request revalidates, or null if there isn't one
+   * @since 1.0.15
+   */
+  public EntityCache.Entry getCacheEntry() {
+    return cacheEntry;
+  }
+
+  /**
+   * @return the key the response is cached under, or null if it isn't cacheable
+   * @since 1.0.15
+   */
+  public String getCacheKey() {
+    return cacheKey;
+  }
+
   public String getRequestBody() {
     return requestBody;
   }
+
+  /**
+   * @return whether this request was chosen to be recorded in the transaction history, or null if that hasn't been decided yet
+   * @since 1.0.15
+   */
+  public Boolean getSampled() {
+    return sampled;
+  }
+
+  public void setCacheEntry(EntityCache.Entry cacheEntry) {
+    this.cacheEntry = cacheEntry;
+  }
+
+  public void setCacheKey(String cacheKey) {
+    this.cacheKey = cacheKey;
+  }
+
+  public void setSampled(Boolean sampled) {
+    this.sampled = sampled;
+  }
 }
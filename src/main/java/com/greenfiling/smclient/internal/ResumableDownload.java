@@ -0,0 +1,193 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+/**
+ * Downloads a file to disk so that an interrupted download can be continued rather than restarted
+ * <P>
+ * While downloading, content is written to a partial file next to the target (target + {@link #PART_SUFFIX}), and the response's validator (a strong
+ * ETag, or failing that Last-Modified) is saved alongside it (target + {@link #VALIDATOR_SUFFIX}). If the download fails, both are left in place. The
+ * next attempt sends a <code>Range</code> request for the remaining bytes with an <code>If-Range</code> header holding the saved validator, so the
+ * server only sends a partial response if the file has not changed. Any other answer falls back cleanly:
+ * <UL>
+ * <LI><B>206</B> - the Content-Range is checked to start where the partial file ends, and the remainder is appended</LI>
+ * <LI><B>200</B> - the server ignored the range or the file changed, the partial file is replaced with the full response</LI>
+ * <LI><B>416</B> - if the server reports the partial file is already the full length it is accepted, otherwise the download is restarted</LI>
+ * </UL>
+ * Once the partial file's length matches the length the server reported, it is moved to the target and the validator file is removed.
+ * <P>
+ * Used by {@link com.greenfiling.smclient.ApiHandle#doGetFileResumable(String, String)}, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class ResumableDownload {
+  private static final Logger logger = LoggerFactory.getLogger(ResumableDownload.class);
+  private static final Pattern CONTENT_RANGE = Pattern.compile("^bytes\\s+(?:(\\d+)-(\\d+)|\\*)/(\\d+|\\*)$");
+  private static final long CHUNK_SIZE = 1024 * 1024;
+
+  /**
+   * Suffix added to the target path to name the partial file
+   */
+  public static final String PART_SUFFIX = ".part";
+  /**
+   * Suffix added to the target path to name the file holding the partial file's validator
+   */
+  public static final String VALIDATOR_SUFFIX = ".part.validator";
+
+  private OkHttpClient client;
+  private Request request;
+  private Path target;
+  private Path part;
+  private Path validatorFile;
+
+  /**
+   * @param client
+   *          the client to run requests with
+   * @param request
+   *          the request for the whole file, including any authentication headers
+   * @param filePath
+   *          File on disk to save contents of download to
+   */
+  public ResumableDownload(OkHttpClient client, Request request, String filePath) {
+    this.client = client;
+    // Range offsets have to refer to the same bytes we wrote, so never let the transfer be compressed
+    this.request = request.newBuilder().header("Accept-Encoding", "identity").build();
+    this.target = Paths.get(filePath);
+    this.part = Paths.get(filePath + PART_SUFFIX);
+    this.validatorFile = Paths.get(filePath + VALIDATOR_SUFFIX);
+  }
+
+  /**
+   * Perform the download, resuming from a previous partial download if possible
+   *
+   * @return the number of bytes which were already on disk and did not need to be downloaded again
+   * @throws IOException
+   *           thrown if file cannot be downloaded for any reason. The partial file is kept so the download can be resumed
+   */
+  public long run() throws IOException {
+    long offset = Files.exists(part) ? Files.size(part) : 0;
+    String validator = Files.exists(validatorFile) ? new String(Files.readAllBytes(validatorFile), StandardCharsets.UTF_8).trim() : "";
+
+    if (offset > 0 && !validator.isEmpty()) {
+      Request rangeRequest = request.newBuilder().header("Range", "bytes=" + offset + "-").header("If-Range", validator).build();
+      try (Response response = client.newCall(rangeRequest).execute()) {
+        Matcher range = CONTENT_RANGE.matcher(response.header("Content-Range", "").trim());
+        boolean rangeValid = range.matches();
+
+        if (response.code() == 206 && rangeValid && range.group(1) != null && Long.parseLong(range.group(1)) == offset) {
+          logger.debug("run - resuming {} at byte {}", target, offset);
+          writeBody(response, offset);
+          finish(parseTotal(range));
+          return offset;
+        } else if (response.code() == 200) {
+          logger.debug("run - server sent the full file for {}, discarding {} partial bytes", target, offset);
+          writeFull(response);
+          return 0;
+        } else if (response.code() == 416 && rangeValid && parseTotal(range) == offset) {
+          logger.debug("run - partial file for {} is already complete", target);
+          finish(offset);
+          return offset;
+        } else if (response.code() != 206 && response.code() != 416) {
+          throw new IOException("Couldn't download file: " + response);
+        }
+        logger.debug("run - unusable range response for {} ({}, Content-Range {}), restarting", target, response.code(),
+            response.header("Content-Range"));
+      }
+    }
+
+    try (Response response = client.newCall(request).execute()) {
+      if (!response.isSuccessful()) {
+        throw new IOException("Couldn't download file: " + response);
+      }
+      writeFull(response);
+    }
+    return 0;
+  }
+
+  private void finish(long expectedLength) throws IOException {
+    long actualLength = Files.size(part);
+    if (expectedLength >= 0 && actualLength != expectedLength) {
+      throw new IOException("Download of " + target + " incomplete, expected " + expectedLength + " bytes but have " + actualLength);
+    }
+
+    try {
+      Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    Files.deleteIfExists(validatorFile);
+  }
+
+  private String getValidator(Response response) {
+    // If-Range only allows strong validators
+    String etag = response.header("ETag");
+    if (etag != null && !etag.startsWith("W/")) {
+      return etag;
+    }
+    return response.header("Last-Modified");
+  }
+
+  private long parseTotal(Matcher range) {
+    return "*".equals(range.group(3)) ? -1 : Long.parseLong(range.group(3));
+  }
+
+  private void writeBody(Response response, long offset) throws IOException {
+    try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      channel.truncate(offset);
+      BufferedSource source = response.body().source();
+      long position = offset;
+      long count;
+      while ((count = channel.transferFrom(source, position, CHUNK_SIZE)) > 0) {
+        position += count;
+      }
+    }
+  }
+
+  private void writeFull(Response response) throws IOException {
+    // without a validator a later resume couldn't tell whether the file changed, so don't leave one around to be trusted
+    String validator = getValidator(response);
+    if (validator == null) {
+      Files.deleteIfExists(validatorFile);
+    } else {
+      Files.write(validatorFile, validator.getBytes(StandardCharsets.UTF_8));
+    }
+
+    writeBody(response, 0);
+    finish(response.body().contentLength());
+  }
+}
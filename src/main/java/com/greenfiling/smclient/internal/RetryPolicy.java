@@ -0,0 +1,423 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * Decides which failed API requests are retried, and how long to wait before each retry
+ * <P>
+ * A request is retried when it fails with an IOException (a connection failure or timeout) or with a response code which means the server is
+ * temporarily unable to handle it (429, 502, 503 or 504). IOExceptions which won't go away by trying again, an unknown host or a failed TLS
+ * handshake or certificate check, are not retried. Only reads (GET and HEAD) are retried unless {@link Builder#retryWrites(boolean)} is set,
+ * since a write which timed out may have been applied anyway.
+ * <P>
+ * If the response carries a <code>Retry-After</code> header, the retry waits that long. Otherwise the wait is chosen with "decorrelated jitter": a
+ * random value between the base delay and three times the previous wait, capped at the maximum delay. This spreads out retries from many clients
+ * which failed at the same moment instead of having them all come back together. A Retry-After longer than the maximum delay is not waited for, the
+ * failure is returned instead.
+ * <P>
+ * All requests made with a policy share one retry budget. Each request adds {@link Builder#budget(double, int) ratio} of a retry to the budget, up to
+ * the reserve, and each retry spends a whole one. When the budget is empty, failures are returned without retrying. This caps retries at a fixed
+ * fraction of normal traffic, so an outage doesn't have every client multiplying its load on the server.
+ * <P>
+ * The policy can be customized by overriding {@link #isRetryable(int)}, {@link #isRetryable(IOException)}, {@link #isRetryable(String)} or
+ * {@link #nextDelayMillis(long)}. Used by {@link ApiHandle} when configured with {@link ApiHandle.Builder#retryPolicy(RetryPolicy)}.
+ * <P>
+ * <B>Example:</B><BR>
+ * <code>
+ * RetryPolicy retryPolicy = new RetryPolicy.Builder().maxAttempts(5).retryWrites(true).build();
+ * </code>
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class RetryPolicy {
+  /**
+   * The builder interface for creating {@link RetryPolicy} objects
+   *
+   * @author jetmore
+   * @since 1.0.15
+   */
+  public static class Builder {
+    private static final Logger logger = LoggerFactory.getLogger(Builder.class);
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private long baseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+    private boolean retryWrites = false;
+    private double budgetRatio = DEFAULT_BUDGET_RATIO;
+    private int budgetReserve = DEFAULT_BUDGET_RESERVE;
+
+    /**
+     * Sets the shortest wait before a retry
+     * <P>
+     * If this is not set, the builder will default to {@link RetryPolicy#DEFAULT_BASE_DELAY_MILLIS}
+     *
+     * @param baseDelayMillis
+     *          the shortest wait, in milliseconds, must be greater than 0
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder baseDelay(long baseDelayMillis) {
+      this.baseDelayMillis = baseDelayMillis;
+      return this;
+    }
+
+    /**
+     * Sets the retry budget
+     * <P>
+     * If this is not set, the builder will default to {@link RetryPolicy#DEFAULT_BUDGET_RATIO} and {@link RetryPolicy#DEFAULT_BUDGET_RESERVE}
+     *
+     * @param ratio
+     *          the fraction of a retry each request adds to the budget, between 0 and 1. For example 0.1 allows one retry per ten requests over time
+     * @param reserve
+     *          the most retries the budget can hold, which is also what it starts with, must be at least 0
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder budget(double ratio, int reserve) {
+      this.budgetRatio = ratio;
+      this.budgetReserve = reserve;
+      return this;
+    }
+
+    /**
+     * Uses the parameters set on the build to instantiate and return a {@link RetryPolicy} object
+     *
+     * @return An instantiated {@link RetryPolicy} if no configuration errors are found
+     * @throws IllegalStateException
+     *           If any {@link Builder} settings are invalid
+     */
+    public RetryPolicy build() {
+      validate();
+      return new RetryPolicy(this);
+    }
+
+    /**
+     * Sets how many times a request may be attempted in total, including the first attempt
+     * <P>
+     * If this is not set, the builder will default to {@link RetryPolicy#DEFAULT_MAX_ATTEMPTS}
+     *
+     * @param maxAttempts
+     *          the most attempts, must be at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the longest wait before a retry
+     * <P>
+     * If this is not set, the builder will default to {@link RetryPolicy#DEFAULT_MAX_DELAY_MILLIS}. A Retry-After header asking for a longer wait than
+     * this causes the request to fail instead.
+     *
+     * @param maxDelayMillis
+     *          the longest wait, in milliseconds, must be at least the base delay
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder maxDelay(long maxDelayMillis) {
+      this.maxDelayMillis = maxDelayMillis;
+      return this;
+    }
+
+    /**
+     * Sets whether writes (POST and PUT) are retried as well as reads
+     * <P>
+     * Defaults to false. Only enable this if creating or updating the same record twice is harmless, since a write which timed out or got a 502 may
+     * have been applied anyway.
+     *
+     * @param retryWrites
+     *          true to retry writes
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder retryWrites(boolean retryWrites) {
+      this.retryWrites = retryWrites;
+      return this;
+    }
+
+    private void validate() throws IllegalStateException {
+      ArrayList<String> errors = new ArrayList<String>();
+      if (maxAttempts < 1) {
+        errors.add("maxAttempts must be at least 1");
+      }
+      if (baseDelayMillis <= 0 || maxDelayMillis < baseDelayMillis) {
+        errors.add("baseDelay must be greater than 0 and maxDelay must be at least baseDelay");
+      }
+      if (!(budgetRatio >= 0 && budgetRatio <= 1) || budgetReserve < 0) {
+        errors.add("budget requires ratio between 0 and 1 and reserve of at least 0");
+      }
+
+      if (errors.size() > 0) {
+        logger.error("validate - failed validation.  Errors: {}", errors.toString());
+        throw new IllegalStateException(errors.toString());
+      }
+    }
+  }
+
+  /**
+   * The retry state of a single request
+   * <P>
+   * Obtained from {@link RetryPolicy#start(String)} and consulted after each failed attempt. Not thread safe, but a request only has one attempt in
+   * flight at a time.
+   *
+   * @author jetmore
+   * @since 1.0.15
+   */
+  public class Retry {
+    private int attempts = 1;
+    private long previousDelayMillis = 0;
+
+    /**
+     * @return the number of attempts made so far, including the first
+     */
+    public int getAttempts() {
+      return attempts;
+    }
+
+    /**
+     * Decide whether to retry after the attempt failed with an exception
+     *
+     * @param e
+     *          the exception the attempt failed with
+     * @return the number of milliseconds to wait before retrying, or -1 if the request should not be retried
+     */
+    public long nextDelayMillis(IOException e) {
+      if (!isRetryable(e)) {
+        return -1;
+      }
+      return nextDelay(null);
+    }
+
+    /**
+     * Decide whether to retry after the attempt got an unsuccessful response
+     *
+     * @param responseCode
+     *          the response's status code
+     * @param retryAfter
+     *          the value of the response's Retry-After header, or null if it had none
+     * @return the number of milliseconds to wait before retrying, or -1 if the request should not be retried
+     */
+    public long nextDelayMillis(int responseCode, String retryAfter) {
+      if (!isRetryable(responseCode)) {
+        return -1;
+      }
+      return nextDelay(parseRetryAfterMillis(retryAfter));
+    }
+
+    private long nextDelay(Long requestedDelayMillis) {
+      if (attempts >= maxAttempts) {
+        return -1;
+      }
+
+      long delay = requestedDelayMillis != null ? requestedDelayMillis : RetryPolicy.this.nextDelayMillis(previousDelayMillis);
+      if (delay > maxDelayMillis || !withdrawBudget()) {
+        return -1;
+      }
+      attempts++;
+      previousDelayMillis = delay;
+      return delay;
+    }
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+
+  /**
+   * The default number of attempts, including the first
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 4;
+  /**
+   * The default shortest wait, in milliseconds, before a retry
+   */
+  public static final long DEFAULT_BASE_DELAY_MILLIS = 200;
+  /**
+   * The default longest wait, in milliseconds, before a retry
+   */
+  public static final long DEFAULT_MAX_DELAY_MILLIS = 30000;
+  /**
+   * The default fraction of a retry each request adds to the retry budget
+   */
+  public static final double DEFAULT_BUDGET_RATIO = 0.2;
+  /**
+   * The default number of retries the retry budget can hold
+   */
+  public static final int DEFAULT_BUDGET_RESERVE = 10;
+
+  /**
+   * Parse a Retry-After header, which is either a number of seconds or an HTTP date
+   *
+   * @return the number of milliseconds to wait, or null if the header is missing or can't be parsed
+   */
+  private static Long parseRetryAfterMillis(String retryAfter) {
+    if (retryAfter == null || retryAfter.trim().isEmpty()) {
+      return null;
+    }
+
+    String value = retryAfter.trim();
+    try {
+      return Math.max(0, Long.parseLong(value) * 1000);
+    } catch (NumberFormatException e) {
+      // not seconds, try a date
+    }
+    try {
+      ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+      return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+    } catch (DateTimeParseException e) {
+      logger.debug("parseRetryAfterMillis - ignoring unparseable Retry-After header {}", value);
+      return null;
+    }
+  }
+
+  private final int maxAttempts;
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+  private final boolean retryWrites;
+  private final double budgetRatio;
+  private final int budgetReserve;
+  private double budget;
+
+  /**
+   * Instantiates a RetryPolicy object based off a Builder object
+   * <P>
+   * Normally only called by {@link Builder#build()}, but available to subclasses which customize the policy
+   *
+   * @param builder
+   *          the builder holding the policy's settings
+   */
+  protected RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.baseDelayMillis = builder.baseDelayMillis;
+    this.maxDelayMillis = builder.maxDelayMillis;
+    this.retryWrites = builder.retryWrites;
+    this.budgetRatio = builder.budgetRatio;
+    this.budgetReserve = builder.budgetReserve;
+    this.budget = builder.budgetReserve;
+  }
+
+  /**
+   * @return the number of retries currently available in the retry budget
+   */
+  public synchronized double getBudget() {
+    return budget;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public boolean getRetryWrites() {
+    return retryWrites;
+  }
+
+  /**
+   * Whether a failed attempt with this response code should be retried
+   * <P>
+   * By default 429 (Too Many Requests), 502 (Bad Gateway), 503 (Service Unavailable) and 504 (Gateway Timeout) are retried
+   *
+   * @param responseCode
+   *          the response's status code
+   * @return true if the attempt may be retried
+   */
+  public boolean isRetryable(int responseCode) {
+    return responseCode == 429 || responseCode == 502 || responseCode == 503 || responseCode == 504;
+  }
+
+  /**
+   * Whether an attempt which failed with this exception should be retried
+   * <P>
+   * By default IOExceptions are retried (connection failures, timeouts, resets), except UnknownHostException, SSLHandshakeException and
+   * SSLPeerUnverifiedException. Those are configuration problems, and retrying them would only spend the retry budget.
+   *
+   * @param e
+   *          the exception the attempt failed with
+   * @return true if the attempt may be retried
+   */
+  public boolean isRetryable(IOException e) {
+    return !(e instanceof UnknownHostException || e instanceof SSLHandshakeException || e instanceof SSLPeerUnverifiedException);
+  }
+
+  /**
+   * Whether requests with this HTTP method may be retried at all
+   * <P>
+   * By default GET and HEAD are, and other methods only if {@link Builder#retryWrites(boolean)} was set
+   *
+   * @param method
+   *          the request's HTTP method
+   * @return true if requests with this method may be retried
+   */
+  public boolean isRetryable(String method) {
+    return "GET".equals(method) || "HEAD".equals(method) || retryWrites;
+  }
+
+  /**
+   * Choose how long to wait before the next retry when the server didn't say
+   * <P>
+   * The default is decorrelated jitter: a random wait between the base delay and three times the previous wait, capped at the maximum delay
+   *
+   * @param previousDelayMillis
+   *          the wait before the previous retry of this request, or 0 if this is the first retry
+   * @return the number of milliseconds to wait
+   */
+  public long nextDelayMillis(long previousDelayMillis) {
+    long upper = Math.max(baseDelayMillis, Math.min(maxDelayMillis, previousDelayMillis * 3));
+    return upper == baseDelayMillis ? baseDelayMillis : ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1);
+  }
+
+  /**
+   * Start tracking a new request
+   * <P>
+   * Every request adds to the retry budget, whether or not it can itself be retried
+   *
+   * @param method
+   *          the request's HTTP method
+   * @return the request's retry state, or null if requests with this method are never retried
+   */
+  public Retry start(String method) {
+    synchronized (this) {
+      budget = Math.min(budgetReserve, budget + budgetRatio);
+    }
+    return isRetryable(method) ? new Retry() : null;
+  }
+
+  @Override
+  public String toString() {
+    return "RetryPolicy [maxAttempts=" + maxAttempts + ", baseDelayMillis=" + baseDelayMillis + ", maxDelayMillis=" + maxDelayMillis
+        + ", retryWrites=" + retryWrites + ", budgetRatio=" + budgetRatio + ", budgetReserve=" + budgetReserve + "]";
+  }
+
+  private synchronized boolean withdrawBudget() {
+    if (budget < 1) {
+      logger.info("withdrawBudget - retry budget exhausted, not retrying");
+      return false;
+    }
+    budget -= 1;
+    return true;
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.greenfiling.smclient.ApiHandle;
+
+/**
+ * A fixed-capacity, lock-free buffer which keeps the most recently added items
+ * <P>
+ * Adding claims the next sequence number with a single atomic increment and writes the item into the slot that number maps to, overwriting the
+ * oldest item once the buffer is full. Neither adding nor reading ever blocks or shifts existing items, so any number of threads can add at once.
+ * <P>
+ * Each slot remembers the sequence number it was written for, so a snapshot taken while other threads are adding skips slots which have been
+ * claimed but not yet written, or overwritten since the snapshot started, rather than returning an item twice or out of order.
+ * <P>
+ * Used by {@link ApiHandle} to hold its {@link Transaction} history, should not be used directly.
+ *
+ * @param <E>
+ *          the type of item held
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class RingBuffer<E> {
+  private static class Slot<E> {
+    private final long sequence;
+    private final E item;
+
+    private Slot(long sequence, E item) {
+      this.sequence = sequence;
+      this.item = item;
+    }
+  }
+
+  private final int capacity;
+  private final AtomicReferenceArray<Slot<E>> slots;
+  private final AtomicLong nextSequence = new AtomicLong();
+
+  /**
+   * @param capacity
+   *          the number of items kept, must be at least 0. A buffer with no capacity discards everything added to it
+   */
+  public RingBuffer(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalStateException("capacity must be at least 0");
+    }
+    this.capacity = capacity;
+    this.slots = new AtomicReferenceArray<Slot<E>>(Math.max(capacity, 1));
+  }
+
+  /**
+   * Add an item, discarding the oldest item if the buffer is full
+   *
+   * @param item
+   *          the item to add
+   */
+  public void add(E item) {
+    if (capacity == 0) {
+      return;
+    }
+    long sequence = nextSequence.getAndIncrement();
+    slots.set((int) (sequence % capacity), new Slot<E>(sequence, item));
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Copy the items currently held
+   *
+   * @return a new list of the items, newest first. Changes to it do not affect the buffer
+   */
+  public ArrayList<E> snapshot() {
+    long end = nextSequence.get();
+    long start = Math.max(0, end - capacity);
+    ArrayList<E> items = new ArrayList<E>((int) (end - start));
+    for (long sequence = end - 1; sequence >= start; sequence--) {
+      Slot<E> slot = slots.get((int) (sequence % capacity));
+      if (slot != null && slot.sequence == sequence) {
+        items.add(slot.item);
+      }
+    }
+    return items;
+  }
+
+  @Override
+  public String toString() {
+    return "RingBuffer [capacity=" + capacity + ", added=" + nextSequence.get() + "]";
+  }
+}
@@ -0,0 +1,434 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.CompanyClient;
+import com.greenfiling.smclient.Exceptions.PageFetchException;
+import com.greenfiling.smclient.JobClient;
+import com.greenfiling.smclient.SupplierCostClient;
+import com.greenfiling.smclient.model.Company;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.SupplierCost;
+import com.greenfiling.smclient.model.exchange.CompanyFilter;
+import com.greenfiling.smclient.model.exchange.FilterDateRange;
+import com.greenfiling.smclient.model.exchange.JobFilter;
+import com.greenfiling.smclient.model.exchange.SupplierCostFilter;
+import com.greenfiling.smclient.model.internal.FilterBase;
+
+/**
+ * Pulls the records of an index which changed since the previous run, and hands them to a {@link Sink}
+ * <P>
+ * Each engine keeps a high-water mark: the latest change time of any record it has delivered, as reported by the server. A run asks the server only
+ * for records changed since that mark, less an overlap window, so records written while the previous run was reading (or stamped by a server clock
+ * that was a little behind) aren't missed. The first run, when there is no mark yet, reads the whole index.
+ * <P>
+ * The mark is saved to a {@link WatermarkStore} only once every record of the run has been accepted by the sink, so if the sink or a page fetch
+ * fails, the next run starts from the same place. Delivery is therefore at least once: records inside the overlap window, and records from a failed
+ * run, are delivered again, and sinks must treat them as upserts.
+ * <P>
+ * Watermarks are stored under the engine's name plus the query string of its filter without the since condition, so one store can hold the marks of
+ * several endpoints, and of differently filtered syncs of the same endpoint, without them interfering. The since condition is what carries a date
+ * range type, so {@link #jobs(JobClient, String, Function)} and {@link #companies(CompanyClient, String, Function)} name their engines after the
+ * endpoint and the range type, eg "jobs:created_at".
+ * <P>
+ * The ServeManager API doesn't filter every endpoint by update time. Supplier costs can be ({@link #supplierCosts(SupplierCostClient)}), but jobs
+ * and companies only by the date ranges in {@link FilterDateRange}, so {@link #jobs(JobClient, String, Function)} and
+ * {@link #companies(CompanyClient, String, Function)} take the range type and the matching field of the record. Any other index can be synced by
+ * configuring the {@link Builder} directly.
+ * <P>
+ * <B>EXAMPLE:</B><BR>
+ * <code>
+ * SyncEngine&lt;SupplierCost&gt; engine = SyncEngine.supplierCosts(new SupplierCostClient(handle))<br>
+ * &nbsp;&nbsp;.store(new FileWatermarkStore(Paths.get("watermarks.properties")))<br>
+ * &nbsp;&nbsp;.build();<br>
+ * engine.sync(batch -&gt; database.upsert(batch));
+ * </code>
+ *
+ * @param <T>
+ *          the type of record synced
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class SyncEngine<T> {
+  /**
+   * Builder class to create a {@link SyncEngine}
+   * <P>
+   * client, name, filter, changedAt and store are required.
+   *
+   * @param <T>
+   *          the type of record synced
+   */
+  public static class Builder<T> {
+    private ApiClient<?, T, ?> client;
+    private String name;
+    private Function<OffsetDateTime, FilterBase> filter;
+    private Function<T, OffsetDateTime> changedAt;
+    private WatermarkStore store;
+    private Duration overlap = DEFAULT_OVERLAP;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public Builder() {
+
+    }
+
+    /**
+     * Sets the number of records handed to the sink at a time
+     * <P>
+     * Defaults to {@link SyncEngine#DEFAULT_BATCH_SIZE}
+     *
+     * @param batchSize
+     *          the maximum records per batch, at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> batchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    public SyncEngine<T> build() throws IllegalStateException {
+      validate();
+      return new SyncEngine<T>(this);
+    }
+
+    /**
+     * Sets how to read the change time of a record
+     * <P>
+     * This has to be the same field the filter's since condition is applied to, since the highest value seen becomes the since of the next run.
+     *
+     * @param changedAt
+     *          returns the time a record was last changed, or null if it doesn't have one
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> changedAt(Function<T, OffsetDateTime> changedAt) {
+      this.changedAt = changedAt;
+      return this;
+    }
+
+    /**
+     * Sets the client whose index is synced
+     *
+     * @param client
+     *          the client, which must support indexAsync and getNextAsync
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> client(ApiClient<?, T, ?> client) {
+      this.client = client;
+      return this;
+    }
+
+    /**
+     * Sets how to build the filter for a run
+     * <P>
+     * The function is given the time to read changes from, already adjusted for the overlap and in UTC, or null when the whole index should be read.
+     * It is also called with null to find the key the watermark is stored under, so anything other than the since condition must not change between
+     * runs.
+     *
+     * @param filter
+     *          builds the filter for a since time
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> filter(Function<OffsetDateTime, FilterBase> filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    /**
+     * Sets the name the watermark is stored under, typically the endpoint
+     *
+     * @param name
+     *          the name
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    /**
+     * Sets how far before the watermark each run starts reading
+     * <P>
+     * Defaults to {@link SyncEngine#DEFAULT_OVERLAP}. This covers records which were being written while the previous run read the index, and skew
+     * between the clocks of the servers that stamp them. Records inside the window are delivered again.
+     *
+     * @param overlap
+     *          the overlap, zero or more
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> overlap(Duration overlap) {
+      this.overlap = overlap;
+      return this;
+    }
+
+    /**
+     * Sets where watermarks are kept between runs
+     *
+     * @param store
+     *          the store, eg a {@link FileWatermarkStore}
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder<T> store(WatermarkStore store) {
+      this.store = store;
+      return this;
+    }
+
+    private void validate() throws IllegalStateException {
+      ArrayList<String> errors = new ArrayList<String>();
+      if (client == null) {
+        errors.add("client is required");
+      }
+      if (name == null || name.isEmpty()) {
+        errors.add("name is required");
+      }
+      if (filter == null) {
+        errors.add("filter is required");
+      }
+      if (changedAt == null) {
+        errors.add("changedAt is required");
+      }
+      if (store == null) {
+        errors.add("store is required");
+      }
+      if (overlap == null || overlap.isNegative()) {
+        errors.add("overlap must be zero or more");
+      }
+      if (batchSize < 1) {
+        errors.add("batchSize must be at least 1");
+      }
+
+      if (errors.size() > 0) {
+        logger.error("validate - failed validation.  Errors: {}", errors.toString());
+        throw new IllegalStateException(errors.toString());
+      }
+    }
+  }
+
+  /**
+   * Receives the records changed since the previous run
+   *
+   * @param <T>
+   *          the type of record received
+   */
+  public interface Sink<T> {
+    /**
+     * Handle a batch of changed records. Throwing stops the run without moving the watermark
+     *
+     * @param batch
+     *          the records, never empty
+     * @throws Exception
+     *           if the batch couldn't be handled
+     */
+    void accept(List<T> batch) throws Exception;
+  }
+
+  /**
+   * Keeps watermarks between runs
+   */
+  public interface WatermarkStore {
+    /**
+     * @param key
+     *          the watermark's key
+     * @return the saved watermark, or null if there isn't one
+     * @throws IOException
+     *           if the store couldn't be read
+     */
+    OffsetDateTime load(String key) throws IOException;
+
+    /**
+     * @param key
+     *          the watermark's key
+     * @param watermark
+     *          the watermark to save
+     * @throws IOException
+     *           if the store couldn't be written
+     */
+    void save(String key, OffsetDateTime watermark) throws IOException;
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(SyncEngine.class);
+
+  /**
+   * The default overlap between runs
+   */
+  public static final Duration DEFAULT_OVERLAP = Duration.ofMinutes(5);
+
+  /**
+   * The default number of records handed to the sink at a time
+   */
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  /**
+   * A builder which syncs companies by one of the date ranges of {@link CompanyFilter}
+   *
+   * @param client
+   *          the company client
+   * @param dateRangeType
+   *          the {@link FilterDateRange} type to filter on, eg {@link FilterDateRange#TYPE_CREATED_AT}
+   * @param changedAt
+   *          reads the field of a company which the range type filters on
+   * @return a {@link Builder} with everything but the store set
+   */
+  public static Builder<Company> companies(CompanyClient client, String dateRangeType, Function<Company, OffsetDateTime> changedAt) {
+    return new Builder<Company>().client(client).name(CompanyClient.ENDPOINT + ":" + dateRangeType).changedAt(changedAt).filter(since -> {
+      CompanyFilter filter = new CompanyFilter();
+      filter.setDateRange(since == null ? null : dateRange(dateRangeType, since));
+      return filter;
+    });
+  }
+
+  /**
+   * A builder which syncs jobs by one of the date ranges of {@link JobFilter}
+   *
+   * @param client
+   *          the job client
+   * @param dateRangeType
+   *          the {@link FilterDateRange} type to filter on, eg {@link FilterDateRange#TYPE_ARCHIVED_AT}
+   * @param changedAt
+   *          reads the field of a job which the range type filters on, eg Job::getArchivedAt
+   * @return a {@link Builder} with everything but the store set
+   */
+  public static Builder<Job> jobs(JobClient client, String dateRangeType, Function<Job, OffsetDateTime> changedAt) {
+    return new Builder<Job>().client(client).name(JobClient.ENDPOINT + ":" + dateRangeType).changedAt(changedAt).filter(since -> {
+      JobFilter filter = new JobFilter();
+      filter.setDateRange(since == null ? null : dateRange(dateRangeType, since));
+      return filter;
+    });
+  }
+
+  /**
+   * A builder which syncs supplier costs by their update time
+   *
+   * @param client
+   *          the supplier cost client
+   * @return a {@link Builder} with everything but the store set
+   */
+  public static Builder<SupplierCost> supplierCosts(SupplierCostClient client) {
+    return new Builder<SupplierCost>().client(client).name(SupplierCostClient.ENDPOINT).changedAt(SupplierCost::getUpdatedAt).filter(since -> {
+      SupplierCostFilter filter = new SupplierCostFilter();
+      filter.setUpdatedSince(since);
+      return filter;
+    });
+  }
+
+  private static FilterDateRange dateRange(String type, OffsetDateTime since) {
+    FilterDateRange range = new FilterDateRange();
+    range.setType(type);
+    range.setMin(since);
+    return range;
+  }
+
+  private final ApiClient<?, T, ?> client;
+  private final String key;
+  private final Function<OffsetDateTime, FilterBase> filter;
+  private final Function<T, OffsetDateTime> changedAt;
+  private final WatermarkStore store;
+  private final Duration overlap;
+  private final int batchSize;
+
+  private SyncEngine(Builder<T> builder) {
+    this.client = builder.client;
+    this.filter = builder.filter;
+    this.changedAt = builder.changedAt;
+    this.store = builder.store;
+    this.overlap = builder.overlap;
+    this.batchSize = builder.batchSize;
+
+    FilterBase unbounded = filter.apply(null);
+    String query = unbounded == null ? "" : unbounded.getQueryString();
+    this.key = query.isEmpty() ? builder.name : builder.name + "?" + query;
+  }
+
+  /**
+   * @return the key this engine's watermark is stored under
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * @return the saved watermark, or null if the engine hasn't completed a run which delivered anything
+   * @throws IOException
+   *           if the store couldn't be read
+   */
+  public OffsetDateTime getWatermark() throws IOException {
+    return store.load(key);
+  }
+
+  /**
+   * Deliver every record changed since the previous run to the sink, then move the watermark forward
+   * <P>
+   * Only one run of an engine (or of engines sharing a key and store) should be in progress at a time.
+   *
+   * @param sink
+   *          receives the changed records in batches of up to the batch size
+   * @return the number of records delivered
+   * @throws Exception
+   *           if a page couldn't be fetched, the sink threw, or the watermark couldn't be loaded or saved. The watermark is unchanged
+   */
+  public long sync(Sink<T> sink) throws Exception {
+    OffsetDateTime watermark = store.load(key);
+    OffsetDateTime since = watermark == null ? null : watermark.minus(overlap).withOffsetSameInstant(ZoneOffset.UTC);
+    logger.debug("sync - starting, key = {}, watermark = {}, since = {}", key, watermark, since);
+
+    OffsetDateTime newWatermark = watermark;
+    long delivered = 0;
+    List<T> batch = new ArrayList<T>(batchSize);
+    try (Stream<T> records = client.stream(filter.apply(since))) {
+      Iterator<T> it = records.iterator();
+      while (it.hasNext()) {
+        T record = it.next();
+        OffsetDateTime changed = changedAt.apply(record);
+        if (changed != null && (newWatermark == null || changed.isAfter(newWatermark))) {
+          newWatermark = changed;
+        }
+        batch.add(record);
+        if (batch.size() >= batchSize) {
+          sink.accept(batch);
+          delivered += batch.size();
+          batch = new ArrayList<T>(batchSize);
+        }
+      }
+    } catch (PageFetchException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+    if (!batch.isEmpty()) {
+      sink.accept(batch);
+      delivered += batch.size();
+    }
+
+    if (newWatermark != null && !newWatermark.equals(watermark)) {
+      store.save(key, newWatermark.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+    logger.debug("sync - finished, key = {}, delivered = {}, watermark = {}", key, delivered, newWatermark);
+    return delivered;
+  }
+}
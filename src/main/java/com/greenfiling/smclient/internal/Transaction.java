@@ -1,5 +1,5 @@
 /**
- * Copyright 2023 Green Filing, LLC
+ * Copyright 2023-2026 Green Filing, LLC
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,22 +28,109 @@ import com.greenfiling.smclient.ApiHandle;
  * <P>
  * By default, {@link ApiHandle#DEFAULT_KEEP_TRANSACTIONS} transactions are kept in memory at once. This value can be changed, including setting it to
  * zero to retain no transactions, via {@link ApiHandle.Builder#keepTransactions(int)} at {@link ApiHandle} build time.
+ * <P>
+ * How much of each exchange is recorded is controlled by {@link CaptureMode}, set via {@link ApiHandle.Builder#transactionCapture(CaptureMode)}.
+ * Recording response bodies requires the whole response to be read into memory as a String, so when bodies are not being recorded successful
+ * responses are instead decoded directly from the network stream. Recorded bodies can be capped with
+ * {@link ApiHandle.Builder#transactionBodyLimit(int)}, and high volume handles can record only a sample of requests with
+ * {@link ApiHandle.Builder#transactionSampling(int)}. Failed requests are recorded whatever the mode or sampling, unless
+ * {@link ApiHandle.Builder#transactionCaptureOnError(boolean)} is turned off.
+ * <P>
+ * Each Transaction also records how long the request spent in each phase (DNS, connect, TLS, waiting for the first byte, receiving the body and
+ * decoding it), the request and response body sizes, and whether a pooled connection was reused. See
+ * {@link ApiHandle.Builder#transactionTimings(boolean)}.
  * 
  * @author jetmore
  * @since 1.0.4
  */
 public class Transaction {
+  /**
+   * The CaptureMode enum controls how much of each request/response pair is recorded
+   *
+   * <UL>
+   * <LI><B>FULL</B> - the default, record the request and response bodies along with the metadata</LI>
+   * <LI><B>METADATA</B> - record the request type and URL and the response code and line, but not the bodies. Error response bodies are still
+   * recorded</LI>
+   * <LI><B>NONE</B> - only record requests which fail</LI>
+   * </UL>
+   *
+   * @since 1.0.15
+   */
+  public enum CaptureMode {
+    FULL,
+    METADATA,
+    NONE
+  }
+
+  /**
+   * Appended to a recorded body which was cut short by {@link ApiHandle.Builder#transactionBodyLimit(int)}
+   *
+   * @since 1.0.15
+   */
+  public static final String TRUNCATED_MARKER = "...";
+
   private String requestType;
   private String requestUrl;
   private String requestBody;
   private Integer responseCode;
   private String responseLine;
   private String responseBody;
+  private Long dnsNanos;
+  private Long connectNanos;
+  private Long tlsNanos;
+  private Long timeToFirstByteNanos;
+  private Long responseBodyNanos;
+  private Long decodeNanos;
+  private Long totalNanos;
+  private Long requestBodyBytes;
+  private Long responseBodyBytes;
+  private Boolean connectionReused;
+
+  /**
+   * @return nanoseconds spent opening the TCP connection, including the TLS handshake, or null if a pooled connection was reused
+   * @since 1.0.15
+   */
+  public Long getConnectNanos() {
+    return this.connectNanos;
+  }
+
+  /**
+   * @return whether the request was sent on a connection from okhttp's pool rather than a new one, or null if no connection was acquired
+   * @since 1.0.15
+   */
+  public Boolean getConnectionReused() {
+    return this.connectionReused;
+  }
+
+  /**
+   * @return nanoseconds spent decoding the response JSON, or null if it wasn't decoded. When the response is decoded straight from the network
+   *         stream, this includes the time spent receiving the body
+   * @since 1.0.15
+   */
+  public Long getDecodeNanos() {
+    return this.decodeNanos;
+  }
+
+  /**
+   * @return nanoseconds spent on the DNS lookup, or null if there wasn't one
+   * @since 1.0.15
+   */
+  public Long getDnsNanos() {
+    return this.dnsNanos;
+  }
 
   public String getRequestBody() {
     return this.requestBody;
   }
 
+  /**
+   * @return the size of the request body in bytes, or null if there was no body
+   * @since 1.0.15
+   */
+  public Long getRequestBodyBytes() {
+    return this.requestBodyBytes;
+  }
+
   public String getRequestType() {
     return this.requestType;
   }
@@ -56,6 +143,22 @@ public class Transaction {
     return this.responseBody;
   }
 
+  /**
+   * @return the size of the response body in bytes as received, or null if no body was read
+   * @since 1.0.15
+   */
+  public Long getResponseBodyBytes() {
+    return this.responseBodyBytes;
+  }
+
+  /**
+   * @return nanoseconds from the first to the last byte of the response body, or null if no body was read
+   * @since 1.0.15
+   */
+  public Long getResponseBodyNanos() {
+    return this.responseBodyNanos;
+  }
+
   public Integer getResponseCode() {
     return this.responseCode;
   }
@@ -64,10 +167,54 @@ public class Transaction {
     return this.responseLine;
   }
 
+  /**
+   * @return nanoseconds from the start of the call until the response headers began to arrive, including any DNS, connect and TLS time
+   * @since 1.0.15
+   */
+  public Long getTimeToFirstByteNanos() {
+    return this.timeToFirstByteNanos;
+  }
+
+  /**
+   * @return nanoseconds from the start of the call until the response was closed or the call failed
+   * @since 1.0.15
+   */
+  public Long getTotalNanos() {
+    return this.totalNanos;
+  }
+
+  /**
+   * @return nanoseconds spent on the TLS handshake, or null if there wasn't one
+   * @since 1.0.15
+   */
+  public Long getTlsNanos() {
+    return this.tlsNanos;
+  }
+
+  public void setConnectNanos(Long connectNanos) {
+    this.connectNanos = connectNanos;
+  }
+
+  public void setConnectionReused(Boolean connectionReused) {
+    this.connectionReused = connectionReused;
+  }
+
+  public void setDecodeNanos(Long decodeNanos) {
+    this.decodeNanos = decodeNanos;
+  }
+
+  public void setDnsNanos(Long dnsNanos) {
+    this.dnsNanos = dnsNanos;
+  }
+
   public void setRequestBody(String requestBody) {
     this.requestBody = requestBody;
   }
 
+  public void setRequestBodyBytes(Long requestBodyBytes) {
+    this.requestBodyBytes = requestBodyBytes;
+  }
+
   public void setRequestType(String requestType) {
     this.requestType = requestType;
   }
@@ -80,6 +227,14 @@ public class Transaction {
     this.responseBody = responseBody;
   }
 
+  public void setResponseBodyBytes(Long responseBodyBytes) {
+    this.responseBodyBytes = responseBodyBytes;
+  }
+
+  public void setResponseBodyNanos(Long responseBodyNanos) {
+    this.responseBodyNanos = responseBodyNanos;
+  }
+
   public void setResponseCode(Integer responseCode) {
     this.responseCode = responseCode;
   }
@@ -87,4 +242,16 @@ public class Transaction {
   public void setResponseLine(String responseLine) {
     this.responseLine = responseLine;
   }
+
+  public void setTimeToFirstByteNanos(Long timeToFirstByteNanos) {
+    this.timeToFirstByteNanos = timeToFirstByteNanos;
+  }
+
+  public void setTlsNanos(Long tlsNanos) {
+    this.tlsNanos = tlsNanos;
+  }
+
+  public void setTotalNanos(Long totalNanos) {
+    this.totalNanos = totalNanos;
+  }
 }
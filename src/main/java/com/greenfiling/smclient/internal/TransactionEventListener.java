@@ -0,0 +1,144 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import com.greenfiling.smclient.ApiHandle;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Records the timing of each phase of a call in the call's {@link Transaction}
+ * <P>
+ * {@link ApiHandle} tags each request with its Transaction, and {@link #FACTORY} creates a listener for every call which carries one. Calls without a
+ * Transaction (file downloads, for example) get okhttp's no-op listener. Each phase is timed with {@link System#nanoTime()} from its start event to
+ * its end event. Phases which didn't happen, such as DNS and connect when a pooled connection was reused, are left null.
+ * <P>
+ * Used by {@link ApiHandle} when {@link ApiHandle.Builder#transactionTimings(boolean)} is enabled, should not be used directly.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class TransactionEventListener extends EventListener {
+  /**
+   * Creates a listener for calls whose request is tagged with a {@link Transaction}
+   */
+  public static final EventListener.Factory FACTORY = call -> {
+    Transaction txn = call.request().tag(Transaction.class);
+    return txn == null ? EventListener.NONE : new TransactionEventListener(txn);
+  };
+
+  private final Transaction txn;
+  private long callStart;
+  private long dnsStart;
+  private long connectStart;
+  private long secureConnectStart;
+  private long responseBodyStart;
+  private boolean connected;
+
+  private TransactionEventListener(Transaction txn) {
+    this.txn = txn;
+  }
+
+  @Override
+  public void callEnd(Call call) {
+    txn.setTotalNanos(System.nanoTime() - callStart);
+  }
+
+  @Override
+  public void callFailed(Call call, IOException ioe) {
+    txn.setTotalNanos(System.nanoTime() - callStart);
+  }
+
+  @Override
+  public void callStart(Call call) {
+    callStart = System.nanoTime();
+  }
+
+  @Override
+  public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    txn.setConnectNanos(System.nanoTime() - connectStart);
+  }
+
+  @Override
+  public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+    txn.setConnectNanos(System.nanoTime() - connectStart);
+  }
+
+  @Override
+  public void connectionAcquired(Call call, Connection connection) {
+    // a new connection always goes through connectStart first, so getting here without one means it came from the pool
+    txn.setConnectionReused(!connected);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    connected = true;
+    connectStart = System.nanoTime();
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    txn.setDnsNanos(System.nanoTime() - dnsStart);
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    dnsStart = System.nanoTime();
+  }
+
+  @Override
+  public void requestBodyEnd(Call call, long byteCount) {
+    txn.setRequestBodyBytes(byteCount);
+  }
+
+  @Override
+  public void responseBodyEnd(Call call, long byteCount) {
+    txn.setResponseBodyNanos(System.nanoTime() - responseBodyStart);
+    txn.setResponseBodyBytes(byteCount);
+  }
+
+  @Override
+  public void responseBodyStart(Call call) {
+    responseBodyStart = System.nanoTime();
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    txn.setTimeToFirstByteNanos(System.nanoTime() - callStart);
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    txn.setTlsNanos(System.nanoTime() - secureConnectStart);
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    secureConnectStart = System.nanoTime();
+  }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.greenfiling.smclient.internal;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads, for {@link ExecutorFactory}
+ * <P>
+ * This is the Java 8 implementation, which reports virtual threads as unsupported. The library is shipped as a multi-release jar, and on Java 21
+ * and later this class is replaced by the version in src/main/java21. Only what needs Java 21 belongs in this class, everything else stays in
+ * {@link ExecutorFactory}, which has a single implementation.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class VirtualThreads {
+  /**
+   * @return true if the running JVM supports virtual threads
+   */
+  public static boolean isSupported() {
+    return false;
+  }
+
+  /**
+   * Create an executor which runs every task on a new virtual thread
+   *
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @return never returns on this version of the class
+   * @throws UnsupportedOperationException
+   *           always, virtual threads require Java 21 or later
+   */
+  public static ExecutorService newExecutor(String namePrefix) {
+    throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+  }
+}
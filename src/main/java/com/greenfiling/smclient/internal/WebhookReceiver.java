@@ -0,0 +1,540 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.internal;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.greenfiling.smclient.model.Data;
+import com.greenfiling.smclient.model.Meta;
+import com.greenfiling.smclient.model.WebhookEvent;
+import com.greenfiling.smclient.model.exchange.PayLoad;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embeddable HTTP endpoint which receives ServeManager webhook deliveries and dispatches their events to handlers
+ * <P>
+ * The receiver runs on the JDK's built in com.sun.net.httpserver, so it needs no dependencies beyond the library's own. Each delivery's
+ * {@link PayLoad} is parsed straight from the request stream by one of a capped number of intake threads. It is then queued for a bounded pool of
+ * worker threads and acknowledged with a 200 straight away, so slow handlers never hold up ServeManager's delivery. When every intake thread is
+ * busy, or every worker is busy and the queue is full, deliveries are answered with 503 and a Retry-After header so ServeManager delivers them
+ * again later, rather than being taken on without limit. Malformed bodies get 400, bodies over the size limit get 413 and anything but a POST gets
+ * 405.
+ * <P>
+ * A worker calls the handlers for each {@link WebhookEvent} of each record in the payload, in order: first those registered for the event's name
+ * (eg "jobs:updated"), then those registered for {@link #ALL_EVENTS}. A record without events is passed to the {@link #ALL_EVENTS} handlers with a
+ * null event. An exception from a handler is logged and counted, and doesn't stop the remaining handlers or events.
+ * <P>
+ * <B>EXAMPLE:</B><BR>
+ * <code>
+ * WebhookReceiver receiver = new WebhookReceiver.Builder().port(8080).path("/servemanager")<br>
+ * &nbsp;&nbsp;.handler("jobs:updated", (event, record, meta) -&gt; refresh((Job) record))<br>
+ * &nbsp;&nbsp;.build();<br>
+ * receiver.start();
+ * </code>
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class WebhookReceiver implements Closeable {
+  /**
+   * Builder class to create a {@link WebhookReceiver}
+   * <P>
+   * At least one handler is required.
+   */
+  public static class Builder {
+    private String bindAddress;
+    private int port = 0;
+    private String path = "/";
+    private int intakeThreads = DEFAULT_INTAKE_THREADS;
+    private int workers = DEFAULT_WORKERS;
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+    private long maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+    private final Map<String, List<Handler>> handlers = new HashMap<String, List<Handler>>();
+
+    public Builder() {
+
+    }
+
+    /**
+     * Sets the address to listen on
+     * <P>
+     * Defaults to every interface
+     *
+     * @param bindAddress
+     *          the address or host name, eg "127.0.0.1"
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder bindAddress(String bindAddress) {
+      this.bindAddress = bindAddress;
+      return this;
+    }
+
+    public WebhookReceiver build() throws IllegalStateException {
+      validate();
+      return new WebhookReceiver(this);
+    }
+
+    /**
+     * Registers a handler for an event
+     * <P>
+     * Several handlers can be registered for the same event, and are called in the order they were registered.
+     *
+     * @param event
+     *          the event name, eg "jobs:created", or {@link WebhookReceiver#ALL_EVENTS}
+     * @param handler
+     *          the handler
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder handler(String event, Handler handler) {
+      handlers.computeIfAbsent(event, k -> new ArrayList<Handler>()).add(handler);
+      return this;
+    }
+
+    /**
+     * Sets the most threads reading and parsing deliveries at once
+     * <P>
+     * Defaults to {@link WebhookReceiver#DEFAULT_INTAKE_THREADS}. A delivery which arrives while every intake thread is busy is answered with 503
+     * without its body being read.
+     *
+     * @param intakeThreads
+     *          the number of threads, at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder intakeThreads(int intakeThreads) {
+      this.intakeThreads = intakeThreads;
+      return this;
+    }
+
+    /**
+     * Sets the largest delivery body accepted
+     * <P>
+     * Defaults to {@link WebhookReceiver#DEFAULT_MAX_BODY_BYTES}
+     *
+     * @param maxBodyBytes
+     *          the size in bytes, at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder maxBodyBytes(long maxBodyBytes) {
+      this.maxBodyBytes = maxBodyBytes;
+      return this;
+    }
+
+    /**
+     * Sets the path deliveries are posted to
+     * <P>
+     * Defaults to "/". Requests to paths under it are accepted too.
+     *
+     * @param path
+     *          the path, starting with "/"
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder path(String path) {
+      this.path = path;
+      return this;
+    }
+
+    /**
+     * Sets the port to listen on
+     * <P>
+     * Defaults to 0, which picks a free port. See {@link WebhookReceiver#getPort()}.
+     *
+     * @param port
+     *          the port
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder port(int port) {
+      this.port = port;
+      return this;
+    }
+
+    /**
+     * Sets how many deliveries can wait for a worker
+     * <P>
+     * Defaults to {@link WebhookReceiver#DEFAULT_QUEUE_SIZE}. Deliveries beyond this are answered with 503.
+     *
+     * @param queueSize
+     *          the number of deliveries, at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder queueSize(int queueSize) {
+      this.queueSize = queueSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of threads handlers are run on
+     * <P>
+     * Defaults to {@link WebhookReceiver#DEFAULT_WORKERS}
+     *
+     * @param workers
+     *          the number of threads, at least 1
+     * @return A valid @{link Builder} object so calls can be chained
+     */
+    public Builder workers(int workers) {
+      this.workers = workers;
+      return this;
+    }
+
+    private void validate() throws IllegalStateException {
+      ArrayList<String> errors = new ArrayList<String>();
+      if (handlers.isEmpty() || handlers.containsKey(null) || handlers.values().stream().anyMatch(list -> list.contains(null))) {
+        errors.add("at least one handler is required, and events and handlers can't be null");
+      }
+      if (port < 0 || port > 65535) {
+        errors.add("port must be between 0 and 65535");
+      }
+      if (path == null || !path.startsWith("/")) {
+        errors.add("path must start with /");
+      }
+      if (workers < 1 || queueSize < 1 || intakeThreads < 1) {
+        errors.add("workers, queueSize and intakeThreads must be at least 1");
+      }
+      if (maxBodyBytes < 1) {
+        errors.add("maxBodyBytes must be at least 1");
+      }
+
+      if (errors.size() > 0) {
+        logger.error("validate - failed validation.  Errors: {}", errors.toString());
+        throw new IllegalStateException(errors.toString());
+      }
+    }
+  }
+
+  /**
+   * Handles the events of webhook deliveries
+   */
+  public interface Handler {
+    /**
+     * Handle one event
+     *
+     * @param event
+     *          the event, or null for a record delivered without events
+     * @param record
+     *          the record the event happened to, eg a {@link com.greenfiling.smclient.model.Job}
+     * @param meta
+     *          details of the webhook and the delivery
+     * @throws Exception
+     *           if the event couldn't be handled. It is logged and counted, see {@link WebhookReceiver#getHandlerFailures()}
+     */
+    void handle(WebhookEvent event, Data record, Meta meta) throws Exception;
+  }
+
+  /**
+   * Counts the bytes read through it, and fails once there are too many
+   */
+  private static class LimitedInputStream extends FilterInputStream {
+    private final long limit;
+    private long count;
+    private boolean exceeded;
+
+    private LimitedInputStream(InputStream in, long limit) {
+      super(in);
+      this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        count(read);
+      }
+      return read;
+    }
+
+    private void count(int read) throws IOException {
+      count += read;
+      if (count > limit) {
+        exceeded = true;
+        throw new IOException("body larger than " + limit + " bytes");
+      }
+    }
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(WebhookReceiver.class);
+
+  /**
+   * Register a handler for this to receive every event
+   */
+  public static final String ALL_EVENTS = "*";
+
+  /**
+   * The default most threads reading and parsing deliveries at once
+   */
+  public static final int DEFAULT_INTAKE_THREADS = 8;
+
+  /**
+   * The default number of threads handlers are run on
+   */
+  public static final int DEFAULT_WORKERS = 4;
+
+  /**
+   * The default number of deliveries which can wait for a worker
+   */
+  public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+  /**
+   * The default largest delivery body accepted, 10MB
+   */
+  public static final long DEFAULT_MAX_BODY_BYTES = 10L * 1024 * 1024;
+
+  /**
+   * How long {@link #close()} waits for queued deliveries to be handled, in seconds
+   */
+  public static final long DRAIN_TIMEOUT = 30;
+
+  private final String bindAddress;
+  private final int port;
+  private final String path;
+  private final int intakeThreads;
+  private final int workerCount;
+  private final int queueSize;
+  private final long maxBodyBytes;
+  private final Map<String, List<Handler>> handlers = new HashMap<String, List<Handler>>();
+  private final AtomicLong accepted = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong eventsHandled = new AtomicLong();
+  private final AtomicLong handlerFailures = new AtomicLong();
+  // set while the HttpServer's own thread runs an exchange because every intake thread was busy
+  private final ThreadLocal<Boolean> intakeOverflow = new ThreadLocal<Boolean>();
+  private HttpServer server;
+  private ExecutorService httpExecutor;
+  private ExecutorService workers;
+
+  private WebhookReceiver(Builder builder) {
+    this.bindAddress = builder.bindAddress;
+    this.port = builder.port;
+    this.path = builder.path;
+    this.intakeThreads = builder.intakeThreads;
+    this.workerCount = builder.workers;
+    this.queueSize = builder.queueSize;
+    this.maxBodyBytes = builder.maxBodyBytes;
+    for (Map.Entry<String, List<Handler>> entry : builder.handlers.entrySet()) {
+      this.handlers.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<Handler>(entry.getValue())));
+    }
+  }
+
+  /**
+   * Stop accepting deliveries, and wait up to {@link #DRAIN_TIMEOUT} seconds for those already accepted to be handled
+   */
+  @Override
+  public synchronized void close() {
+    if (server == null) {
+      return;
+    }
+    server.stop(0);
+    httpExecutor.shutdown();
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(DRAIN_TIMEOUT, TimeUnit.SECONDS)) {
+        logger.warn("close - deliveries still being handled after {} seconds, abandoning them", DRAIN_TIMEOUT);
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      workers.shutdownNow();
+    }
+    server = null;
+  }
+
+  /**
+   * @return the number of deliveries acknowledged and queued for the handlers
+   */
+  public long getAccepted() {
+    return accepted.get();
+  }
+
+  /**
+   * @return the number of events passed to handlers, counting each handler called
+   */
+  public long getEventsHandled() {
+    return eventsHandled.get();
+  }
+
+  /**
+   * @return the number of times a handler threw
+   */
+  public long getHandlerFailures() {
+    return handlerFailures.get();
+  }
+
+  /**
+   * @return the port the receiver is listening on, or the configured port if it hasn't been started
+   */
+  public synchronized int getPort() {
+    return server == null ? port : server.getAddress().getPort();
+  }
+
+  /**
+   * @return the number of deliveries answered with 503 because every intake thread was busy or the queue was full
+   */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * Start listening for deliveries
+   *
+   * @throws IOException
+   *           if the port couldn't be bound
+   */
+  public synchronized void start() throws IOException {
+    if (server != null) {
+      throw new IllegalStateException("receiver already started");
+    }
+    InetSocketAddress address = bindAddress == null ? new InetSocketAddress(port) : new InetSocketAddress(bindAddress, port);
+    HttpServer httpServer = HttpServer.create(address, 0);
+    httpServer.createContext(path, this::receive);
+    // when every intake thread is busy the exchange runs on the server's dispatcher thread, just long enough to answer 503
+    httpExecutor = ExecutorFactory.newCappedExecutor("smclient-webhook-http", intakeThreads, (exchange, executor) -> {
+      intakeOverflow.set(Boolean.TRUE);
+      try {
+        exchange.run();
+      } finally {
+        intakeOverflow.remove();
+      }
+    });
+    httpServer.setExecutor(httpExecutor);
+    workers = ExecutorFactory.newBoundedExecutor("smclient-webhook", workerCount, queueSize);
+    httpServer.start();
+    server = httpServer;
+    logger.info("start - listening for webhooks on {}{}", server.getAddress(), path);
+  }
+
+  private void dispatch(PayLoad payload) {
+    if (payload.getData() == null) {
+      return;
+    }
+    for (Data record : payload.getData()) {
+      if (record.getWebhookEvents() == null || record.getWebhookEvents().isEmpty()) {
+        dispatch(null, record, payload.getMeta());
+        continue;
+      }
+      for (WebhookEvent event : record.getWebhookEvents()) {
+        dispatch(event, record, payload.getMeta());
+      }
+    }
+  }
+
+  private void dispatch(WebhookEvent event, Data record, Meta meta) {
+    if (event != null && event.getEvent() != null) {
+      dispatchTo(handlers.get(event.getEvent()), event, record, meta);
+    }
+    dispatchTo(handlers.get(ALL_EVENTS), event, record, meta);
+  }
+
+  private void dispatchTo(List<Handler> eventHandlers, WebhookEvent event, Data record, Meta meta) {
+    if (eventHandlers == null) {
+      return;
+    }
+    for (Handler handler : eventHandlers) {
+      try {
+        handler.handle(event, record, meta);
+        eventsHandled.incrementAndGet();
+      } catch (Exception e) {
+        handlerFailures.incrementAndGet();
+        logger.warn("dispatchTo - handler failed, event = {}, record = {} {}, error = {}", event == null ? null : event.getEvent(), record.getType(),
+            event == null ? null : event.getId(), e.toString());
+      }
+    }
+  }
+
+  private void receive(HttpExchange exchange) throws IOException {
+    try {
+      if (Boolean.TRUE.equals(intakeOverflow.get())) {
+        rejected.incrementAndGet();
+        logger.warn("receive - every intake thread busy, asking for redelivery");
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        respond(exchange, 503);
+        return;
+      }
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        respond(exchange, 405);
+        return;
+      }
+      String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+      if (contentLength != null && Long.parseLong(contentLength.trim()) > maxBodyBytes) {
+        respond(exchange, 413);
+        return;
+      }
+
+      PayLoad payload;
+      LimitedInputStream body = new LimitedInputStream(exchange.getRequestBody(), maxBodyBytes);
+      try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+        payload = JsonHandle.get().fromJson(reader, PayLoad.class);
+      } catch (RuntimeException | IOException e) {
+        // besides JsonParseException, the model's type adapters can fail on well formed JSON, eg a record without a type
+        logger.info("receive - unreadable delivery, error = {}", e.toString());
+        respond(exchange, body.exceeded ? 413 : 400);
+        return;
+      }
+      if (payload == null) {
+        respond(exchange, 400);
+        return;
+      }
+
+      try {
+        workers.execute(() -> dispatch(payload));
+      } catch (RejectedExecutionException e) {
+        rejected.incrementAndGet();
+        logger.warn("receive - workers busy and queue full, asking for redelivery, reference = {}",
+            payload.getMeta() == null ? null : payload.getMeta().getReference());
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        respond(exchange, 503);
+        return;
+      }
+      accepted.incrementAndGet();
+      respond(exchange, 200);
+    } catch (NumberFormatException e) {
+      respond(exchange, 400);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void respond(HttpExchange exchange, int code) throws IOException {
+    exchange.sendResponseHeaders(code, -1);
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2023 Green Filing, LLC
+ * Copyright 2023-2026 Green Filing, LLC
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.greenfiling.smclient.model.exchange;
 
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 
 import com.greenfiling.smclient.model.internal.FilterBase;
@@ -54,6 +55,9 @@ public class SupplierCostFilter extends FilterBase {
     if (getCourtId() != null) {
       pairs.add(new FilterPair("court_id", String.valueOf(getCourtId())));
     }
+    if (getUpdatedSince() != null) {
+      pairs.add(new FilterPair("updated_since", getUpdatedSince().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)));
+    }
     return pairs;
   }
 
@@ -0,0 +1,48 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.greenfiling.smclient.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads, for {@link ExecutorFactory}
+ * <P>
+ * This is the Java 21 implementation, found in the versioned section of the multi-release jar. It must keep the same public interface as the
+ * Java 8 implementation in src/main/java.
+ *
+ * @author jetmore
+ * @since 1.0.15
+ */
+public class VirtualThreads {
+  /**
+   * @return true if the running JVM supports virtual threads
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Create an executor which runs every task on a new virtual thread
+   *
+   * @param namePrefix
+   *          prefix for the names of the threads created by the executor
+   * @return an instantiated executor
+   */
+  public static ExecutorService newExecutor(String namePrefix) {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix + "-", 1).factory());
+  }
+}
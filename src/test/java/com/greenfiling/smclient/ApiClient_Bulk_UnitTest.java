@@ -0,0 +1,182 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.BulkResult;
+import com.greenfiling.smclient.model.Company;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.model.internal.CompanyBase;
+import com.greenfiling.smclient.model.internal.JobBase;
+import com.greenfiling.smclient.util.StubServer;
+import com.sun.net.httpserver.HttpExchange;
+
+public class ApiClient_Bulk_UnitTest {
+  // the stub echoes the record's name or job number back as its id, so results can be matched to inputs
+  private static final Pattern NUMBER = Pattern.compile("\"(?:client_job_number|name)\":\"(\\d+)\"");
+
+  private StubServer server;
+  private ApiHandle handle;
+  private AtomicInteger inFlight = new AtomicInteger();
+  private AtomicInteger maxInFlight = new AtomicInteger();
+  private volatile int failNumber = -1;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        Matcher matcher = NUMBER.matcher(readBody(exchange));
+        int number = matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+        // finish out of order
+        Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+        if (number == failNumber) {
+          StubServer.sendJson(exchange, 422, "{\"errors\":[\"bad\"]}");
+        } else {
+          String type = exchange.getRequestURI().getPath().contains("companies") ? "company" : "job";
+          StubServer.sendJson(exchange, 200, "{\"data\":{\"type\":\"" + type + "\",\"id\":" + number + "}}");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testCreateAll_InOrderWithBoundedParallelism() throws Exception {
+    List<JobBase> jobs = new ArrayList<JobBase>();
+    for (int i = 1; i <= 30; i++) {
+      jobs.add(job(i));
+    }
+
+    List<BulkResult<JobBase, Show<Job>>> results = new JobClient(handle).createAll(jobs, 4);
+    assertThat(results.size(), equalTo(30));
+    for (int i = 0; i < 30; i++) {
+      assertThat(results.get(i).isSuccess(), equalTo(true));
+      assertThat(results.get(i).getItem(), equalTo(jobs.get(i)));
+      assertThat(results.get(i).getResult().getData().getId(), equalTo(i + 1));
+    }
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(4));
+  }
+
+  @Test
+  public void testCreateAll_OtherClients() throws Exception {
+    List<CompanyBase> companies = new ArrayList<CompanyBase>();
+    for (int i = 1; i <= 3; i++) {
+      Company company = new Company();
+      company.setName(String.valueOf(i));
+      companies.add(company);
+    }
+
+    List<BulkResult<CompanyBase, Show<Company>>> results = new CompanyClient(handle).createAll(companies, 2);
+    assertThat(results.get(2).getResult().getData().getId(), equalTo(3));
+  }
+
+  @Test
+  public void testCreateAll_PerItemFailure() throws Exception {
+    failNumber = 3;
+    List<JobBase> jobs = new ArrayList<JobBase>();
+    for (int i = 1; i <= 6; i++) {
+      jobs.add(job(i));
+    }
+
+    List<BulkResult<JobBase, Show<Job>>> results = new JobClient(handle).createAll(jobs, 2);
+    for (int i = 0; i < 6; i++) {
+      assertThat(results.get(i).isSuccess(), equalTo(i != 2));
+    }
+    assertThat(results.get(2).getException(), instanceOf(Exceptions.InvalidRequestException.class));
+  }
+
+  @Test
+  public void testCreateAll_StopOnFailure() throws Exception {
+    failNumber = 1;
+    List<JobBase> jobs = new ArrayList<JobBase>();
+    for (int i = 1; i <= 20; i++) {
+      jobs.add(job(i));
+    }
+
+    List<BulkResult<JobBase, Show<Job>>> results = new JobClient(handle).createAll(jobs, 1, true);
+    assertThat(results.size(), equalTo(20));
+    assertThat(results.get(0).getException(), instanceOf(Exceptions.InvalidRequestException.class));
+    for (int i = 1; i < 20; i++) {
+      assertThat(results.get(i).isSkipped(), equalTo(true));
+    }
+    assertThat(server.getRequestCount(), equalTo(1));
+  }
+
+  @Test
+  public void testUpdateAll_InOrder() throws Exception {
+    Map<Integer, JobBase> updates = new LinkedHashMap<Integer, JobBase>();
+    for (int i = 10; i > 0; i--) {
+      updates.put(i, job(i));
+    }
+
+    List<BulkResult<Map.Entry<Integer, JobBase>, Show<Job>>> results = new JobClient(handle).updateAll(updates, 3);
+    for (int i = 0; i < 10; i++) {
+      assertThat(results.get(i).getItem().getKey(), equalTo(10 - i));
+      assertThat(results.get(i).getResult().getData().getId(), equalTo(10 - i));
+    }
+  }
+
+  private Job job(int number) {
+    Job job = new Job();
+    job.setClientJobNumber(String.valueOf(number));
+    return job;
+  }
+
+  private String readBody(HttpExchange exchange) throws IOException {
+    InputStream in = exchange.getRequestBody();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
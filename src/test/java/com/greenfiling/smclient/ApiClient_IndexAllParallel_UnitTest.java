@@ -0,0 +1,148 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.JobFilter;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiClient_IndexAllParallel_UnitTest {
+  private static final int PAGES = 7;
+  private static final int PER_PAGE = 3;
+
+  private StubServer server;
+  private ApiHandle handle;
+  private AtomicInteger inFlight = new AtomicInteger();
+  private AtomicInteger maxInFlight = new AtomicInteger();
+  private Set<String> queries = ConcurrentHashMap.newKeySet();
+  private volatile boolean includeLast = true;
+  private volatile int failPage = -1;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        String query = exchange.getRequestURI().getQuery();
+        queries.add(String.valueOf(query));
+        int page = 1;
+        if (query != null && query.contains("page=")) {
+          page = Integer.parseInt(query.replaceAll(".*page=(\\d+).*", "$1"));
+        }
+        Thread.sleep(10 + ThreadLocalRandom.current().nextInt(20));
+        if (page == failPage) {
+          StubServer.sendJson(exchange, 500, "{\"errors\":[\"boom\"]}");
+          return;
+        }
+        StubServer.sendJson(exchange, 200, pageJson(page));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testIndexAllParallel_FailureThrown() throws Exception {
+    failPage = 4;
+    boolean caughtException = false;
+    try {
+      new JobClient(handle).indexAllParallel(null, 3);
+    } catch (Exception e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testIndexAllParallel_FallsBackToNextLinks() throws Exception {
+    includeLast = false;
+    List<Job> jobs = new JobClient(handle).indexAllParallel(null, 4);
+    assertInOrder(jobs, 1);
+    assertThat(maxInFlight.get(), equalTo(1));
+  }
+
+  @Test
+  public void testIndexAllParallel_InPageOrder() throws Exception {
+    List<Job> jobs = new JobClient(handle).indexAllParallel(null, 4);
+    assertInOrder(jobs, 1);
+    assertThat(server.getRequestCount(), equalTo(PAGES));
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(4));
+    assertThat(maxInFlight.get(), greaterThan(1));
+  }
+
+  @Test
+  public void testIndexAllParallel_KeepsFilterAndStartPage() throws Exception {
+    JobFilter filter = new JobFilter();
+    filter.setQ("smith");
+    filter.setPage(3);
+    List<Job> jobs = new JobClient(handle).indexAllParallel(filter, 2);
+    assertInOrder(jobs, 3);
+    for (String query : queries) {
+      assertThat(query, query.contains("q=smith"), equalTo(true));
+    }
+  }
+
+  private void assertInOrder(List<Job> jobs, int firstPage) {
+    assertThat(jobs.size(), equalTo((PAGES - firstPage + 1) * PER_PAGE));
+    for (int i = 0; i < jobs.size(); i++) {
+      assertThat(jobs.get(i).getId(), equalTo((firstPage - 1) * PER_PAGE + i + 1));
+    }
+  }
+
+  private String pageJson(int page) {
+    StringBuilder data = new StringBuilder();
+    for (int i = 1; i <= PER_PAGE; i++) {
+      if (data.length() > 0) {
+        data.append(',');
+      }
+      data.append("{\"type\":\"job\",\"id\":").append((page - 1) * PER_PAGE + i).append('}');
+    }
+    String base = server.getUrl() + "/jobs?q=smith&page=";
+    String links = "\"self\":\"" + base + page + "\"";
+    if (includeLast) {
+      links += ",\"last\":\"" + base + PAGES + "\"";
+    }
+    if (page < PAGES) {
+      links += ",\"next\":\"" + base + (page + 1) + "\"";
+    }
+    return "{\"data\":[" + data + "],\"links\":{" + links + "}}";
+  }
+}
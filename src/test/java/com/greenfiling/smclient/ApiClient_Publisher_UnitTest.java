@@ -0,0 +1,197 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.IndexPublisher;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiClient_Publisher_UnitTest {
+  private static final int PAGES = 5;
+  private static final int PER_PAGE = 3;
+
+  private static class RecordingSubscriber implements IndexPublisher.Subscriber<Job> {
+    private final List<Integer> ids = new CopyOnWriteArrayList<Integer>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final long requestEach;
+    private volatile IndexPublisher.Subscription subscription;
+    private volatile Throwable error;
+    private volatile boolean completed;
+
+    // requestEach > 0 requests another item as each one arrives, otherwise the test drives requests itself
+    private RecordingSubscriber(long requestEach) {
+      this.requestEach = requestEach;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      finished.countDown();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      finished.countDown();
+    }
+
+    @Override
+    public void onNext(Job item) {
+      ids.add(item.getId());
+      if (requestEach > 0) {
+        subscription.request(requestEach);
+      }
+    }
+
+    @Override
+    public void onSubscribe(IndexPublisher.Subscription subscription) {
+      this.subscription = subscription;
+      if (requestEach > 0) {
+        subscription.request(requestEach);
+      }
+    }
+
+    private boolean await() throws InterruptedException {
+      return finished.await(10, TimeUnit.SECONDS);
+    }
+  }
+
+  private StubServer server;
+  private ApiHandle handle;
+  private volatile int failPage = -1;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      String query = exchange.getRequestURI().getQuery();
+      int page = query == null ? 1 : Integer.parseInt(query.replaceAll(".*page=(\\d+).*", "$1"));
+      if (page == failPage) {
+        StubServer.sendJson(exchange, 500, "{\"errors\":[\"boom\"]}");
+      } else {
+        StubServer.sendJson(exchange, 200, pageJson(page));
+      }
+    });
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testPublisher_AllRecordsInOrder() throws Exception {
+    RecordingSubscriber subscriber = new RecordingSubscriber(1);
+    new JobClient(handle).publisher(null).subscribe(subscriber);
+
+    assertThat(subscriber.await(), equalTo(true));
+    assertThat(subscriber.completed, equalTo(true));
+    assertThat(subscriber.ids.size(), equalTo(PAGES * PER_PAGE));
+    for (int i = 0; i < subscriber.ids.size(); i++) {
+      assertThat(subscriber.ids.get(i), equalTo(i + 1));
+    }
+  }
+
+  @Test
+  public void testPublisher_CancelStopsFetching() throws Exception {
+    RecordingSubscriber subscriber = new RecordingSubscriber(0);
+    new JobClient(handle).publisher(null).subscribe(subscriber);
+    subscriber.subscription.request(PER_PAGE + 1);
+    waitForItems(subscriber, PER_PAGE + 1);
+    subscriber.subscription.cancel();
+    subscriber.subscription.request(100);
+
+    Thread.sleep(300);
+    assertThat(subscriber.ids.size(), equalTo(PER_PAGE + 1));
+    assertThat(server.getRequestCount(), equalTo(2));
+    assertThat(subscriber.completed, equalTo(false));
+  }
+
+  @Test
+  public void testPublisher_FetchesOnlyOnDemand() throws Exception {
+    RecordingSubscriber subscriber = new RecordingSubscriber(0);
+    new JobClient(handle).publisher(null).subscribe(subscriber);
+    Thread.sleep(100);
+    assertThat(server.getRequestCount(), equalTo(0));
+
+    // all on the first page
+    subscriber.subscription.request(PER_PAGE);
+    waitForItems(subscriber, PER_PAGE);
+    Thread.sleep(200);
+    assertThat(server.getRequestCount(), equalTo(1));
+
+    subscriber.subscription.request(1);
+    waitForItems(subscriber, PER_PAGE + 1);
+    assertThat(server.getRequestCount(), equalTo(2));
+  }
+
+  @Test
+  public void testPublisher_InvalidRequest() throws Exception {
+    RecordingSubscriber subscriber = new RecordingSubscriber(0);
+    new JobClient(handle).publisher(null).subscribe(subscriber);
+    subscriber.subscription.request(0);
+    assertThat(subscriber.await(), equalTo(true));
+    assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+  }
+
+  @Test
+  public void testPublisher_PageFailure() throws Exception {
+    failPage = 2;
+    RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+    new JobClient(handle).publisher(null).subscribe(subscriber);
+    assertThat(subscriber.await(), equalTo(true));
+    assertThat(subscriber.ids.size(), equalTo(PER_PAGE));
+    assertThat(subscriber.error.getMessage().contains("500"), equalTo(true));
+  }
+
+  private String pageJson(int page) {
+    StringBuilder data = new StringBuilder();
+    for (int i = 1; i <= PER_PAGE; i++) {
+      if (data.length() > 0) {
+        data.append(',');
+      }
+      data.append("{\"type\":\"job\",\"id\":").append((page - 1) * PER_PAGE + i).append('}');
+    }
+    String links = "\"self\":\"" + server.getUrl() + "/jobs?page=" + page + "\"";
+    if (page < PAGES) {
+      links += ",\"next\":\"" + server.getUrl() + "/jobs?page=" + (page + 1) + "\"";
+    }
+    return "{\"data\":[" + data + "],\"links\":{" + links + "}}";
+  }
+
+  private void waitForItems(RecordingSubscriber subscriber, int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (subscriber.ids.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(subscriber.ids.size(), equalTo(count));
+  }
+}
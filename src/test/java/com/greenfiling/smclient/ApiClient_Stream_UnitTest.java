@@ -0,0 +1,128 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiClient_Stream_UnitTest {
+  private static final int PAGES = 10;
+  private static final int PER_PAGE = 3;
+
+  private StubServer server;
+  private ApiHandle handle;
+  private volatile int failPage = -1;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      String query = exchange.getRequestURI().getQuery();
+      int page = query == null ? 1 : Integer.parseInt(query.replaceAll(".*page=(\\d+).*", "$1"));
+      if (page == failPage) {
+        StubServer.sendJson(exchange, 500, "{\"errors\":[\"boom\"]}");
+      } else {
+        StubServer.sendJson(exchange, 200, pageJson(page));
+      }
+    });
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testStream_AllRecordsInOrder() throws Exception {
+    try (Stream<Job> jobs = new JobClient(handle).stream(null)) {
+      List<Integer> ids = jobs.map(Job::getId).collect(Collectors.toList());
+      assertThat(ids.size(), equalTo(PAGES * PER_PAGE));
+      for (int i = 0; i < ids.size(); i++) {
+        assertThat(ids.get(i), equalTo(i + 1));
+      }
+    }
+    assertThat(server.getRequestCount(), equalTo(PAGES));
+  }
+
+  @Test
+  public void testStream_BoundedPrefetchAndClose() throws Exception {
+    Iterator<Job> jobs;
+    try (Stream<Job> stream = new JobClient(handle).stream(null, 2)) {
+      jobs = stream.iterator();
+      // first record of page 2
+      for (int i = 0; i < PER_PAGE + 1; i++) {
+        jobs.next();
+      }
+      Thread.sleep(300);
+      // the page being read plus two ahead
+      assertThat(server.getRequestCount(), equalTo(4));
+    }
+    int afterClose = server.getRequestCount();
+    Thread.sleep(300);
+    assertThat(server.getRequestCount(), equalTo(afterClose));
+  }
+
+  @Test
+  public void testStream_FailureThrown() throws Exception {
+    failPage = 3;
+    boolean caughtException = false;
+    try (Stream<Job> jobs = new JobClient(handle).stream(null)) {
+      jobs.forEach(job -> {
+      });
+    } catch (Exceptions.PageFetchException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testStream_Lazy() throws Exception {
+    try (Stream<Job> jobs = new JobClient(handle).stream(null)) {
+      Thread.sleep(100);
+      assertThat(server.getRequestCount(), equalTo(0));
+      assertThat(jobs.findFirst().get().getId(), equalTo(1));
+    }
+  }
+
+  private String pageJson(int page) {
+    StringBuilder data = new StringBuilder();
+    for (int i = 1; i <= PER_PAGE; i++) {
+      if (data.length() > 0) {
+        data.append(',');
+      }
+      data.append("{\"type\":\"job\",\"id\":").append((page - 1) * PER_PAGE + i).append('}');
+    }
+    String links = "\"self\":\"" + server.getUrl() + "/jobs?page=" + page + "\"";
+    if (page < PAGES) {
+      links += ",\"next\":\"" + server.getUrl() + "/jobs?page=" + (page + 1) + "\"";
+    }
+    return "{\"data\":[" + data + "],\"links\":{" + links + "}}";
+  }
+}
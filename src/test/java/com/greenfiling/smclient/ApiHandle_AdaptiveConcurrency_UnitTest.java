@@ -0,0 +1,130 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_AdaptiveConcurrency_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+
+  private StubServer server;
+  private AtomicInteger inFlight = new AtomicInteger();
+  private AtomicInteger maxInFlight = new AtomicInteger();
+  private volatile int responseCode = 200;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        StubServer.sendJson(exchange, responseCode, SHOW_JSON);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testAdaptiveConcurrency_DisabledByDefault() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+    assertThat(handle.getConcurrencyLimit(), equalTo(null));
+  }
+
+  @Test
+  public void testAdaptiveConcurrency_GrowsWhenFast() throws Exception {
+    // a steady latency well above scheduling noise, as a real server would have
+    server.setLatency(50);
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).adaptiveConcurrency(2, 50).build();
+    runAsync(new JobClient(handle), 200);
+    assertThat(handle.getConcurrencyLimit(), greaterThan(2));
+  }
+
+  @Test
+  public void testAdaptiveConcurrency_LimitHolds() throws Exception {
+    server.setLatency(20);
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).adaptiveConcurrency(3, 3).build();
+    runAsync(new JobClient(handle), 30);
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(3));
+    assertThat(handle.getConcurrencyLimit(), lessThanOrEqualTo(3));
+  }
+
+  @Test
+  public void testAdaptiveConcurrency_ShrinksOnThrottling() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).adaptiveConcurrency(20, 20).build();
+    JobClient client = new JobClient(handle);
+    responseCode = 503;
+    for (int i = 0; i < 5; i++) {
+      try {
+        client.show(1);
+      } catch (Exception e) {
+        // expected
+      }
+    }
+    assertThat(handle.getConcurrencyLimit(), lessThan(20));
+  }
+
+  @Test
+  public void testAdaptiveConcurrency_ShrinksWhenSlow() throws Exception {
+    server.setLatency(20);
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).adaptiveConcurrency(10, 10).build();
+    JobClient client = new JobClient(handle);
+    for (int i = 0; i < 10; i++) {
+      client.show(1);
+    }
+    int before = handle.getConcurrencyLimit();
+
+    server.setLatency(200);
+    for (int i = 0; i < 3; i++) {
+      client.show(1);
+    }
+    assertThat(handle.getConcurrencyLimit(), lessThan(before));
+  }
+
+  private void runAsync(JobClient client, int count) throws Exception {
+    List<CompletableFuture<Show<Job>>> futures = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      futures.add(client.showAsync(1));
+    }
+    for (CompletableFuture<Show<Job>> future : futures) {
+      assertThat(future.get(30, TimeUnit.SECONDS).getData().getId(), equalTo(1));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.util.StubServer;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+
+public class ApiHandle_Async_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":7}}";
+
+  private StubServer server;
+  private ApiHandle handle;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testAsync_CancelCancelsCall() throws Exception {
+    CountDownLatch canceled = new CountDownLatch(1);
+    OkHttpClient.Builder http = new OkHttpClient.Builder().eventListener(new EventListener() {
+      @Override
+      public void canceled(Call call) {
+        canceled.countDown();
+      }
+    });
+    ApiHandle cancelHandle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).builder(http).build();
+    server.setLatency(2000);
+    server.respondJson(200, SHOW_JSON);
+
+    CompletableFuture<String> future = cancelHandle.doGetAsync(server.getUrl() + "/jobs/7");
+    future.cancel(true);
+    assertThat(canceled.await(5, TimeUnit.SECONDS), equalTo(true));
+  }
+
+  @Test
+  public void testAsync_ErrorsMapLikeSync() throws Exception {
+    server.setResponder(exchange -> {
+      if (exchange.getRequestURI().getPath().endsWith("/jobs/404")) {
+        StubServer.sendJson(exchange, 404, "{\"errors\":[\"not found\"]}");
+      } else {
+        StubServer.sendJson(exchange, 422, "{\"errors\":[\"invalid\"]}");
+      }
+    });
+
+    assertThat(asyncFailure(handle.doGetAsync(server.getUrl() + "/jobs/404")), instanceOf(Exceptions.RecordNotFoundException.class));
+    assertThat(asyncFailure(handle.doPostAsync(server.getUrl() + "/jobs", new Show<Job>(new Job()))),
+        instanceOf(Exceptions.InvalidRequestException.class));
+    assertThat(asyncFailure(handle.doPutAsync(server.getUrl() + "/jobs/7", new Show<Job>(new Job()))),
+        instanceOf(Exceptions.InvalidRequestException.class));
+  }
+
+  @Test
+  public void testAsync_Success() throws Exception {
+    server.respondJson(200, SHOW_JSON);
+
+    assertThat(handle.doGetAsync(server.getUrl() + "/jobs/7").get(5, TimeUnit.SECONDS), equalTo(SHOW_JSON));
+    assertThat(handle.doPostAsync(server.getUrl() + "/jobs", new Show<Job>(new Job())).get(5, TimeUnit.SECONDS), equalTo(SHOW_JSON));
+    assertThat(handle.doPutAsync(server.getUrl() + "/jobs/7", new Show<Job>(new Job())).get(5, TimeUnit.SECONDS), equalTo(SHOW_JSON));
+    assertThat(server.getRequestCount(), equalTo(3));
+  }
+
+  private Throwable asyncFailure(CompletableFuture<?> future) throws Exception {
+    try {
+      future.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      return e.getCause();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.util.StubServer;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+
+public class ApiHandle_Coalescing_UnitTest {
+  private static final int CALLERS = 5;
+
+  private StubServer server;
+  private ExecutorService pool;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setLatency(500);
+    server.respondJson(200, "{\"data\":{\"type\":\"job\",\"id\":7}}");
+    pool = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+    server.close();
+  }
+
+  @Test
+  public void testCoalescing_AsyncSharesRequest() throws Exception {
+    JobClient client = new JobClient(handle(true));
+    List<CompletableFuture<Show<Job>>> futures = new ArrayList<CompletableFuture<Show<Job>>>();
+    for (int i = 0; i < CALLERS; i++) {
+      futures.add(client.showAsync(7));
+    }
+    // one caller giving up doesn't cancel the request for the others
+    futures.get(0).cancel(true);
+
+    for (int i = 1; i < CALLERS; i++) {
+      assertThat(futures.get(i).get(), sameInstance(futures.get(1).get()));
+    }
+    assertThat(server.getRequestCount(), equalTo(1));
+  }
+
+  @Test
+  public void testCoalescing_DisabledByDefault() throws Exception {
+    List<Future<Show<Job>>> results = showConcurrently(new JobClient(handle(false)));
+    for (Future<Show<Job>> result : results) {
+      result.get();
+    }
+    assertThat(server.getRequestCount(), equalTo(CALLERS));
+  }
+
+  @Test(timeout = 10000)
+  public void testCoalescing_ErrorClearsRead() throws Exception {
+    AtomicBoolean fail = new AtomicBoolean(true);
+    OkHttpClient.Builder http = new OkHttpClient.Builder().addInterceptor(chain -> {
+      if (fail.getAndSet(false)) {
+        throw new AssertionError("interceptor failed");
+      }
+      return chain.proceed(chain.request());
+    });
+    JobClient client = new JobClient(new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).builder(http).coalesceReads(true).build());
+
+    boolean caughtError = false;
+    try {
+      client.show(7);
+    } catch (AssertionError e) {
+      caughtError = true;
+    }
+    assertThat(caughtError, equalTo(true));
+    // the failed read doesn't leave its key behind for the next one to wait on
+    assertThat(client.show(7).getData().getId(), equalTo(7));
+  }
+
+  @Test
+  public void testCoalescing_ErrorShared() throws Exception {
+    server.respondJson(422, "{\"errors\":[\"bad\"]}");
+    List<Future<Show<Job>>> results = showConcurrently(new JobClient(handle(true)));
+
+    int failures = 0;
+    for (Future<Show<Job>> result : results) {
+      try {
+        result.get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof Exceptions.InvalidRequestException) {
+          failures++;
+        }
+      }
+    }
+    assertThat(failures, equalTo(CALLERS));
+    assertThat(server.getRequestCount(), equalTo(1));
+  }
+
+  @Test
+  public void testCoalescing_LastCancelCancelsCall() throws Exception {
+    AtomicInteger canceled = new AtomicInteger();
+    OkHttpClient.Builder http = new OkHttpClient.Builder().eventListener(new EventListener() {
+      @Override
+      public void canceled(Call call) {
+        canceled.incrementAndGet();
+      }
+    });
+    JobClient client = new JobClient(new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).builder(http).coalesceReads(true).build());
+
+    CompletableFuture<Show<Job>> first = client.showAsync(7);
+    CompletableFuture<Show<Job>> second = client.showAsync(7);
+    first.cancel(true);
+    // the other caller is still waiting
+    assertThat(canceled.get(), equalTo(0));
+    second.cancel(true);
+    assertThat(canceled.get(), equalTo(1));
+
+    // the cancelled read is gone, so the next one makes its own request
+    assertThat(client.showAsync(7).get().getData().getId(), equalTo(7));
+  }
+
+  @Test
+  public void testCoalescing_SyncSharesRequest() throws Exception {
+    JobClient client = new JobClient(handle(true));
+    List<Future<Show<Job>>> results = showConcurrently(client);
+
+    Show<Job> first = results.get(0).get();
+    for (Future<Show<Job>> result : results) {
+      assertThat(result.get(), sameInstance(first));
+    }
+    assertThat(server.getRequestCount(), equalTo(1));
+
+    // the shared request has finished, so a new read gets a new request
+    client.show(7);
+    assertThat(server.getRequestCount(), equalTo(2));
+  }
+
+  private ApiHandle handle(boolean coalesceReads) {
+    return new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).coalesceReads(coalesceReads).build();
+  }
+
+  private List<Future<Show<Job>>> showConcurrently(JobClient client) throws InterruptedException {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Show<Job>>> results = new ArrayList<Future<Show<Job>>>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(pool.submit(() -> {
+        start.await();
+        return client.show(7);
+      }));
+    }
+    start.countDown();
+    return results;
+  }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+import com.sun.net.httpserver.HttpExchange;
+
+public class ApiHandle_Compression_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+
+  private StubServer server;
+  private List<String> encodings = new ArrayList<String>();
+  private List<String> bodies = new ArrayList<String>();
+  private volatile boolean rejectGzip = false;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+      synchronized (this) {
+        encodings.add(String.valueOf(encoding));
+        bodies.add(readBody(exchange, encoding));
+      }
+      if (rejectGzip && encoding != null) {
+        StubServer.sendJson(exchange, 415, "{\"errors\":[\"unsupported\"]}");
+      } else {
+        StubServer.sendJson(exchange, 200, SHOW_JSON);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testCompression_DisabledByDefault() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+    new JobClient(handle).update(1, largeJob());
+    assertThat(encodings.toString(), equalTo("[null]"));
+  }
+
+  @Test
+  public void testCompression_FallsBackOn415() throws Exception {
+    rejectGzip = true;
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).requestCompression(1024).build();
+    JobClient client = new JobClient(handle);
+
+    assertThat(client.update(1, largeJob()).getData().getId(), equalTo(1));
+    assertThat(encodings.toString(), equalTo("[gzip, null]"));
+    assertThat(bodies.get(1), equalTo(bodies.get(0)));
+
+    // not tried again
+    client.update(1, largeJob());
+    assertThat(encodings.toString(), equalTo("[gzip, null, null]"));
+  }
+
+  @Test
+  public void testCompression_Invalid() throws Exception {
+    boolean caughtException = false;
+    try {
+      new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).requestCompression(-1).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testCompression_LargeBodyCompressed() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).requestCompression(1024).build();
+    new JobClient(handle).update(1, largeJob());
+
+    assertThat(encodings.toString(), equalTo("[gzip]"));
+    assertThat(bodies.get(0), containsString("\"service_instructions\":\"xxxx"));
+    // okhttp recorded the size actually sent
+    assertThat(handle.getTransactions().get(0).getRequestBodyBytes() < 1024, equalTo(true));
+  }
+
+  @Test
+  public void testCompression_SmallBodyNotCompressed() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).requestCompression(1024).build();
+    JobClient client = new JobClient(handle);
+    client.update(1, new Job());
+    client.show(1);
+    assertThat(encodings.toString(), equalTo("[null, null]"));
+  }
+
+  private Job largeJob() {
+    StringBuilder instructions = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      instructions.append('x');
+    }
+    Job job = new Job();
+    job.setServiceInstructions(instructions.toString());
+    return job;
+  }
+
+  private String readBody(HttpExchange exchange, String encoding) throws IOException {
+    InputStream in = exchange.getRequestBody();
+    if ("gzip".equals(encoding)) {
+      in = new GZIPInputStream(in);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
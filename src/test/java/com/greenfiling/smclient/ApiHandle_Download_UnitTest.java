@@ -0,0 +1,170 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.greenfiling.smclient.internal.ResumableDownload;
+import com.greenfiling.smclient.util.StubServer;
+import com.sun.net.httpserver.HttpExchange;
+
+public class ApiHandle_Download_UnitTest {
+  private static final byte[] CONTENT = new byte[3 * 1024 * 1024 + 17];
+  private static final String ETAG = "\"v1\"";
+
+  static {
+    new Random(42).nextBytes(CONTENT);
+  }
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private StubServer server;
+  private ApiHandle handle;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> StubServer.send(exchange, 200, "application/pdf", CONTENT));
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testDoGetFile_Channel() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    handle.doGetFile(server.getUrl() + "/file.pdf", Channels.newChannel(out));
+    assertThat(Arrays.equals(out.toByteArray(), CONTENT), equalTo(true));
+  }
+
+  @Test
+  public void testDoGetFile_FailedDownload() throws Exception {
+    server.setResponder(exchange -> StubServer.send(exchange, 404, "text/plain", "missing"));
+    File file = folder.newFile();
+    Files.write(file.toPath(), "existing".getBytes(StandardCharsets.UTF_8));
+
+    boolean caughtException = false;
+    try {
+      handle.doGetFile(server.getUrl() + "/file.pdf", file.getPath());
+    } catch (IOException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+    // a failed download leaves an existing file alone, and doesn't create a missing one
+    assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), equalTo("existing"));
+
+    File missing = new File(folder.getRoot(), "missing.pdf");
+    caughtException = false;
+    try {
+      handle.doGetFileApi(server.getUrl() + "/file.pdf", missing.getPath());
+    } catch (IOException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+    assertThat(missing.exists(), equalTo(false));
+  }
+
+  @Test
+  public void testDoGetFile_Path() throws Exception {
+    File file = folder.newFile();
+    Files.write(file.toPath(), new byte[CONTENT.length * 2]);
+    handle.doGetFile(server.getUrl() + "/file.pdf", file.getPath());
+    assertThat(Arrays.equals(Files.readAllBytes(file.toPath()), CONTENT), equalTo(true));
+    assertThat(server.getLastRequestHeaders().getFirst("Authorization"), equalTo(null));
+  }
+
+  @Test
+  public void testDoGetFileApiResumable_Resume() throws Exception {
+    server.setResponder(ApiHandle_Download_UnitTest::respondWithRanges);
+    File file = new File(folder.getRoot(), "doc.pdf");
+    int half = CONTENT.length / 2;
+    Files.write(new File(file.getPath() + ResumableDownload.PART_SUFFIX).toPath(), Arrays.copyOf(CONTENT, half));
+    Files.write(new File(file.getPath() + ResumableDownload.VALIDATOR_SUFFIX).toPath(), ETAG.getBytes(StandardCharsets.UTF_8));
+
+    long reused = handle.doGetFileApiResumable(server.getUrl() + "/file.pdf", file.getPath());
+    assertThat(reused, equalTo((long) half));
+    assertThat(server.getLastRequestHeaders().getFirst("Range"), equalTo("bytes=" + half + "-"));
+    assertThat(Arrays.equals(Files.readAllBytes(file.toPath()), CONTENT), equalTo(true));
+    assertThat(new File(file.getPath() + ResumableDownload.PART_SUFFIX).exists(), equalTo(false));
+    assertThat(new File(file.getPath() + ResumableDownload.VALIDATOR_SUFFIX).exists(), equalTo(false));
+  }
+
+  @Test
+  public void testDoGetFileResumable_ChangedFile() throws Exception {
+    server.setResponder(ApiHandle_Download_UnitTest::respondWithRanges);
+    File file = new File(folder.getRoot(), "doc.pdf");
+    Files.write(new File(file.getPath() + ResumableDownload.PART_SUFFIX).toPath(), new byte[1000]);
+    Files.write(new File(file.getPath() + ResumableDownload.VALIDATOR_SUFFIX).toPath(), "\"stale\"".getBytes(StandardCharsets.UTF_8));
+
+    long reused = handle.doGetFileResumable(server.getUrl() + "/file.pdf", file.getPath());
+    assertThat(reused, equalTo(0L));
+    assertThat(Arrays.equals(Files.readAllBytes(file.toPath()), CONTENT), equalTo(true));
+  }
+
+  @Test
+  public void testDoGetFileResumable_RangeIgnored() throws Exception {
+    File file = new File(folder.getRoot(), "doc.pdf");
+    Files.write(new File(file.getPath() + ResumableDownload.PART_SUFFIX).toPath(), Arrays.copyOf(CONTENT, 1000));
+    Files.write(new File(file.getPath() + ResumableDownload.VALIDATOR_SUFFIX).toPath(), ETAG.getBytes(StandardCharsets.UTF_8));
+
+    long reused = handle.doGetFileResumable(server.getUrl() + "/file.pdf", file.getPath());
+    assertThat(reused, equalTo(0L));
+    assertThat(Arrays.equals(Files.readAllBytes(file.toPath()), CONTENT), equalTo(true));
+  }
+
+  @Test
+  public void testDoGetFileApi_Stream() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    handle.doGetFileApi(server.getUrl() + "/file.pdf", out);
+    assertThat(Arrays.equals(out.toByteArray(), CONTENT), equalTo(true));
+    assertThat(server.getLastRequestHeaders().getFirst("Authorization"), not(equalTo(null)));
+  }
+
+  private static void respondWithRanges(HttpExchange exchange) throws IOException {
+    String range = exchange.getRequestHeaders().getFirst("Range");
+    exchange.getResponseHeaders().set("ETag", ETAG);
+    if (range == null || !ETAG.equals(exchange.getRequestHeaders().getFirst("If-Range"))) {
+      StubServer.send(exchange, 200, "application/pdf", CONTENT);
+      return;
+    }
+
+    int start = Integer.parseInt(range.replaceAll("bytes=(\\d+)-", "$1"));
+    exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + (CONTENT.length - 1) + "/" + CONTENT.length);
+    StubServer.send(exchange, 206, "application/pdf", Arrays.copyOfRange(CONTENT, start, CONTENT.length));
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_EntityCache_UnitTest {
+  private StubServer server;
+  private final AtomicInteger version = new AtomicInteger(1);
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      String id = exchange.getRequestURI().getPath().replaceAll(".*/", "");
+      String etag = "\"" + id + "-v" + version.get() + "\"";
+      if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.sendResponseHeaders(304, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("ETag", etag);
+      StubServer.sendJson(exchange, 200, "{\"data\":{\"type\":\"job\",\"id\":" + id + ",\"client_job_number\":\"v" + version.get() + "\"}}");
+    });
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testEntityCache_ChangedRecordRefetched() throws Exception {
+    JobClient client = new JobClient(handle(1024 * 1024));
+    Show<Job> first = client.show(7);
+    version.incrementAndGet();
+    Show<Job> second = client.show(7);
+
+    assertThat(second, not(sameInstance(first)));
+    assertThat(second.getData().getClientJobNumber(), equalTo("v2"));
+    assertThat(client.show(7), sameInstance(second));
+  }
+
+  @Test
+  public void testEntityCache_DisabledByDefault() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+    JobClient client = new JobClient(handle);
+    client.show(7);
+    client.show(7);
+
+    assertThat(handle.getEntityCache(), nullValue());
+    assertThat(server.getLastRequestHeaders().getFirst("If-None-Match"), nullValue());
+  }
+
+  @Test
+  public void testEntityCache_EvictsBySize() throws Exception {
+    // room for about two records
+    ApiHandle handle = handle(150);
+    JobClient client = new JobClient(handle);
+    client.show(1);
+    client.show(2);
+    client.show(3);
+
+    assertThat(handle.getEntityCache().size(), equalTo(2));
+    client.show(1);
+    assertThat(handle.getEntityCache().getHits(), equalTo(0L));
+  }
+
+  @Test
+  public void testEntityCache_InvalidConfig() throws Exception {
+    boolean caughtException = false;
+    try {
+      new ApiHandle.Builder().apiKey("key").entityCache(0, 60).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testEntityCache_NotModifiedReusesRecord() throws Exception {
+    ApiHandle handle = handle(1024 * 1024);
+    JobClient client = new JobClient(handle);
+    Show<Job> first = client.show(7);
+    Show<Job> second = client.show(7);
+    Show<Job> third = client.showAsync(7).get();
+
+    assertThat(server.getRequestCount(), equalTo(3));
+    assertThat(server.getLastRequestHeaders().getFirst("If-None-Match"), equalTo("\"7-v1\""));
+    assertThat(second, sameInstance(first));
+    assertThat(third, sameInstance(first));
+    assertThat(handle.getEntityCache().getHits(), equalTo(2L));
+    assertThat(handle.getTransactions().get(0).getResponseCode(), equalTo(304));
+  }
+
+  private ApiHandle handle(long maxBytes) {
+    return new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).entityCache(maxBytes, 60).build();
+  }
+}
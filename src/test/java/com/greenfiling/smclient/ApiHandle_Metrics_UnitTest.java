@@ -0,0 +1,157 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.InMemoryClientMetrics;
+import com.greenfiling.smclient.internal.InMemoryClientMetrics.EndpointMetrics;
+import com.greenfiling.smclient.internal.LatencyHistogram;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_Metrics_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+  private static final String INDEX_JSON = "{\"data\":[],\"links\":{}}";
+
+  private StubServer server;
+  private InMemoryClientMetrics metrics;
+  private ApiHandle handle;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.respondJson(200, SHOW_JSON);
+    metrics = new InMemoryClientMetrics();
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).metrics(metrics).build();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testMetrics_Async() throws Exception {
+    new JobClient(handle).showAsync(1).get(10, TimeUnit.SECONDS);
+
+    EndpointMetrics endpoint = metrics.getEndpointMetrics("GET", "jobs");
+    assertThat(endpoint.getLatency().getCount(), equalTo(1L));
+    assertThat(endpoint.getResponseCodes().get(200), equalTo(1L));
+    assertThat(endpoint.getInFlight(), equalTo(0));
+  }
+
+  @Test
+  public void testMetrics_EndpointLabels() throws Exception {
+    JobClient client = new JobClient(handle);
+    client.show(1);
+    client.show(2);
+    server.respondJson(200, INDEX_JSON);
+    client.indexNotes(1);
+
+    assertThat(metrics.getEndpointMetrics().keySet().toString(), equalTo("[GET jobs, GET jobs/notes]"));
+    assertThat(metrics.getEndpointMetrics("GET", "jobs").getLatency().getCount(), equalTo(2L));
+  }
+
+  @Test
+  public void testMetrics_Errors() throws Exception {
+    server.respondJson(422, "{\"errors\":[\"bad\"]}");
+    boolean caughtException = false;
+    try {
+      new JobClient(handle).show(1);
+    } catch (Exceptions.InvalidRequestException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+
+    EndpointMetrics endpoint = metrics.getEndpointMetrics("GET", "jobs");
+    assertThat(endpoint.getResponseCodes().get(422), equalTo(1L));
+    assertThat(endpoint.getExceptions().get("InvalidRequestException"), equalTo(1L));
+    assertThat(endpoint.getInFlight(), equalTo(0));
+  }
+
+  @Test
+  public void testMetrics_LatencyAndBytes() throws Exception {
+    server.setLatency(20);
+    JobClient client = new JobClient(handle);
+    for (int i = 0; i < 5; i++) {
+      client.show(1);
+    }
+
+    EndpointMetrics endpoint = metrics.getEndpointMetrics("GET", "jobs");
+    assertThat(endpoint.getLatency().getCount(), equalTo(5L));
+    assertThat(endpoint.getLatency().getPercentileNanos(50), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20)));
+    assertThat(endpoint.getLatency().getPercentileNanos(99), lessThanOrEqualTo(endpoint.getLatency().getMaxNanos()));
+    assertThat(endpoint.getBytesReceived(), equalTo(5L * SHOW_JSON.getBytes(StandardCharsets.UTF_8).length));
+    assertThat(endpoint.getResponseCodes().get(200), equalTo(5L));
+    assertThat(endpoint.getInFlight(), equalTo(0));
+  }
+
+  @Test
+  public void testMetrics_NetworkError() throws Exception {
+    server.close();
+    boolean caughtException = false;
+    try {
+      new JobClient(handle).show(1);
+    } catch (Exception e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+
+    EndpointMetrics endpoint = metrics.getEndpointMetrics("GET", "jobs");
+    assertThat(endpoint.getResponseCodes().isEmpty(), equalTo(true));
+    assertThat(endpoint.getExceptions().isEmpty(), equalTo(false));
+    assertThat(endpoint.getInFlight(), equalTo(0));
+  }
+
+  @Test
+  public void testMetrics_NoneByDefault() throws Exception {
+    ApiHandle plain = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+    assertThat(new JobClient(plain).show(1).getData().getId(), equalTo(1));
+  }
+
+  @Test
+  public void testLatencyHistogram_Percentiles() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int millis = 1; millis <= 100; millis++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    assertThat(histogram.getCount(), equalTo(100L));
+    assertThat(histogram.getMaxNanos(), equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+    // buckets are at most 1/8 wide, so percentiles are within 12.5%
+    long p50 = histogram.getPercentileNanos(50);
+    assertThat(p50, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50)));
+    assertThat(p50, lessThanOrEqualTo(TimeUnit.MICROSECONDS.toNanos(56250)));
+    long p99 = histogram.getPercentileNanos(99);
+    assertThat(p99, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(99)));
+    assertThat(p99, lessThanOrEqualTo(histogram.getMaxNanos()));
+    assertThat(histogram.getMeanNanos(), greaterThan(0L));
+    assertThat(histogram.toString(), not(equalTo(null)));
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.RateLimiter;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_RateLimit_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+
+  private StubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.respondJson(200, SHOW_JSON);
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testBuild_InvalidRateLimit() {
+    boolean caughtException = false;
+    try {
+      new ApiHandle.Builder().apiKey("key").rateLimit(0, 1).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testRateLimit_Async() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).rateLimit(5, 2).build();
+    JobClient client = new JobClient(handle);
+
+    long start = System.nanoTime();
+    List<CompletableFuture<Show<Job>>> futures = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      futures.add(client.showAsync(1));
+    }
+    // the delayed calls reserved their slots without holding up the caller, so the next free one is still about 800ms away. Had the caller waited
+    // for each slot, it would be about 200ms away
+    assertThat(handle.getReadRateLimiter().reserve(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(500)));
+    for (CompletableFuture<Show<Job>> future : futures) {
+      assertThat(future.get(5, TimeUnit.SECONDS).getData().getId(), equalTo(1));
+    }
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(750L));
+    assertThat(server.getRequestCount(), equalTo(6));
+  }
+
+  @Test
+  public void testRateLimit_SeparateReadBudget() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).readRateLimit(5, 1).build();
+    JobClient client = new JobClient(handle);
+    // writes are not limited
+    assertThat(handle.getWriteRateLimiter(), nullValue());
+    for (int i = 0; i < 5; i++) {
+      client.update(1, new Job());
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 3; i++) {
+      client.show(1);
+    }
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(350L));
+  }
+
+  @Test
+  public void testRateLimit_Sync() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).rateLimit(10, 2).build();
+    JobClient client = new JobClient(handle);
+    // reads and writes share one budget
+    assertThat(handle.getWriteRateLimiter(), sameInstance(handle.getReadRateLimiter()));
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 6; i++) {
+      client.show(1);
+    }
+    // 2 from the burst, then 4 more at 100ms intervals
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(350L));
+  }
+
+  @Test
+  public void testRateLimiter_Reserve() {
+    RateLimiter limiter = new RateLimiter(1, 2);
+    assertThat(limiter.reserve(), equalTo(0L));
+    assertThat(limiter.reserve(), equalTo(0L));
+    long wait = limiter.reserve();
+    assertThat(wait, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(900)));
+    // reservations queue up behind each other
+    assertThat(limiter.reserve(), greaterThanOrEqualTo(wait + TimeUnit.MILLISECONDS.toNanos(900)));
+  }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.RetryPolicy;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_Retry_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+
+  private StubServer server;
+  private AtomicInteger failuresLeft = new AtomicInteger();
+  private volatile int failureCode = 503;
+  private volatile String retryAfter;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      if (failuresLeft.getAndDecrement() > 0) {
+        if (retryAfter != null) {
+          exchange.getResponseHeaders().set("Retry-After", retryAfter);
+        }
+        StubServer.send(exchange, failureCode, "text/plain", "try again later");
+      } else {
+        StubServer.sendJson(exchange, 200, SHOW_JSON);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testRetry_Async() throws Exception {
+    failuresLeft.set(2);
+    JobClient client = newClient(fastPolicy().build());
+    assertThat(client.showAsync(1).get(5, TimeUnit.SECONDS).getData().getId(), equalTo(1));
+    assertThat(server.getRequestCount(), equalTo(3));
+  }
+
+  @Test
+  public void testRetry_BudgetExhausted() throws Exception {
+    failuresLeft.set(100);
+    JobClient client = newClient(fastPolicy().budget(0, 1).build());
+
+    assertThat(showFails(client), equalTo(true));
+    assertThat(server.getRequestCount(), equalTo(2));
+    // the one retry in the budget is gone, so this isn't retried at all
+    assertThat(showFails(client), equalTo(true));
+    assertThat(server.getRequestCount(), equalTo(3));
+  }
+
+  @Test
+  public void testRetry_GiveUpAfterMaxAttempts() throws Exception {
+    failuresLeft.set(100);
+    JobClient client = newClient(fastPolicy().maxAttempts(3).build());
+    assertThat(showFails(client), equalTo(true));
+    assertThat(server.getRequestCount(), equalTo(3));
+  }
+
+  @Test
+  public void testRetry_HonorsRetryAfter() throws Exception {
+    failuresLeft.set(1);
+    failureCode = 429;
+    retryAfter = "1";
+    JobClient client = newClient(fastPolicy().maxDelay(5000).build());
+
+    long start = System.nanoTime();
+    assertThat(client.show(1).getData().getId(), equalTo(1));
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(950L));
+    assertThat(server.getRequestCount(), equalTo(2));
+  }
+
+  @Test
+  public void testRetry_NotRetryable() throws Exception {
+    failuresLeft.set(1);
+    failureCode = 500;
+    JobClient client = newClient(fastPolicy().build());
+    assertThat(showFails(client), equalTo(true));
+    assertThat(server.getRequestCount(), equalTo(1));
+  }
+
+  @Test
+  public void testRetry_RetryAfterTooLong() throws Exception {
+    failuresLeft.set(1);
+    retryAfter = "120";
+    JobClient client = newClient(fastPolicy().build());
+    assertThat(showFails(client), equalTo(true));
+    assertThat(server.getRequestCount(), equalTo(1));
+  }
+
+  @Test
+  public void testRetry_Sync() throws Exception {
+    failuresLeft.set(2);
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).retryPolicy(fastPolicy().build()).keepTransactions(5).build();
+    assertThat(new JobClient(handle).show(1).getData().getId(), equalTo(1));
+    assertThat(server.getRequestCount(), equalTo(3));
+    // each attempt is its own transaction, newest first
+    assertThat(handle.getTransactions().size(), equalTo(3));
+    assertThat(handle.getTransactions().get(0).getResponseCode(), equalTo(200));
+    assertThat(handle.getTransactions().get(1).getResponseCode(), equalTo(503));
+  }
+
+  @Test
+  public void testRetry_WritesNotRetriedByDefault() throws Exception {
+    failuresLeft.set(1);
+    JobClient client = newClient(fastPolicy().build());
+    boolean caughtException = false;
+    try {
+      client.update(1, new Job());
+    } catch (Exception e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+    assertThat(server.getRequestCount(), equalTo(1));
+  }
+
+  @Test
+  public void testRetry_WritesRetriedWhenEnabled() throws Exception {
+    failuresLeft.set(1);
+    JobClient client = newClient(fastPolicy().retryWrites(true).build());
+    assertThat(client.update(1, new Job()).getData().getId(), equalTo(1));
+    assertThat(server.getRequestCount(), equalTo(2));
+  }
+
+  @Test
+  public void testRetryPolicy_DecorrelatedJitter() {
+    RetryPolicy policy = new RetryPolicy.Builder().baseDelay(100).maxDelay(1000).build();
+    assertThat(policy.nextDelayMillis(0), equalTo(100L));
+    for (int i = 0; i < 100; i++) {
+      long delay = policy.nextDelayMillis(200);
+      assertThat(delay, greaterThanOrEqualTo(100L));
+      assertThat(delay, lessThanOrEqualTo(600L));
+      assertThat(policy.nextDelayMillis(900), lessThanOrEqualTo(1000L));
+    }
+  }
+
+  @Test
+  public void testRetryPolicy_IOExceptions() {
+    RetryPolicy policy = new RetryPolicy.Builder().build();
+    assertThat(policy.isRetryable(new SocketTimeoutException()), equalTo(true));
+    assertThat(policy.isRetryable(new ConnectException()), equalTo(true));
+    // permanent failures would only spend the budget
+    assertThat(policy.isRetryable(new UnknownHostException()), equalTo(false));
+    assertThat(policy.isRetryable(new SSLHandshakeException("bad handshake")), equalTo(false));
+    assertThat(policy.isRetryable(new SSLPeerUnverifiedException("bad certificate")), equalTo(false));
+    assertThat(policy.start("GET").nextDelayMillis(new UnknownHostException()), equalTo(-1L));
+  }
+
+  @Test
+  public void testRetryPolicy_Invalid() {
+    boolean caughtException = false;
+    try {
+      new RetryPolicy.Builder().maxAttempts(0).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  private RetryPolicy.Builder fastPolicy() {
+    return new RetryPolicy.Builder().baseDelay(10).maxDelay(50);
+  }
+
+  private JobClient newClient(RetryPolicy policy) {
+    return new JobClient(new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).retryPolicy(policy).build());
+  }
+
+  private boolean showFails(JobClient client) {
+    try {
+      client.show(1);
+    } catch (Exception e) {
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.Transaction;
+import com.greenfiling.smclient.internal.Transaction.CaptureMode;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Index;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_Streaming_UnitTest {
+  private static final String INDEX_JSON = "{\"links\":{\"self\":\"x\",\"next\":null},\"data\":[{\"type\":\"job\",\"id\":1,\"servemanager_job_number\":\"11\"},"
+      + "{\"type\":\"job\",\"id\":2,\"servemanager_job_number\":\"22\"}]}";
+
+  private StubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testIndex_ErrorBodyCapturedInMetadataMode() throws Exception {
+    server.respondJson(422, "{\"errors\":[\"bad\"]}");
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).transactionCapture(CaptureMode.METADATA).build();
+
+    boolean caughtException = false;
+    try {
+      new JobClient(handle).index();
+    } catch (Exceptions.InvalidRequestException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+    assertThat(handle.getTransactions().get(0).getResponseBody(), equalTo("{\"errors\":[\"bad\"]}"));
+  }
+
+  @Test
+  public void testIndex_FullCaptureKeepsBody() throws Exception {
+    server.respondJson(200, INDEX_JSON);
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+
+    Index<Job> index = new JobClient(handle).index();
+    assertThat(index.getData().size(), equalTo(2));
+    assertThat(handle.getTransactions().get(0).getResponseBody(), equalTo(INDEX_JSON));
+  }
+
+  @Test
+  public void testIndex_MetadataCaptureStreamsBody() throws Exception {
+    server.respondJson(200, INDEX_JSON);
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).transactionCapture(CaptureMode.METADATA).build();
+
+    Index<Job> index = new JobClient(handle).index();
+    assertThat(index, not(equalTo(null)));
+    assertThat(index.getData().size(), equalTo(2));
+    assertThat(index.getData().get(1).getServeManagerJobNumber(), equalTo("22"));
+
+    Transaction txn = handle.getTransactions().get(0);
+    assertThat(txn.getResponseCode(), equalTo(200));
+    assertThat(txn.getResponseBody(), equalTo(null));
+  }
+}
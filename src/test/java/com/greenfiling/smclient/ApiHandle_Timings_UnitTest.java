@@ -0,0 +1,85 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.Transaction;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_Timings_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+
+  private StubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.respondJson(200, SHOW_JSON);
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testTimings_Disabled() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).transactionTimings(false).build();
+    new JobClient(handle).show(1);
+
+    Transaction txn = handle.getTransactions().get(0);
+    assertThat(txn.getTotalNanos(), equalTo(null));
+    assertThat(txn.getConnectionReused(), equalTo(null));
+  }
+
+  @Test
+  public void testTimings_NewThenPooledConnection() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+    JobClient client = new JobClient(handle);
+
+    client.show(1);
+    Transaction first = handle.getTransactions().get(0);
+    assertThat(first.getConnectionReused(), equalTo(false));
+    assertThat(first.getConnectNanos(), not(equalTo(null)));
+    // plain http, so no handshake
+    assertThat(first.getTlsNanos(), equalTo(null));
+    assertThat(first.getTimeToFirstByteNanos(), greaterThan(0L));
+    assertThat(first.getTimeToFirstByteNanos(), lessThanOrEqualTo(first.getTotalNanos()));
+    assertThat(first.getResponseBodyBytes(), equalTo((long) SHOW_JSON.getBytes(StandardCharsets.UTF_8).length));
+    assertThat(first.getDecodeNanos(), not(equalTo(null)));
+
+    client.update(1, new Job());
+    Transaction second = handle.getTransactions().get(0);
+    assertThat(second.getConnectionReused(), equalTo(true));
+    assertThat(second.getConnectNanos(), equalTo(null));
+    assertThat(second.getDnsNanos(), equalTo(null));
+    assertThat(second.getRequestBodyBytes(), greaterThan(0L));
+    assertThat(second.getTotalNanos(), greaterThan(0L));
+  }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.Transaction;
+import com.greenfiling.smclient.internal.Transaction.CaptureMode;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_TransactionCapture_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+  private static final String ERROR_JSON = "{\"errors\":[\"bad request\"]}";
+
+  private StubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      if (exchange.getRequestURI().getPath().endsWith("/2")) {
+        StubServer.sendJson(exchange, 422, ERROR_JSON);
+      } else {
+        StubServer.sendJson(exchange, 200, SHOW_JSON);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testCapture_BodyLimit() throws Exception {
+    ApiHandle handle = newBuilder().transactionBodyLimit(10).build();
+    JobClient client = new JobClient(handle);
+
+    assertThat(client.show(1).getData().getId(), equalTo(1));
+    assertThat(handle.getTransactions().get(0).getResponseBody(), equalTo(SHOW_JSON.substring(0, 10) + Transaction.TRUNCATED_MARKER));
+
+    client.update(1, new Job());
+    assertThat(handle.getTransactions().get(0).getRequestBody().length(), equalTo(10 + Transaction.TRUNCATED_MARKER.length()));
+
+    assertThat(showFails(client, 2), equalTo(true));
+    assertThat(handle.getTransactions().get(0).getResponseBody(), equalTo(ERROR_JSON.substring(0, 10) + Transaction.TRUNCATED_MARKER));
+  }
+
+  @Test
+  public void testCapture_BodyLimitNotReached() throws Exception {
+    ApiHandle handle = newBuilder().transactionBodyLimit(1000).build();
+    new JobClient(handle).show(1);
+    assertThat(handle.getTransactions().get(0).getResponseBody(), equalTo(SHOW_JSON));
+  }
+
+  @Test
+  public void testCapture_NoneRecordsErrors() throws Exception {
+    ApiHandle handle = newBuilder().transactionCapture(CaptureMode.NONE).build();
+    JobClient client = new JobClient(handle);
+
+    client.show(1);
+    client.update(1, new Job());
+    assertThat(handle.getTransactions().size(), equalTo(0));
+
+    assertThat(showFails(client, 2), equalTo(true));
+    assertThat(handle.getTransactions().size(), equalTo(1));
+    Transaction txn = handle.getTransactions().get(0);
+    assertThat(txn.getResponseCode(), equalTo(422));
+    assertThat(txn.getResponseBody(), equalTo(ERROR_JSON));
+    assertThat(txn.getRequestUrl().endsWith("/jobs/2"), equalTo(true));
+  }
+
+  @Test
+  public void testCapture_NoneWithoutCaptureOnError() throws Exception {
+    ApiHandle handle = newBuilder().transactionCapture(CaptureMode.NONE).transactionCaptureOnError(false).build();
+    assertThat(showFails(new JobClient(handle), 2), equalTo(true));
+    assertThat(handle.getTransactions().size(), equalTo(0));
+  }
+
+  @Test
+  public void testCapture_Sampling() throws Exception {
+    ApiHandle handle = newBuilder().transactionSampling(3).build();
+    JobClient client = new JobClient(handle);
+    for (int i = 0; i < 9; i++) {
+      client.show(1);
+    }
+    assertThat(handle.getTransactions().size(), equalTo(3));
+    assertThat(handle.getTransactions().get(0).getResponseBody(), equalTo(SHOW_JSON));
+
+    // failures are kept whether or not they were sampled
+    for (int i = 0; i < 3; i++) {
+      showFails(client, 2);
+    }
+    assertThat(handle.getTransactions().size(), equalTo(6));
+  }
+
+  @Test
+  public void testCapture_DefaultBodyLimit() throws Exception {
+    StringBuilder big = new StringBuilder("{\"data\":{\"type\":\"job\",\"id\":3,\"padding\":\"");
+    for (int i = 0; i < ApiHandle.DEFAULT_TRANSACTION_BODY_LIMIT; i++) {
+      big.append('x');
+    }
+    String bigJson = big.append("\"}}").toString();
+    server.respondJson(200, bigJson);
+
+    ApiHandle handle = newBuilder().build();
+    assertThat(new JobClient(handle).show(3).getData().getId(), equalTo(3));
+    assertThat(handle.getTransactions().get(0).getResponseBody(),
+        equalTo(bigJson.substring(0, ApiHandle.DEFAULT_TRANSACTION_BODY_LIMIT) + Transaction.TRUNCATED_MARKER));
+  }
+
+  @Test
+  public void testCapture_InvalidSampling() {
+    boolean caughtException = false;
+    try {
+      newBuilder().transactionSampling(0).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  private ApiHandle.Builder newBuilder() {
+    return new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).keepTransactions(10);
+  }
+
+  private boolean showFails(JobClient client, int id) {
+    try {
+      client.show(id);
+    } catch (Exception e) {
+      return true;
+    }
+    return false;
+  }
+}
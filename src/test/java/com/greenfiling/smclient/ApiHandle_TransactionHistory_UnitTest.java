@@ -0,0 +1,138 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.RingBuffer;
+import com.greenfiling.smclient.internal.Transaction;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.exchange.Show;
+import com.greenfiling.smclient.util.StubServer;
+
+public class ApiHandle_TransactionHistory_UnitTest {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":1}}";
+
+  private StubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.respondJson(200, SHOW_JSON);
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testRingBuffer_ConcurrentAdds() throws Exception {
+    RingBuffer<Integer> buffer = new RingBuffer<Integer>(16);
+    int threads = 8;
+    int perThread = 10000;
+    CountDownLatch done = new CountDownLatch(threads);
+    for (int t = 0; t < threads; t++) {
+      int base = t * perThread;
+      new Thread(() -> {
+        for (int i = 0; i < perThread; i++) {
+          buffer.add(base + i);
+          // snapshots taken mid-flight must never be oversized or hold duplicates
+          if (i % 100 == 0) {
+            List<Integer> snapshot = buffer.snapshot();
+            if (snapshot.size() > 16 || new HashSet<Integer>(snapshot).size() != snapshot.size()) {
+              throw new AssertionError("bad snapshot " + snapshot);
+            }
+          }
+        }
+        done.countDown();
+      }).start();
+    }
+    assertThat(done.await(30, TimeUnit.SECONDS), equalTo(true));
+    assertThat(buffer.snapshot().size(), equalTo(16));
+  }
+
+  @Test
+  public void testRingBuffer_NewestFirst() {
+    RingBuffer<Integer> buffer = new RingBuffer<Integer>(3);
+    assertThat(buffer.snapshot().size(), equalTo(0));
+    buffer.add(1);
+    buffer.add(2);
+    assertThat(buffer.snapshot(), equalTo(Arrays.asList(2, 1)));
+    for (int i = 3; i <= 10; i++) {
+      buffer.add(i);
+    }
+    assertThat(buffer.snapshot(), equalTo(Arrays.asList(10, 9, 8)));
+  }
+
+  @Test
+  public void testRingBuffer_ZeroCapacity() {
+    RingBuffer<Integer> buffer = new RingBuffer<Integer>(0);
+    buffer.add(1);
+    assertThat(buffer.snapshot().size(), equalTo(0));
+  }
+
+  @Test
+  public void testTransactions_ConcurrentRequests() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).keepTransactions(10).maxRequests(20).build();
+    JobClient client = new JobClient(handle);
+
+    List<CompletableFuture<Show<Job>>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(client.showAsync(1));
+    }
+    for (CompletableFuture<Show<Job>> future : futures) {
+      assertThat(future.get(30, TimeUnit.SECONDS).getData().getId(), equalTo(1));
+    }
+
+    ArrayList<Transaction> txns = handle.getTransactions();
+    assertThat(txns.size(), equalTo(10));
+    assertThat(new HashSet<Transaction>(txns).size(), equalTo(10));
+    for (Transaction txn : txns) {
+      assertThat(txn.getResponseCode(), equalTo(200));
+    }
+  }
+
+  @Test
+  public void testTransactions_SnapshotIsStable() throws Exception {
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).keepTransactions(3).build();
+    JobClient client = new JobClient(handle);
+    client.show(1);
+    ArrayList<Transaction> before = handle.getTransactions();
+    client.update(1, new Job());
+
+    assertThat(before.size(), equalTo(1));
+    ArrayList<Transaction> after = handle.getTransactions();
+    assertThat(after.size(), equalTo(2));
+    assertThat(after.get(0).getRequestType(), equalTo("PUT"));
+    assertThat(after.get(1), equalTo(before.get(0)));
+    assertThat(after.get(1).getRequestType(), equalTo("GET"));
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2021-2023 Green Filing, LLC
+ * Copyright 2021-2026 Green Filing, LLC
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.greenfiling.smclient.internal.ExecutorFactory;
+import com.greenfiling.smclient.internal.ExecutorFactory.ExecutionMode;
 import com.greenfiling.smclient.util.TestHelper;
 
 public class ApiHandle_UnitTest {
@@ -36,6 +38,22 @@ public class ApiHandle_UnitTest {
     TestHelper.loadTestResources();
   }
 
+  @Test
+  public void testConstructor_ExecutionModeVirtualThreads() throws Exception {
+    boolean caughtException = false;
+    ApiHandle client = null;
+    try {
+      client = new ApiHandle.Builder().apiKey(TestHelper.VALID_API_KEY).executionMode(ExecutionMode.VIRTUAL_THREADS).maxRequests(200).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    // virtual threads are only available when the Java 21 classes are loaded from the multi-release jar
+    assertThat(caughtException, equalTo(!ExecutorFactory.isVirtualThreadSupported()));
+    if (client != null) {
+      assertThat(client.getExecutor(), not(equalTo(null)));
+    }
+  }
+
   @Test
   public void testConstructor_HappyPath() throws Exception {
     boolean caughtException = false;
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.ExecutorFactory;
+import com.greenfiling.smclient.internal.ExecutorFactory.ExecutionMode;
+import com.greenfiling.smclient.util.StubServer;
+
+import okhttp3.OkHttpClient;
+
+/*
+ * Run by failsafe against the packaged multi-release jar, in the java21 profile only, so that the Java 21 layer is what's loaded. The test
+ * sources are built for Java 8, so Thread.isVirtual() is called reflectively.
+ */
+public class ApiHandle_VirtualThreads_IT {
+  private static final String SHOW_JSON = "{\"data\":{\"type\":\"job\",\"id\":7}}";
+
+  private StubServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testVirtualThreads_RequestsAndTasks() throws Exception {
+    assertThat(ExecutorFactory.isVirtualThreadSupported(), equalTo(true));
+
+    AtomicBoolean requestVirtual = new AtomicBoolean(false);
+    OkHttpClient.Builder http = new OkHttpClient.Builder().addInterceptor(chain -> {
+      requestVirtual.set(isVirtual());
+      return chain.proceed(chain.request());
+    });
+    ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).builder(http).executionMode(ExecutionMode.VIRTUAL_THREADS)
+        .build();
+    server.respondJson(200, SHOW_JSON);
+
+    assertThat(handle.doGetAsync(server.getUrl() + "/jobs/7").get(5, TimeUnit.SECONDS), equalTo(SHOW_JSON));
+    assertThat(requestVirtual.get(), equalTo(true));
+    assertThat(handle.getExecutor().submit(() -> isVirtual()).get(5, TimeUnit.SECONDS), equalTo(true));
+  }
+
+  private static boolean isVirtual() {
+    try {
+      Method method = Thread.class.getMethod("isVirtual");
+      return (Boolean) method.invoke(Thread.currentThread());
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+}
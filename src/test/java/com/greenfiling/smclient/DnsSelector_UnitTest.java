@@ -0,0 +1,150 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.DnsSelector;
+import com.greenfiling.smclient.internal.DnsSelector.IpMode;
+import com.greenfiling.smclient.util.StubServer;
+
+public class DnsSelector_UnitTest {
+  private static class FixedDnsSelector extends DnsSelector {
+    private final List<InetAddress> addresses;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private FixedDnsSelector(IpMode mode, long cacheTtlMillis, int probePort, InetAddress... addresses) {
+      super(mode, cacheTtlMillis, probePort);
+      this.addresses = Arrays.asList(addresses);
+    }
+
+    @Override
+    protected List<InetAddress> resolve(String hostname) throws UnknownHostException {
+      lookups.incrementAndGet();
+      return addresses;
+    }
+  }
+
+  private ServerSocket listener;
+  private InetAddress listening;
+  private InetAddress refused;
+
+  @Before
+  public void setUp() throws Exception {
+    listening = InetAddress.getByName("127.0.0.1");
+    refused = InetAddress.getByName("127.0.0.2");
+    listener = new ServerSocket(0, 50, listening);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    listener.close();
+  }
+
+  @Test
+  public void testDnsSelector_BackgroundRefresh() throws Exception {
+    FixedDnsSelector dns = new FixedDnsSelector(IpMode.SYSTEM, 400, 0, listening);
+    dns.lookup("example.com");
+    Thread.sleep(320);
+
+    // served from the cache while it's refreshed
+    assertThat(dns.lookup("example.com").get(0), equalTo(listening));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (dns.lookups.get() < 2 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(dns.lookups.get(), equalTo(2));
+  }
+
+  @Test
+  public void testDnsSelector_Cached() throws Exception {
+    FixedDnsSelector dns = new FixedDnsSelector(IpMode.SYSTEM, 60000, 0, listening);
+    for (int i = 0; i < 5; i++) {
+      assertThat(dns.lookup("example.com").get(0), equalTo(listening));
+    }
+    assertThat(dns.lookups.get(), equalTo(1));
+  }
+
+  @Test
+  public void testDnsSelector_HappyEyeballsEndToEnd() throws Exception {
+    try (StubServer server = new StubServer()) {
+      server.respondJson(200, "{\"data\":{\"type\":\"job\",\"id\":1}}");
+      ApiHandle handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).ipMode(IpMode.HAPPY_EYEBALLS).build();
+      assertThat(new JobClient(handle).show(1).getData().getId(), equalTo(1));
+    }
+  }
+
+  @Test
+  public void testDnsSelector_HappyEyeballsSkipsRefused() throws Exception {
+    FixedDnsSelector dns = new FixedDnsSelector(IpMode.HAPPY_EYEBALLS, 0, listener.getLocalPort(), refused, listening);
+    assertThat(dns.lookup("example.com"), equalTo(Arrays.asList(listening, refused)));
+  }
+
+  @Test
+  public void testDnsSelector_HappyEyeballsStaggers() throws Exception {
+    // a listener whose accept queue is full silently drops new connection attempts, like an unreachable address. The next address should be tried
+    // after the attempt delay rather than the full connect timeout
+    InetAddress blackhole = InetAddress.getByName("127.0.0.3");
+    List<Socket> queued = new ArrayList<Socket>();
+    try (ServerSocket full = new ServerSocket(listener.getLocalPort(), 1, blackhole)) {
+      for (int i = 0; i < 3; i++) {
+        Socket socket = new Socket();
+        try {
+          socket.connect(new InetSocketAddress(blackhole, full.getLocalPort()), 200);
+        } catch (IOException e) {
+          // the queue is full
+        }
+        queued.add(socket);
+      }
+
+      FixedDnsSelector dns = new FixedDnsSelector(IpMode.HAPPY_EYEBALLS, 0, listener.getLocalPort(), blackhole, listening);
+      long start = System.nanoTime();
+      assertThat(dns.lookup("example.com").get(0), equalTo(listening));
+      assertThat(System.nanoTime() - start, lessThan(TimeUnit.SECONDS.toNanos(2)));
+    } finally {
+      for (Socket socket : queued) {
+        socket.close();
+      }
+    }
+  }
+
+  @Test
+  public void testDnsSelector_NotCached() throws Exception {
+    FixedDnsSelector dns = new FixedDnsSelector(IpMode.IPV4_ONLY, 0, 0, listening);
+    dns.lookup("example.com");
+    dns.lookup("example.com");
+    assertThat(dns.lookups.get(), equalTo(2));
+  }
+}
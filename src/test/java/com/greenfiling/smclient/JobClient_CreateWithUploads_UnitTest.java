@@ -0,0 +1,166 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.greenfiling.smclient.JobClient.UploadReport;
+import com.greenfiling.smclient.model.Attachment;
+import com.greenfiling.smclient.model.JobSubmit;
+import com.greenfiling.smclient.model.ServiceDocument;
+import com.greenfiling.smclient.util.StubServer;
+import com.sun.net.httpserver.HttpExchange;
+
+public class JobClient_CreateWithUploads_UnitTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private StubServer server;
+  private JobClient client;
+  private AtomicInteger jobsCreated = new AtomicInteger();
+  private Map<String, AtomicInteger> putAttempts = new ConcurrentHashMap<String, AtomicInteger>();
+  private Map<String, Integer> failuresBeforeSuccess = new ConcurrentHashMap<String, Integer>();
+  private Map<String, Integer> failureCode = new ConcurrentHashMap<String, Integer>();
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(this::respond);
+    client = new JobClient(new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build());
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testCreateWithUploads_HappyPathWithRetry() throws Exception {
+    failuresBeforeSuccess.put("/uploads/0", 1);
+    failureCode.put("/uploads/0", 503);
+
+    UploadReport report = client.createWithUploads(makeJob(), makeFiles("a.pdf", "b.pdf", "c.pdf"), 3);
+    assertThat(report.toString(), report.isSuccess(), equalTo(true));
+    assertThat(report.getJob().getData().getId(), equalTo(42));
+    assertThat(report.getResults().size(), equalTo(3));
+    assertThat(report.getResults().get(0).getItem(), equalTo("a.pdf"));
+    assertThat(report.getResults().get(2).getItem(), equalTo("c.pdf"));
+    assertThat(putAttempts.get("/uploads/0").get(), equalTo(2));
+    assertThat(putAttempts.get("/uploads/2").get(), equalTo(1));
+  }
+
+  @Test
+  public void testCreateWithUploads_NonRetryableFailure() throws Exception {
+    failuresBeforeSuccess.put("/uploads/1", 10);
+    failureCode.put("/uploads/1", 403);
+    // only codes meaning the server is temporarily unable to cope are retried
+    failuresBeforeSuccess.put("/uploads/2", 10);
+    failureCode.put("/uploads/2", 500);
+
+    UploadReport report = client.createWithUploads(makeJob(), makeFiles("a.pdf", "b.pdf", "c.pdf"), 3);
+    assertThat(report.isSuccess(), equalTo(false));
+    assertThat(report.getFailures().size(), equalTo(2));
+    assertThat(report.getFailures().get(0).getItem(), equalTo("b.pdf"));
+    assertThat(report.getFailures().get(0).getException(), instanceOf(Exceptions.AccessForbiddenException.class));
+    assertThat(putAttempts.get("/uploads/1").get(), equalTo(1));
+    assertThat(((Exceptions.UnexpectedResponseException) report.getFailures().get(1).getException()).getResponseCode(), equalTo(500));
+    assertThat(putAttempts.get("/uploads/2").get(), equalTo(1));
+  }
+
+  @Test
+  public void testCreateWithUploads_UnknownFileName() throws Exception {
+    boolean caughtException = false;
+    try {
+      client.createWithUploads(makeJob(), makeFiles("a.pdf", "nope.pdf"), 3);
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+    assertThat(jobsCreated.get(), equalTo(0));
+  }
+
+  private Map<String, File> makeFiles(String... names) throws IOException {
+    Map<String, File> files = new LinkedHashMap<String, File>();
+    for (String name : names) {
+      File file = folder.newFile(name);
+      Files.write(file.toPath(), ("contents of " + name).getBytes());
+      files.put(name, file);
+    }
+    return files;
+  }
+
+  private JobSubmit makeJob() {
+    ArrayList<ServiceDocument> docs = new ArrayList<>();
+    for (String name : new String[] { "a.pdf", "b.pdf" }) {
+      ServiceDocument doc = new ServiceDocument();
+      doc.setTitle(name);
+      doc.setFileName(name);
+      docs.add(doc);
+    }
+    ArrayList<Attachment> attachments = new ArrayList<>();
+    Attachment attachment = new Attachment();
+    attachment.setTitle("c");
+    attachment.setFileName("c.pdf");
+    attachments.add(attachment);
+
+    JobSubmit job = new JobSubmit();
+    job.setDocumentsToBeServedAttributes(docs);
+    job.setMiscAttachmentsAttributes(attachments);
+    return job;
+  }
+
+  private void respond(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    if ("POST".equals(exchange.getRequestMethod()) && path.equals("/jobs")) {
+      jobsCreated.incrementAndGet();
+      String base = server.getUrl();
+      // @formatter:off
+      StubServer.sendJson(exchange, 201, "{\"data\":{\"type\":\"job\",\"id\":42,"
+          + "\"documents_to_be_served\":["
+          +   "{\"type\":\"service_document\",\"id\":1,\"upload\":{\"links\":{\"put_url\":\"" + base + "/uploads/0\"}}},"
+          +   "{\"type\":\"service_document\",\"id\":2,\"upload\":{\"links\":{\"put_url\":\"" + base + "/uploads/1\"}}}],"
+          + "\"misc_attachments\":["
+          +   "{\"type\":\"attachment\",\"id\":3,\"upload\":{\"links\":{\"put_url\":\"" + base + "/uploads/2\"}}}]}}");
+      // @formatter:on
+      return;
+    }
+
+    int attempt = putAttempts.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+    if (attempt <= failuresBeforeSuccess.getOrDefault(path, 0)) {
+      StubServer.send(exchange, failureCode.get(path), "text/plain", "failed");
+    } else {
+      StubServer.send(exchange, 200, "text/plain", "");
+    }
+  }
+}
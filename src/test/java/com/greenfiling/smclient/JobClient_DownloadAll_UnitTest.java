@@ -0,0 +1,121 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.greenfiling.smclient.JobClient.Artifact;
+import com.greenfiling.smclient.internal.BulkResult;
+import com.greenfiling.smclient.internal.JsonHandle;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class JobClient_DownloadAll_UnitTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private StubServer server;
+  private JobClient client;
+  private AtomicInteger inFlight = new AtomicInteger();
+  private AtomicInteger maxInFlight = new AtomicInteger();
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      int now = inFlight.incrementAndGet();
+      maxInFlight.accumulateAndGet(now, Math::max);
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      inFlight.decrementAndGet();
+
+      String path = exchange.getRequestURI().getPath();
+      boolean authenticated = exchange.getRequestHeaders().getFirst("Authorization") != null;
+      if (path.startsWith("/missing")) {
+        StubServer.send(exchange, 404, "text/plain", "missing");
+      } else if (path.startsWith("/api/") && !authenticated) {
+        StubServer.send(exchange, 401, "text/plain", "unauthorized");
+      } else {
+        StubServer.send(exchange, 200, "application/pdf", path);
+      }
+    });
+    client = new JobClient(new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build());
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testDownloadAll_HappyPath() throws Exception {
+    Job job = makeJob(false);
+    Path dir = folder.getRoot().toPath().resolve("job");
+
+    List<BulkResult<Artifact, Path>> results = client.downloadAll(job, dir, 2);
+    assertThat(results.size(), equalTo(5));
+    for (BulkResult<Artifact, Path> result : results) {
+      assertThat(result.toString(), result.isSuccess(), equalTo(true));
+      assertThat(new String(Files.readAllBytes(result.getResult())), equalTo(result.getItem().getUrl().replace(server.getUrl(), "")));
+    }
+    assertThat(results.get(0).getResult().getFileName().toString(), equalTo("document-1-Summons.pdf"));
+    assertThat(results.get(2).getResult().getFileName().toString(), equalTo("misc-attachment-3-proof_of_service.pdf"));
+    assertThat(maxInFlight.get() <= 2, equalTo(true));
+  }
+
+  @Test
+  public void testDownloadAll_PartialFailure() throws Exception {
+    List<BulkResult<Artifact, Path>> results = client.downloadAll(makeJob(true), folder.getRoot().toPath(), 3);
+    assertThat(results.size(), equalTo(5));
+    assertThat(results.get(1).isSuccess(), equalTo(false));
+    assertThat(results.get(1).getException() != null, equalTo(true));
+    assertThat(results.get(0).isSuccess(), equalTo(true));
+    assertThat(results.get(4).isSuccess(), equalTo(true));
+  }
+
+  private Job makeJob(boolean withMissingFile) {
+    String base = server.getUrl();
+    String served = withMissingFile ? "/missing/served.pdf" : "/uploads/served.pdf";
+    // @formatter:off
+    String json = "{\"type\":\"job\",\"id\":100,"
+        + "\"documents\":[{\"type\":\"document\",\"id\":1,\"title\":\"Summons\",\"pdf_download_url\":\"" + base + "/api/documents/1.pdf\"}],"
+        + "\"documents_to_be_served\":[{\"type\":\"service_document\",\"id\":2,\"title\":\"Complaint\","
+        +     "\"upload\":{\"file_name\":\"complaint.pdf\",\"links\":{\"download_url\":\"" + base + served + "\"}}}],"
+        + "\"misc_attachments\":[{\"type\":\"attachment\",\"id\":3,\"title\":\"Proof\","
+        +     "\"upload\":{\"file_name\":\"proof of service.pdf\",\"links\":{\"download_url\":\"" + base + "/uploads/proof.pdf\"}}},"
+        +   "{\"type\":\"attachment\",\"id\":4,\"title\":\"Not uploaded yet\"}],"
+        + "\"invoice\":{\"type\":\"invoice\",\"id\":5,\"pdf_download_url\":\"" + base + "/api/invoices/5.pdf\"},"
+        + "\"process_server_invoice\":{\"type\":\"invoice\",\"id\":6,\"pdf_download_url\":\"" + base + "/api/invoices/6.pdf\"}}";
+    // @formatter:on
+    return JsonHandle.get().getGson().fromJson(json, Job.class);
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2023-2024 Green Filing, LLC
+ * Copyright 2023-2026 Green Filing, LLC
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,8 @@ import static org.hamcrest.Matchers.greaterThan;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -411,6 +413,49 @@ public class JobClient_IntegrationTest {
     log("Number of jobs in response: %s", jobs.size());
   }
 
+  @Test
+  public void testShowJobAsync_HappyPath() throws Exception {
+    ApiHandle apiHandle = TestHelper.getApiHandle();
+    JobClient client = new JobClient(apiHandle);
+
+    Show<Job> createResponse = client.createAsync(TestHelper.getTestJob()).get();
+    assertThat(createResponse, not(equalTo(null)));
+    assertThat(createResponse.getData(), not(equalTo(null)));
+    assertThat(createResponse.getData().getId(), greaterThan(0));
+    log("created for testing job links.self = %s", createResponse.getData().getLinks().getSelf());
+
+    Integer jobId = createResponse.getData().getId();
+
+    // fire several requests at once, then wait for all of them
+    ArrayList<CompletableFuture<Show<Job>>> futures = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      futures.add(client.showAsync(jobId));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+
+    for (CompletableFuture<Show<Job>> future : futures) {
+      Show<Job> response = future.get();
+      assertThat(response, not(equalTo(null)));
+      assertThat(response.getData(), not(equalTo(null)));
+      assertThat(response.getData().getId(), equalTo(jobId));
+    }
+  }
+
+  @Test
+  public void testShowJobAsync_NoSuchObject() throws Exception {
+    boolean caughtException = false;
+    ApiHandle apiHandle = TestHelper.getApiHandle();
+    JobClient client = new JobClient(apiHandle);
+    Show<Job> showResp = null;
+    try {
+      showResp = client.showAsync(1).get();
+    } catch (ExecutionException e) {
+      caughtException = e.getCause() instanceof Exceptions.RecordNotFoundException;
+    }
+    assertThat(caughtException, equalTo(true));
+    assertThat(showResp, equalTo(null));
+  }
+
   @Test
   public void testShowJob_HappyPath() throws Exception {
     ApiHandle apiHandle = TestHelper.getApiHandle();
@@ -0,0 +1,243 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.greenfiling.smclient.internal.JobMirror;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.util.StubServer;
+
+public class JobMirror_UnitTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMirror_CompactionReclaimsGarbage() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).segmentBytes(4096).compactionRatio(0.5).build()) {
+      long firstRound = 0;
+      for (int round = 0; round < 5; round++) {
+        List<Job> jobs = new ArrayList<Job>();
+        for (int id = 1; id <= 50; id++) {
+          jobs.add(job(id, "SM-" + id, "round " + round));
+        }
+        mirror.putAll(jobs);
+        if (round == 0) {
+          firstRound = logBytes(dir);
+        }
+      }
+      // puts leave compaction to the owner, even once it is due
+      long before = logBytes(dir);
+      assertThat(before > firstRound * 4, equalTo(true));
+      assertThat(mirror.isCompactionDue(), equalTo(true));
+
+      mirror.compact();
+      assertThat(logBytes(dir), lessThan(before / 4));
+      assertThat(mirror.isCompactionDue(), equalTo(false));
+      assertThat(mirror.get(17).getClientJobNumber(), equalTo("round 4"));
+    }
+
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      assertThat(mirror.size(), equalTo(50));
+      assertThat(mirror.getByJobNumber("SM-50").getClientJobNumber(), equalTo("round 4"));
+    }
+  }
+
+  @Test
+  public void testMirror_FedByIndexAndShow() throws Exception {
+    try (StubServer server = new StubServer()) {
+      server.setResponder(exchange -> {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/jobs/99")) {
+          StubServer.sendJson(exchange, 200, "{\"data\":{\"type\":\"job\",\"id\":99,\"servemanager_job_number\":\"SM-99\"}}");
+        } else {
+          StubServer.sendJson(exchange, 200, "{\"data\":[{\"type\":\"job\",\"id\":1},{\"type\":\"job\",\"id\":2}],\"links\":{}}");
+        }
+      });
+      JobClient client = new JobClient(new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build());
+
+      try (JobMirror mirror = new JobMirror.Builder().directory(folder.getRoot().toPath()).build()) {
+        assertThat(mirror.loadIndex(client, null), equalTo(2L));
+        assertThat(mirror.get(2).getId(), equalTo(2));
+
+        assertThat(mirror.getOrShow(client, 99).getServeManagerJobNumber(), equalTo("SM-99"));
+        assertThat(mirror.getOrShow(client, 99).getId(), equalTo(99));
+        assertThat(server.getRequestCount(), equalTo(2));
+      }
+    }
+  }
+
+  @Test
+  public void testMirror_IndexGrows() throws Exception {
+    try (JobMirror mirror = new JobMirror.Builder().directory(folder.getRoot().toPath()).build()) {
+      List<Job> jobs = new ArrayList<Job>();
+      for (int id = 1; id <= 3000; id++) {
+        jobs.add(job(id, "SM-" + id, null));
+      }
+      mirror.putAll(jobs);
+      assertThat(mirror.size(), equalTo(3000));
+      for (int id = 1; id <= 3000; id += 97) {
+        assertThat(mirror.get(id).getId(), equalTo(id));
+        assertThat(mirror.getByJobNumber("SM-" + id).getId(), equalTo(id));
+      }
+    }
+  }
+
+  @Test
+  public void testMirror_PutAndGet() throws Exception {
+    try (JobMirror mirror = new JobMirror.Builder().directory(folder.getRoot().toPath()).build()) {
+      mirror.put(job(5, "SM-5", "first"));
+      mirror.put(job(5, "SM-5b", "second"));
+
+      assertThat(mirror.size(), equalTo(1));
+      assertThat(mirror.get(5).getClientJobNumber(), equalTo("second"));
+      assertThat(mirror.getByJobNumber("SM-5b").getId(), equalTo(5));
+      // the job's number changed, so the old one no longer finds it
+      assertThat(mirror.getByJobNumber("SM-5"), nullValue());
+      assertThat(mirror.get(6), nullValue());
+    }
+  }
+
+  @Test
+  public void testMirror_ReopenReplaysLostIndexWrites() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    Path saved = folder.newFolder("saved").toPath();
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      mirror.put(job(1, "SM-1", null));
+      mirror.put(job(2, "SM-2", "first"));
+      mirror.flush();
+      Files.copy(dir.resolve("ids.idx"), saved.resolve("ids.idx"));
+      Files.copy(dir.resolve("numbers.idx"), saved.resolve("numbers.idx"));
+
+      mirror.put(job(2, "SM-2", "second"));
+      mirror.put(job(3, "SM-3", null));
+    }
+    // as if the machine lost power before the index pages written since the flush reached the disk. The log was synced by each put
+    Files.copy(saved.resolve("ids.idx"), dir.resolve("ids.idx"), StandardCopyOption.REPLACE_EXISTING);
+    Files.copy(saved.resolve("numbers.idx"), dir.resolve("numbers.idx"), StandardCopyOption.REPLACE_EXISTING);
+
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      assertThat(mirror.size(), equalTo(3));
+      assertThat(mirror.get(2).getClientJobNumber(), equalTo("second"));
+      assertThat(mirror.getByJobNumber("SM-3").getId(), equalTo(3));
+    }
+  }
+
+  @Test
+  public void testMirror_ReopenTruncatesTornRecord() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      mirror.put(job(1, "SM-1", null));
+      mirror.put(job(2, "SM-2", null));
+    }
+    Path segment;
+    try (Stream<Path> files = Files.list(dir)) {
+      segment = files.filter(p -> p.getFileName().toString().endsWith(".log")).findFirst().get();
+    }
+    long size = Files.size(segment);
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.truncate(size - 3);
+    }
+    // lose the index too, so it has to be rebuilt from the log
+    Files.delete(dir.resolve("ids.idx"));
+
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      assertThat(mirror.size(), equalTo(1));
+      assertThat(mirror.get(1).getId(), equalTo(1));
+      assertThat(mirror.get(2), nullValue());
+
+      mirror.put(job(3, "SM-3", null));
+      assertThat(mirror.getByJobNumber("SM-3").getId(), equalTo(3));
+    }
+  }
+
+  @Test
+  public void testMirror_SecondOpenFails() throws Exception {
+    Path dir = folder.getRoot().toPath();
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      mirror.put(job(1, "SM-1", null));
+
+      boolean caughtException = false;
+      try (JobMirror second = new JobMirror.Builder().directory(dir).build()) {
+        second.put(job(2, "SM-2", null));
+      } catch (IOException e) {
+        caughtException = true;
+      }
+      assertThat(caughtException, equalTo(true));
+      // the failed open left the first mirror working
+      assertThat(mirror.get(1).getId(), equalTo(1));
+    }
+
+    // closing released the directory
+    try (JobMirror mirror = new JobMirror.Builder().directory(dir).build()) {
+      assertThat(mirror.size(), equalTo(1));
+    }
+  }
+
+  @Test
+  public void testMirror_WindowsRejected() throws Exception {
+    String osName = System.getProperty("os.name");
+    boolean caughtException = false;
+    try {
+      System.setProperty("os.name", "Windows 11");
+      new JobMirror.Builder().directory(folder.getRoot().toPath()).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    } finally {
+      System.setProperty("os.name", osName);
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  private Job job(int id, String jobNumber, String clientJobNumber) {
+    Job job = new Job();
+    job.setId(id);
+    job.setServeManagerJobNumber(jobNumber);
+    job.setClientJobNumber(clientJobNumber);
+    return job;
+  }
+
+  private long logBytes(Path dir) throws IOException {
+    long bytes = 0;
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        if (file.getFileName().toString().endsWith(".log")) {
+          bytes += Files.size(file);
+        }
+      }
+    }
+    return bytes;
+  }
+}
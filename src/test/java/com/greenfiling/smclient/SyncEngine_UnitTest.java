@@ -0,0 +1,172 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.greenfiling.smclient.internal.FileWatermarkStore;
+import com.greenfiling.smclient.internal.SyncEngine;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.SupplierCost;
+import com.greenfiling.smclient.model.exchange.FilterDateRange;
+import com.greenfiling.smclient.model.exchange.JobFilter;
+import com.greenfiling.smclient.model.internal.FilterBase;
+import com.greenfiling.smclient.util.StubServer;
+
+public class SyncEngine_UnitTest {
+  private static final String FIRST_RUN = "[{\"id\":1,\"updated_at\":\"2026-03-01T10:00:00Z\"},{\"id\":2,\"updated_at\":\"2026-03-01T12:00:00Z\"},"
+      + "{\"id\":3,\"updated_at\":\"2026-03-01T11:00:00Z\"}]";
+  private static final String SECOND_RUN = "[{\"id\":2,\"updated_at\":\"2026-03-01T12:00:00Z\"},{\"id\":4,\"updated_at\":\"2026-03-02T09:30:00Z\"}]";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private StubServer server;
+  private ApiHandle handle;
+  private FileWatermarkStore store;
+  private final List<String> queries = new ArrayList<String>();
+
+  @Before
+  public void setUp() throws Exception {
+    server = new StubServer();
+    server.setResponder(exchange -> {
+      String query = exchange.getRequestURI().getRawQuery();
+      synchronized (queries) {
+        queries.add(query);
+      }
+      String data = query != null && query.contains("updated_since") ? SECOND_RUN : FIRST_RUN;
+      if (exchange.getRequestURI().getPath().endsWith("/" + JobClient.ENDPOINT)) {
+        data = data.replace("{\"id\"", "{\"type\":\"job\",\"id\"");
+      }
+      StubServer.sendJson(exchange, 200, "{\"data\":" + data + ",\"links\":{}}");
+    });
+    handle = new ApiHandle.Builder().apiKey("key").apiEndpoint(server.getUrl()).build();
+    store = new FileWatermarkStore(folder.getRoot().toPath().resolve("watermarks.properties"));
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testSync_BuilderRequiresStore() throws Exception {
+    boolean caughtException = false;
+    try {
+      SyncEngine.supplierCosts(new SupplierCostClient(handle)).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testSync_DeltaFromWatermarkLessOverlap() throws Exception {
+    SyncEngine<SupplierCost> engine = SyncEngine.supplierCosts(new SupplierCostClient(handle)).store(store).overlap(Duration.ofMinutes(10))
+        .build();
+    engine.sync(batch -> {
+    });
+
+    List<Integer> ids = new ArrayList<Integer>();
+    long delivered = engine.sync(batch -> batch.forEach(cost -> ids.add(cost.getId())));
+
+    assertThat(delivered, equalTo(2L));
+    assertThat(ids.get(1), equalTo(4));
+    assertThat(queries.get(1), equalTo("updated_since=2026-03-01T11:50:00Z"));
+    assertThat(engine.getWatermark(), equalTo(OffsetDateTime.parse("2026-03-02T09:30:00Z")));
+  }
+
+  @Test
+  public void testSync_FirstRunReadsEverything() throws Exception {
+    SyncEngine<SupplierCost> engine = SyncEngine.supplierCosts(new SupplierCostClient(handle)).store(store).batchSize(2).build();
+    assertThat(engine.getWatermark(), nullValue());
+
+    List<Integer> batchSizes = new ArrayList<Integer>();
+    long delivered = engine.sync(batch -> batchSizes.add(batch.size()));
+
+    assertThat(delivered, equalTo(3L));
+    assertThat(batchSizes.size(), equalTo(2));
+    assertThat(batchSizes.get(0), equalTo(2));
+    assertThat(queries.get(0), nullValue());
+    assertThat(engine.getWatermark(), equalTo(OffsetDateTime.parse("2026-03-01T12:00:00Z")));
+  }
+
+  @Test
+  public void testSync_KeyIncludesFilter() throws Exception {
+    SyncEngine<Job> engine = SyncEngine.jobs(new JobClient(handle), FilterDateRange.TYPE_ARCHIVED_AT, Job::getArchivedAt).store(store).build();
+    assertThat(engine.getKey(), equalTo(JobClient.ENDPOINT + ":" + FilterDateRange.TYPE_ARCHIVED_AT));
+
+    SyncEngine<Job> archived = new SyncEngine.Builder<Job>().client(new JobClient(handle)).name(JobClient.ENDPOINT).changedAt(Job::getArchivedAt)
+        .store(store).filter(since -> {
+          JobFilter filter = new JobFilter();
+          filter.setArchiveState(FilterBase.ARCHIVE_STATE_ARCHIVED);
+          return filter;
+        }).build();
+    assertThat(archived.getKey(), equalTo(JobClient.ENDPOINT + "?filter[archive_state]=archived"));
+  }
+
+  @Test
+  public void testSync_RangeTypesKeepSeparateWatermarks() throws Exception {
+    JobClient client = new JobClient(handle);
+    SyncEngine<Job> created = SyncEngine.jobs(client, FilterDateRange.TYPE_CREATED_AT, Job::getUpdatedAt).store(store).build();
+    SyncEngine<Job> archived = SyncEngine.jobs(client, FilterDateRange.TYPE_ARCHIVED_AT, Job::getArchivedAt).store(store).build();
+
+    created.sync(batch -> {
+    });
+    assertThat(created.getWatermark(), equalTo(OffsetDateTime.parse("2026-03-01T12:00:00Z")));
+    // none of the jobs are archived, so the archived sync still has no mark and its next run reads everything
+    assertThat(archived.getWatermark(), nullValue());
+    archived.sync(batch -> {
+    });
+    assertThat(queries.get(1), nullValue());
+  }
+
+  @Test
+  public void testSync_SinkFailureKeepsWatermark() throws Exception {
+    SyncEngine<SupplierCost> engine = SyncEngine.supplierCosts(new SupplierCostClient(handle)).store(store).build();
+    engine.sync(batch -> {
+    });
+    OffsetDateTime watermark = engine.getWatermark();
+
+    boolean caughtException = false;
+    try {
+      engine.sync(batch -> {
+        throw new IllegalStateException("database down");
+      });
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+    assertThat(engine.getWatermark(), equalTo(watermark));
+
+    // a fresh store on the same file sees the same mark
+    assertThat(new FileWatermarkStore(store.getFile()).load(engine.getKey()), equalTo(watermark));
+  }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.greenfiling.smclient.internal.WebhookReceiver;
+import com.greenfiling.smclient.model.Job;
+import com.greenfiling.smclient.model.Note;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+public class WebhookReceiver_UnitTest {
+  private static final MediaType JSON = MediaType.get("application/json");
+
+  private final OkHttpClient http = new OkHttpClient();
+  private final List<String> events = new CopyOnWriteArrayList<String>();
+  private WebhookReceiver receiver;
+  private String sample;
+
+  @Before
+  public void setUp() throws Exception {
+    try (InputStream in = getClass().getResourceAsStream("/Samples/PayLoad.json")) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) > 0) {
+        out.write(buffer, 0, read);
+      }
+      sample = new String(out.toByteArray(), "UTF-8");
+    }
+  }
+
+  @After
+  public void tearDown() {
+    if (receiver != null) {
+      receiver.close();
+    }
+  }
+
+  @Test
+  public void testReceiver_BadRequests() throws Exception {
+    start(new WebhookReceiver.Builder().maxBodyBytes(4096).handler(WebhookReceiver.ALL_EVENTS, (event, record, meta) -> events.add("x")));
+
+    try (Response response = http.newCall(new Request.Builder().url(url()).get().build()).execute()) {
+      assertThat(response.code(), equalTo(405));
+    }
+    assertThat(post("{\"data\": [ not json"), equalTo(400));
+    assertThat(post("{\"data\":[1]}"), equalTo(400));
+    // well formed, but a record without a type can't be decoded
+    assertThat(post("{\"data\":[{\"id\":1}]}"), equalTo(400));
+
+    StringBuilder big = new StringBuilder("{\"meta\":{\"reference\":\"");
+    for (int i = 0; i < 5000; i++) {
+      big.append('x');
+    }
+    assertThat(post(big.append("\"}}").toString()), equalTo(413));
+    assertThat(receiver.getAccepted(), equalTo(0L));
+  }
+
+  @Test
+  public void testReceiver_DispatchesEvents() throws Exception {
+    CountDownLatch done = new CountDownLatch(12);
+    List<Object> records = new CopyOnWriteArrayList<Object>();
+    start(new WebhookReceiver.Builder().handler("notes:created", (event, record, meta) -> records.add(record))
+        .handler(WebhookReceiver.ALL_EVENTS, (event, record, meta) -> {
+          events.add(event.getEvent());
+          done.countDown();
+        }));
+
+    assertThat(post(sample), equalTo(200));
+    assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+
+    assertThat(events.get(0), equalTo("notes:created"));
+    assertThat(events.get(1), equalTo("attachments:created"));
+    assertThat(records.size(), equalTo(1));
+    assertThat(records.get(0), instanceOf(Note.class));
+    assertThat(receiver.getAccepted(), equalTo(1L));
+  }
+
+  @Test
+  public void testReceiver_FloodStaysBounded() throws Exception {
+    start(new WebhookReceiver.Builder().intakeThreads(2).handler(WebhookReceiver.ALL_EVENTS, (event, record, meta) -> events.add("x")));
+
+    // two deliveries which never finish sending their bodies hold both intake threads
+    List<Socket> stalled = new ArrayList<Socket>();
+    ExecutorService flood = Executors.newFixedThreadPool(20);
+    try {
+      for (int i = 0; i < 2; i++) {
+        Socket socket = new Socket("127.0.0.1", receiver.getPort());
+        OutputStream out = socket.getOutputStream();
+        out.write(("POST /hooks HTTP/1.1\r\nHost: 127.0.0.1\r\nContent-Type: application/json\r\nContent-Length: 1000\r\n\r\n{")
+            .getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        stalled.add(socket);
+      }
+      long deadline = System.currentTimeMillis() + 5000;
+      while (intakeThreadCount() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      List<Future<Integer>> codes = new ArrayList<Future<Integer>>();
+      for (int i = 0; i < 40; i++) {
+        codes.add(flood.submit(() -> post(sample)));
+      }
+      for (Future<Integer> code : codes) {
+        assertThat(code.get(10, TimeUnit.SECONDS), equalTo(503));
+      }
+      assertThat(intakeThreadCount() <= 2, equalTo(true));
+      assertThat(receiver.getRejected(), equalTo(40L));
+    } finally {
+      flood.shutdownNow();
+      for (Socket socket : stalled) {
+        socket.close();
+      }
+    }
+
+    // once the stalled deliveries are gone, deliveries are taken again
+    long deadline = System.currentTimeMillis() + 5000;
+    int code;
+    while ((code = post(sample)) == 503 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(code, equalTo(200));
+    assertThat(intakeThreadCount() <= 2, equalTo(true));
+  }
+
+  @Test
+  public void testReceiver_HandlerFailureIsolated() throws Exception {
+    CountDownLatch done = new CountDownLatch(12);
+    start(new WebhookReceiver.Builder().handler(WebhookReceiver.ALL_EVENTS, (event, record, meta) -> {
+      if (record instanceof Job) {
+        throw new IllegalStateException("boom");
+      }
+    }).handler(WebhookReceiver.ALL_EVENTS, (event, record, meta) -> done.countDown()));
+
+    assertThat(post(sample), equalTo(200));
+    assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+    assertThat(receiver.getHandlerFailures(), equalTo(11L));
+  }
+
+  @Test
+  public void testReceiver_InvalidConfig() throws Exception {
+    boolean caughtException = false;
+    try {
+      new WebhookReceiver.Builder().port(8080).build();
+    } catch (IllegalStateException e) {
+      caughtException = true;
+    }
+    assertThat(caughtException, equalTo(true));
+  }
+
+  @Test
+  public void testReceiver_RejectsWhenQueueFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    start(new WebhookReceiver.Builder().workers(1).queueSize(1).handler("notes:created", (event, record, meta) -> {
+      started.countDown();
+      release.await();
+    }));
+
+    // the first delivery occupies the only worker, the second fills the queue
+    assertThat(post(sample), equalTo(200));
+    assertThat(started.await(10, TimeUnit.SECONDS), equalTo(true));
+    assertThat(post(sample), equalTo(200));
+    assertThat(post(sample), equalTo(503));
+    assertThat(receiver.getRejected(), equalTo(1L));
+
+    release.countDown();
+  }
+
+  private int intakeThreadCount() {
+    int count = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith("smclient-webhook-http-") && thread.isAlive()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private int post(String body) throws IOException {
+    Request request = new Request.Builder().url(url()).post(RequestBody.create(body, JSON)).build();
+    try (Response response = http.newCall(request).execute()) {
+      return response.code();
+    }
+  }
+
+  private void start(WebhookReceiver.Builder builder) throws IOException {
+    receiver = builder.bindAddress("127.0.0.1").path("/hooks").build();
+    receiver.start();
+  }
+
+  private String url() {
+    return "http://127.0.0.1:" + receiver.getPort() + "/hooks";
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2026 Green Filing, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.greenfiling.smclient.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// A tiny local http server standing in for ServeManager, so ApiHandle behavior can be tested without an API key or network access
+public class StubServer implements AutoCloseable {
+  public interface Responder {
+    void respond(HttpExchange exchange) throws IOException;
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private volatile Responder responder = exchange -> send(exchange, 404, "text/plain", "no responder configured");
+  private volatile long latencyMillis = 0;
+  private volatile Headers lastRequestHeaders;
+
+  public StubServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+    server.createContext("/", exchange -> {
+      requestCount.incrementAndGet();
+      lastRequestHeaders = exchange.getRequestHeaders();
+      try {
+        if (latencyMillis > 0) {
+          Thread.sleep(latencyMillis);
+        }
+        responder.respond(exchange);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        exchange.close();
+      }
+    });
+    server.start();
+  }
+
+  public static void send(HttpExchange exchange, int code, String contentType, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  public static void send(HttpExchange exchange, int code, String contentType, String body) throws IOException {
+    send(exchange, code, contentType, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static void sendJson(HttpExchange exchange, int code, String json) throws IOException {
+    send(exchange, code, "application/json; charset=utf-8", json);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  public Headers getLastRequestHeaders() {
+    return lastRequestHeaders;
+  }
+
+  public int getRequestCount() {
+    return requestCount.get();
+  }
+
+  public String getUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  public void respondJson(int code, String json) {
+    setResponder(exchange -> sendJson(exchange, code, json));
+  }
+
+  public void setLatency(long latencyMillis) {
+    this.latencyMillis = latencyMillis;
+  }
+
+  public void setResponder(Responder responder) {
+    this.responder = responder;
+  }
+}